@@ -1,6 +1,7 @@
 package com.shipmate.config.websocket;
 
 import com.shipmate.security.JwtUtil;
+import com.shipmate.security.UserDetailsCache;
 import io.jsonwebtoken.Claims;
 
 import lombok.RequiredArgsConstructor;
@@ -14,7 +15,6 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
@@ -26,7 +26,7 @@ import java.util.UUID;
 public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
@@ -53,12 +53,17 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
             UUID uuid = UUID.fromString(userId);
 
-            if (!jwtUtil.isTokenValid(token, uuid)) {
+            if (!jwtUtil.isTokenValid(claims, uuid)) {
                 log.warn("[WS-CONNECT] Invalid token for user {} -> rejecting CONNECT", userId);
                 return null;
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            UserDetails userDetails = userDetailsCache.get(userId);
+
+            if (!userDetails.isEnabled()) {
+                log.warn("[WS-CONNECT] Disabled user {} -> rejecting CONNECT", userId);
+                return null;
+            }
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,136 @@
+package com.shipmate.config.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Which shipments and bookings a user takes part in, cached per user for
+ * SUBSCRIBE authorization.
+ *
+ * Entries are dropped when a booking or shipment changes status. A miss
+ * triggers a rate-limited reload so access granted since the last load (a new
+ * booking, for example) is picked up without hammering the database.
+ */
+@Component
+@Slf4j
+public class SubscriptionOwnershipCache {
+
+    private static final String OWNED_SQL = """
+            select s.id, 'SHIPMENT' as kind
+            from shipments s
+            left join bookings b on b.id = s.booking_id
+            where s.sender_id = ? or b.driver_id = ?
+            union
+            select b.id, 'BOOKING' as kind
+            from bookings b
+            where b.driver_id = ?
+               or exists (select 1 from shipments s where s.booking_id = b.id and s.sender_id = ?)
+            """;
+
+    private static final String BOOKING_PARTICIPANTS_SQL = """
+            select driver_id from bookings where id = ?
+            union
+            select sender_id from shipments where booking_id = ?
+            """;
+
+    private static final String SHIPMENT_PARTICIPANTS_SQL = """
+            select s.sender_id from shipments s where s.id = ?
+            union
+            select b.driver_id from shipments s join bookings b on b.id = s.booking_id where s.id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final long minReloadMillis;
+    private final int maxEntries;
+
+    private final Map<UUID, Ownership> cache = new ConcurrentHashMap<>();
+
+    public SubscriptionOwnershipCache(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.websocket.ownership.cache-ttl-ms:60000}") long ttlMillis,
+            @Value("${app.websocket.ownership.min-reload-ms:2000}") long minReloadMillis,
+            @Value("${app.websocket.ownership.cache-max-entries:100000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+        this.minReloadMillis = minReloadMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isShipmentParticipant(UUID userId, UUID shipmentId) {
+        return check(userId, ownership -> ownership.shipments().contains(shipmentId));
+    }
+
+    public boolean isBookingParticipant(UUID userId, UUID bookingId) {
+        return check(userId, ownership -> ownership.bookings().contains(bookingId));
+    }
+
+    public void evict(UUID userId) {
+        cache.remove(userId);
+    }
+
+    public void evictBookingParticipants(UUID bookingId) {
+        jdbcTemplate.queryForList(BOOKING_PARTICIPANTS_SQL, UUID.class, bookingId, bookingId)
+                .forEach(this::evict);
+    }
+
+    public void evictShipmentParticipants(UUID shipmentId) {
+        jdbcTemplate.queryForList(SHIPMENT_PARTICIPANTS_SQL, UUID.class, shipmentId, shipmentId)
+                .forEach(this::evict);
+    }
+
+    private boolean check(UUID userId, Predicate<Ownership> test) {
+        long now = System.currentTimeMillis();
+
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(o -> o.loadedAt() + ttlMillis <= now);
+        }
+
+        Ownership ownership = cache.compute(userId, (id, existing) ->
+                existing != null && existing.loadedAt() + ttlMillis > now ? existing : load(id, now));
+
+        if (test.test(ownership)) {
+            return true;
+        }
+
+        if (now - ownership.loadedAt() < minReloadMillis) {
+            return false;
+        }
+
+        ownership = cache.compute(userId, (id, existing) ->
+                existing != null && now - existing.loadedAt() < minReloadMillis ? existing : load(id, now));
+
+        return test.test(ownership);
+    }
+
+    private Ownership load(UUID userId, long now) {
+        Set<UUID> shipments = new HashSet<>();
+        Set<UUID> bookings = new HashSet<>();
+
+        jdbcTemplate.query(OWNED_SQL, rs -> {
+            UUID id = rs.getObject(1, UUID.class);
+            if ("SHIPMENT".equals(rs.getString(2))) {
+                shipments.add(id);
+            } else {
+                bookings.add(id);
+            }
+        }, userId, userId, userId, userId);
+
+        log.debug("[WS-AUTH] Loaded ownership userId={} shipments={} bookings={}",
+                userId, shipments.size(), bookings.size());
+
+        return new Ownership(Set.copyOf(shipments), Set.copyOf(bookings), now);
+    }
+
+    private record Ownership(Set<UUID> shipments, Set<UUID> bookings, long loadedAt) {}
+}
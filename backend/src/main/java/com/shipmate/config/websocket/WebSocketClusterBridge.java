@@ -0,0 +1,412 @@
+package com.shipmate.config.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans broker messages out to every backend node through Postgres LISTEN/NOTIFY.
+ *
+ * Every message the application sends to the broker channel is queued, packed
+ * into batches that fit a NOTIFY payload (or spilled to ws_cluster_payloads when
+ * too large) and published on one channel. Each node listens on a dedicated
+ * connection and re-sends messages from other nodes to its local simple broker,
+ * where they reach that node's subscribers. /user destinations are replicated
+ * before resolution so each node resolves them against its own sessions.
+ */
+@Component
+@Slf4j
+public class WebSocketClusterBridge implements ChannelInterceptor, SmartLifecycle {
+
+    static final String ORIGIN_HEADER = "shipmateClusterOrigin";
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_NOTIFY_BYTES = 7500;
+    private static final int RECENT_IDS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+
+    private final boolean enabled;
+    private final String channel;
+    private final long flushIntervalMs;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final BlockingQueue<ClusterMessage> outbound;
+    private final Map<String, Boolean> recentIds = new LinkedHashMap<>(RECENT_IDS, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > RECENT_IDS;
+        }
+    };
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread publisher;
+    private Thread listener;
+
+    public WebSocketClusterBridge(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.websocket.cluster.enabled:false}") boolean enabled,
+            @Value("${app.websocket.cluster.channel:shipmate_ws}") String channel,
+            @Value("${app.websocket.cluster.flush-interval-ms:5}") long flushIntervalMs,
+            @Value("${app.websocket.cluster.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.flushIntervalMs = flushIntervalMs;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.outbound = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.published = Counter.builder("shipmate.ws.cluster.published")
+                .description("Messages replicated to other nodes")
+                .register(meterRegistry);
+        this.received = Counter.builder("shipmate.ws.cluster.received")
+                .description("Messages from other nodes delivered to the local broker")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("shipmate.ws.cluster.dropped")
+                .description("Messages not replicated because the outbound queue was full")
+                .register(meterRegistry);
+    }
+
+    // ===== OUTBOUND (broker channel interceptor) =====
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel messageChannel) {
+
+        if (!running) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+
+        // Skip messages relayed from other nodes and per-session copies of /user sends
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || accessor.getDestination() == null
+                || accessor.getHeader(ORIGIN_HEADER) != null
+                || accessor.getHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION) != null
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        MimeType contentType = accessor.getContentType();
+        ClusterMessage clusterMessage = new ClusterMessage(
+                nodeId + ":" + sequence.incrementAndGet(),
+                accessor.getDestination(),
+                contentType != null ? contentType.toString() : null,
+                payload
+        );
+
+        if (!outbound.offer(clusterMessage)) {
+            dropped.increment();
+            log.warn("[WS-CLUSTER] Outbound queue full, message to {} not replicated",
+                    clusterMessage.destination());
+        }
+
+        return message;
+    }
+
+    // ===== LIFECYCLE =====
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        publisher = Thread.ofVirtual().name("ws-cluster-publish").start(this::publishLoop);
+        listener = Thread.ofVirtual().name("ws-cluster-listen").start(this::listenLoop);
+
+        log.info("[WS-CLUSTER] Started nodeId={} channel={}", nodeId, channel);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        listener.interrupt();
+
+        try {
+            publisher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.info("[WS-CLUSTER] Stopped nodeId={}", nodeId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    @Scheduled(fixedDelayString = "${app.websocket.cluster.purge-interval-ms:60000}")
+    public void purgeSpilledPayloads() {
+        if (enabled) {
+            jdbcTemplate.update("delete from ws_cluster_payloads where created_at < now() - interval '5 minutes'");
+        }
+    }
+
+    // ===== PUBLISH =====
+
+    private void publishLoop() {
+        while (running || !outbound.isEmpty()) {
+            try {
+                ClusterMessage first = outbound.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // Let a burst accumulate so it goes out in as few NOTIFYs as possible
+                if (flushIntervalMs > 0) {
+                    Thread.sleep(flushIntervalMs);
+                }
+
+                List<ClusterMessage> pending = new ArrayList<>();
+                pending.add(first);
+                outbound.drainTo(pending);
+
+                publish(pending);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("[WS-CLUSTER] Failed to publish batch", ex);
+            }
+        }
+    }
+
+    private void publish(List<ClusterMessage> messages) {
+        List<String> notifications = new ArrayList<>();
+        List<ClusterMessage> batch = new ArrayList<>();
+        int batchBytes = 0;
+
+        for (ClusterMessage message : messages) {
+            int size = toJson(message).length();
+
+            if (!batch.isEmpty() && batchBytes + size > MAX_NOTIFY_BYTES) {
+                notifications.add(toNotification(batch));
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+
+            batch.add(message);
+            batchBytes += size;
+        }
+
+        if (!batch.isEmpty()) {
+            notifications.add(toNotification(batch));
+        }
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "select pg_notify(?, n) from unnest(?::text[]) as n"
+                    );
+                    ps.setString(1, channel);
+                    ps.setArray(2, connection.createArrayOf("text", notifications.toArray()));
+                    return ps;
+                },
+                rs -> {}
+        );
+
+        published.increment(messages.size());
+    }
+
+    private String toNotification(List<ClusterMessage> batch) {
+        String inline = toJson(new ClusterBatch(nodeId, batch, null));
+
+        if (inline.getBytes(StandardCharsets.UTF_8).length <= MAX_NOTIFY_BYTES) {
+            return inline;
+        }
+
+        Long ref = jdbcTemplate.queryForObject(
+                "insert into ws_cluster_payloads (body) values (?) returning id",
+                Long.class,
+                toJson(batch)
+        );
+
+        return toJson(new ClusterBatch(nodeId, null, ref));
+    }
+
+    // ===== LISTEN =====
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(500);
+
+                    if (notifications == null) {
+                        continue;
+                    }
+
+                    for (PGNotification notification : notifications) {
+                        handle(connection, notification.getParameter());
+                    }
+                }
+
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+
+                log.error("[WS-CLUSTER] Listener connection lost, reconnecting", ex);
+
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(Connection connection, String notification) throws SQLException {
+        try {
+            ClusterBatch batch = objectMapper.readValue(notification, ClusterBatch.class);
+
+            if (nodeId.equals(batch.origin())) {
+                return;
+            }
+
+            List<ClusterMessage> messages = batch.messages() != null
+                    ? batch.messages()
+                    : loadSpilled(connection, batch.ref());
+
+            for (ClusterMessage message : messages) {
+                if (firstSeen(message.id())) {
+                    deliverLocally(message);
+                }
+            }
+
+        } catch (JsonProcessingException ex) {
+            log.warn("[WS-CLUSTER] Ignoring malformed notification", ex);
+        }
+    }
+
+    private List<ClusterMessage> loadSpilled(Connection connection, Long ref) throws SQLException, JsonProcessingException {
+        try (PreparedStatement ps = connection.prepareStatement("select body from ws_cluster_payloads where id = ?")) {
+            ps.setLong(1, ref);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    log.warn("[WS-CLUSTER] Spilled payload {} no longer available", ref);
+                    return List.of();
+                }
+
+                return List.of(objectMapper.readValue(rs.getString(1), ClusterMessage[].class));
+            }
+        }
+    }
+
+    private boolean firstSeen(String id) {
+        synchronized (recentIds) {
+            return recentIds.put(id, Boolean.TRUE) == null;
+        }
+    }
+
+    private void deliverLocally(ClusterMessage message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(message.destination());
+        accessor.setHeader(ORIGIN_HEADER, message.id());
+        if (message.contentType() != null) {
+            accessor.setContentType(MimeTypeUtils.parseMimeType(message.contentType()));
+        }
+        accessor.setLeaveMutable(true);
+
+        messagingTemplate.getObject().send(
+                message.destination(),
+                MessageBuilder.createMessage(message.payload(), accessor.getMessageHeaders())
+        );
+
+        received.increment();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize cluster message", ex);
+        }
+    }
+
+    record ClusterMessage(String id, String destination, String contentType, byte[] payload) {}
+
+    record ClusterBatch(String origin, List<ClusterMessage> messages, Long ref) {}
+}
@@ -0,0 +1,110 @@
+package com.shipmate.config.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in CBOR encoding of outbound payloads, negotiated per session at CONNECT.
+ *
+ * Clients send a {@code payload-format: cbor} header on CONNECT. Broker messages
+ * to those sessions are re-encoded from JSON to CBOR on the outbound channel;
+ * the encoding is cached by payload identity, so a message fanned out to many
+ * subscribers is converted once.
+ *
+ * StompSubProtocolHandler only writes binary WebSocket frames for
+ * application/octet-stream content, so CBOR frames go out with that content
+ * type and carry {@code payload-format: cbor} as a frame header instead.
+ */
+@Component
+@Slf4j
+public class WebSocketPayloadCodec implements ChannelInterceptor {
+
+    static final String FORMAT_HEADER = "payload-format";
+
+    private final ObjectMapper objectMapper;
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    // byte[] uses identity equality, so entries live as long as the broker holds the payload
+    private final Map<byte[], byte[]> encoded = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public WebSocketPayloadCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+
+        if (sessionId == null || type == null) {
+            return message;
+        }
+
+        if (type == SimpMessageType.CONNECT) {
+            StompHeaderAccessor stomp = StompHeaderAccessor.wrap(message);
+            if ("cbor".equalsIgnoreCase(stomp.getFirstNativeHeader(FORMAT_HEADER))) {
+                cborSessions.add(sessionId);
+            }
+            return message;
+        }
+
+        if (type == SimpMessageType.DISCONNECT) {
+            cborSessions.remove(sessionId);
+            return message;
+        }
+
+        if (type != SimpMessageType.MESSAGE
+                || !cborSessions.contains(sessionId)
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+
+        byte[] cbor = encoded.computeIfAbsent(json, this::toCbor);
+        if (cbor == null) {
+            return message;
+        }
+
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(FORMAT_HEADER, "cbor");
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private byte[] toCbor(byte[] json) {
+        try {
+            return cborMapper.writeValueAsBytes(objectMapper.readTree(json));
+        } catch (IOException ex) {
+            log.warn("[WS-CODEC] Cannot encode payload as CBOR, sending JSON", ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.shipmate.config.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sends DTOs to the broker serialized exactly once.
+ *
+ * The payload is encoded to JSON bytes up front and the same immutable message
+ * is handed to every destination, so neither the converter nor the per-session
+ * binary encoding (see {@link WebSocketPayloadCodec}) repeats the work.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void send(String destination, Object payload) {
+        send(payload, List.of(destination));
+    }
+
+    public void send(Object payload, Collection<String> destinations) {
+        Message<byte[]> message = encode(payload);
+
+        for (String destination : destinations) {
+            messagingTemplate.send(destination, message);
+        }
+    }
+
+    Message<byte[]> encode(Object payload) {
+        byte[] body;
+        try {
+            // writeValueAsBytes reuses Jackson's recycled buffers for the encoding pass
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize WebSocket payload", ex);
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,164 @@
+package com.shipmate.config.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many outbound frames a single session may have queued on the
+ * client outbound channel.
+ *
+ * A session that falls further behind is treated as a slow consumer: the frame
+ * is dropped and the session closed with SESSION_NOT_RELIABLE so the client
+ * reconnects and resyncs, instead of pinning outbound threads and memory.
+ * Sessions closed by the transport's send-time and buffer limits are counted
+ * as evictions as well.
+ */
+@Component
+@Slf4j
+public class WebSocketSessionGuard implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private final int maxQueuedMessages;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> queued = new ConcurrentHashMap<>();
+
+    private final Counter dropped;
+    private final Counter evicted;
+
+    public WebSocketSessionGuard(
+            MeterRegistry meterRegistry,
+            @Value("${app.websocket.session.max-queued-messages:500}") int maxQueuedMessages) {
+        this.maxQueuedMessages = maxQueuedMessages;
+
+        Gauge.builder("shipmate.ws.sessions.active", sessions, Map::size)
+                .description("Open WebSocket sessions on this node")
+                .register(meterRegistry);
+        Gauge.builder("shipmate.ws.outbound.queue.depth", queued,
+                        q -> q.values().stream().mapToInt(AtomicInteger::get).sum())
+                .description("Frames waiting to be written to clients")
+                .register(meterRegistry);
+
+        this.dropped = Counter.builder("shipmate.ws.frames.dropped")
+                .description("Outbound frames dropped for sessions over their queue cap")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("shipmate.ws.sessions.evicted")
+                .description("Sessions closed as slow consumers")
+                .register(meterRegistry);
+    }
+
+    // ===== SESSION TRACKING =====
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                queued.put(session.getId(), new AtomicInteger());
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) throws Exception {
+                sessions.remove(session.getId());
+                queued.remove(session.getId());
+
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(status)) {
+                    evicted.increment();
+                }
+
+                super.afterConnectionClosed(session, status);
+            }
+        };
+    }
+
+    // ===== OUTBOUND QUEUE CAP =====
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        AtomicInteger depth = depthOf(message);
+
+        if (depth == null) {
+            return message;
+        }
+
+        if (depth.incrementAndGet() > maxQueuedMessages) {
+            depth.decrementAndGet();
+            dropped.increment();
+            evict(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+            return null;
+        }
+
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(@NonNull Message<?> message, @NonNull MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            release(message);
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                    @NonNull MessageHandler handler, Exception ex) {
+        release(message);
+    }
+
+    private void release(Message<?> message) {
+        AtomicInteger depth = depthOf(message);
+        if (depth != null) {
+            depth.updateAndGet(value -> Math.max(0, value - 1));
+        }
+    }
+
+    private AtomicInteger depthOf(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? queued.get(sessionId) : null;
+    }
+
+    private void evict(String sessionId) {
+        WebSocketSession session = sessions.get(sessionId);
+
+        if (session == null || !session.isOpen()) {
+            return;
+        }
+
+        log.warn("[WS] Evicting slow consumer sessionId={} queued>{}", sessionId, maxQueuedMessages);
+
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException ex) {
+            log.debug("[WS] Failed to close slow session {}", sessionId, ex);
+        }
+    }
+}
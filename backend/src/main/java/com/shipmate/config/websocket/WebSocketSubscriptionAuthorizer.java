@@ -0,0 +1,108 @@
+package com.shipmate.config.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rejects SUBSCRIBE frames to topics the connected user has no part in.
+ *
+ * /topic/users/{id}/** is limited to that user, shipment and booking topics to
+ * their participants (see {@link SubscriptionOwnershipCache}). /user
+ * destinations are resolved against the caller's own sessions and always allowed;
+ * admins may subscribe anywhere. Unknown topics are denied.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebSocketSubscriptionAuthorizer implements ChannelInterceptor {
+
+    private static final Pattern USER_TOPIC = Pattern.compile("^/topic/users/([^/]+)(/.*)?$");
+    private static final Pattern SHIPMENT_TOPIC = Pattern.compile("^/topic/shipments/([^/]+)(/.*)?$");
+    private static final Pattern BOOKING_TOPIC = Pattern.compile("^/topic/bookings/([^/]+)$");
+
+    private final SubscriptionOwnershipCache ownershipCache;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+
+        MessageHeaders headers = message.getHeaders();
+
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+
+        Principal principal = SimpMessageHeaderAccessor.getUser(headers);
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+
+        if (!(principal instanceof Authentication authentication) || destination == null) {
+            throw new AccessDeniedException("Unauthenticated subscription");
+        }
+
+        if (!isAllowed(authentication, destination)) {
+            log.warn("[WS-AUTH] SUBSCRIBE denied userId={} destination={}", authentication.getName(), destination);
+            throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+        }
+
+        return message;
+    }
+
+    private boolean isAllowed(Authentication authentication, String destination) {
+
+        if (destination.startsWith("/user/") || isAdmin(authentication)) {
+            return true;
+        }
+
+        UUID userId = parse(authentication.getName());
+        if (userId == null) {
+            return false;
+        }
+
+        Matcher user = USER_TOPIC.matcher(destination);
+        if (user.matches()) {
+            return userId.equals(parse(user.group(1)));
+        }
+
+        Matcher shipment = SHIPMENT_TOPIC.matcher(destination);
+        if (shipment.matches()) {
+            UUID shipmentId = parse(shipment.group(1));
+            return shipmentId != null && ownershipCache.isShipmentParticipant(userId, shipmentId);
+        }
+
+        Matcher booking = BOOKING_TOPIC.matcher(destination);
+        if (booking.matches()) {
+            UUID bookingId = parse(booking.group(1));
+            return bookingId != null && ownershipCache.isBookingParticipant(userId, bookingId);
+        }
+
+        return false;
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private UUID parse(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.shipmate.config.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Per-destination publish rate on the broker channel plus queue depth of the
+ * STOMP channel executors.
+ *
+ * Destinations are tagged with ids replaced by {id} to keep cardinality bounded.
+ */
+@Component
+public class WebSocketTrafficMetrics implements ChannelInterceptor {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)"
+    );
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> published = new ConcurrentHashMap<>();
+
+    public WebSocketTrafficMetrics(MeterRegistry meterRegistry, ApplicationContext applicationContext) {
+        this.meterRegistry = meterRegistry;
+
+        // Executors are looked up lazily: they are built from WebSocketConfig, which depends on this bean
+        for (String executor : new String[] {"clientInboundChannelExecutor", "clientOutboundChannelExecutor", "brokerChannelExecutor"}) {
+            Gauge.builder("shipmate.ws.executor.queue.depth", applicationContext,
+                            context -> queueDepth(context, executor))
+                    .tag("executor", executor)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        // Resolved /user copies carry per-session destinations and are counted under their original
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION) == null) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination != null) {
+                published.computeIfAbsent(normalize(destination), this::counter).increment();
+            }
+        }
+        return message;
+    }
+
+    static String normalize(String destination) {
+        return ID_SEGMENT.matcher(destination).replaceAll("/{id}");
+    }
+
+    private Counter counter(String destination) {
+        return Counter.builder("shipmate.ws.messages.published")
+                .description("Messages published to the broker, by destination pattern")
+                .tag("destination", destination)
+                .register(meterRegistry);
+    }
+
+    private static double queueDepth(ApplicationContext context, String executor) {
+        try {
+            return context.getBean(executor, ThreadPoolTaskExecutor.class).getQueueSize();
+        } catch (BeansException | IllegalStateException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.shipmate.controller.admin;
+
+import com.shipmate.dto.request.notification.BroadcastNotificationRequest;
+import com.shipmate.dto.response.notification.BroadcastProgressResponse;
+import com.shipmate.service.notification.NotificationBroadcastService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import jakarta.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/notifications")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin Notifications", description = "Admin notification broadcast APIs")
+public class AdminNotificationController {
+
+    private final NotificationBroadcastService broadcastService;
+
+    @PostMapping("/broadcasts")
+    @Operation(summary = "Broadcast notification", description = "Send a notification to every active user in a segment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Broadcast accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<BroadcastProgressResponse> broadcast(
+            @Valid @RequestBody BroadcastNotificationRequest request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(broadcastService.start(request));
+    }
+
+    @GetMapping("/broadcasts/{broadcastId}")
+    @Operation(summary = "Get broadcast progress", description = "Get the progress of a running or finished broadcast")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Broadcast not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<BroadcastProgressResponse> getProgress(
+            @PathVariable UUID broadcastId
+    ) {
+        return ResponseEntity.ok(broadcastService.getProgress(broadcastId));
+    }
+}
@@ -2,6 +2,7 @@ package com.shipmate.controller.auth;
 
 import com.shipmate.dto.request.auth.*;
 import com.shipmate.dto.response.auth.*;
+import com.shipmate.security.JwtKeyRing;
 import com.shipmate.security.JwtUtil;
 import com.shipmate.service.auth.AuthService;
 
@@ -14,12 +15,16 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -28,6 +33,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtUtil jwtUtil;
+    private final JwtKeyRing jwtKeyRing;
 
     // ===================== REGISTER =====================
 
@@ -205,4 +211,20 @@ public class AuthController {
 
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
+
+    // ===================== JWKS =====================
+
+    @Operation(
+        summary = "Token verification keys",
+        description = "JWK set of the public keys that verify access tokens. Empty when tokens are HMAC-signed."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Key set returned")
+    })
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyRing.jwks());
+    }
 }
@@ -2,10 +2,12 @@ package com.shipmate.controller.booking;
 
 import com.shipmate.dto.request.booking.CreateBookingRequest;
 import com.shipmate.dto.response.booking.BookingResponse;
+import com.shipmate.dto.response.state.LiveStateResponse;
 import com.shipmate.mapper.booking.BookingAssembler;
 import com.shipmate.mapper.booking.BookingMapper;
 import com.shipmate.model.booking.Booking;
 import com.shipmate.service.booking.BookingService;
+import com.shipmate.service.state.LiveStateService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -32,6 +34,7 @@ public class BookingController {
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
     private final BookingAssembler bookingAssembler;
+    private final LiveStateService liveStateService;
 
     // ===================== CREATE BOOKING =====================
 
@@ -164,4 +167,24 @@ public class BookingController {
         );
     }
 
+    // ===================== LIVE STATE RESYNC =====================
+    @Operation(
+        summary = "Get booking live state",
+        description = "Returns the full versioned state behind the booking's WebSocket deltas. Clients call this when they detect a version gap."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Live state returned"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Not a participant of this booking")
+    })
+    @GetMapping("/{id}/state")
+    public ResponseEntity<LiveStateResponse> getBookingState(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal(expression = "username") String userId) {
+
+        return ResponseEntity.ok(
+            liveStateService.getBookingState(id, UUID.fromString(userId))
+        );
+    }
+
 }
@@ -2,6 +2,7 @@ package com.shipmate.controller.notification;
 
 import com.shipmate.dto.response.notification.NotificationResponse;
 import com.shipmate.service.notification.NotificationService;
+import com.shipmate.service.notification.NotificationStreamService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.*;
@@ -10,9 +11,11 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -22,6 +25,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
     @Operation(
         summary = "Get my notifications",
@@ -99,4 +103,29 @@ public class NotificationController {
         long unreadCount = notificationService.markAllAsRead(UUID.fromString(userId));
         return ResponseEntity.ok(unreadCount);
     }
+
+    @Operation(
+        summary = "Stream my notifications (SSE)",
+        description = "Server-Sent Events fallback for clients that cannot use WebSockets. Multiplexes notification, "
+                + "unread-count and conversation-update events. Send Last-Event-ID to resume; a resync event means "
+                + "the gap is no longer buffered and the client should reload via the REST endpoints. Clients "
+                + "switching from polling should poll once more after the ready event to miss nothing."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/me/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal(expression = "username") String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        UUID id = UUID.fromString(userId);
+
+        return notificationStreamService.subscribe(
+                id,
+                lastEventId,
+                notificationService.countUnread(id)
+        );
+    }
 }
@@ -0,0 +1,60 @@
+package com.shipmate.controller.search;
+
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.dto.response.notification.NotificationResponse;
+import com.shipmate.service.search.SearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminSearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping("/messages")
+    @Operation(summary = "Search all messages", description = "Full-text search over every shipment conversation, ranked by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search query"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<Page<MessageResponse>> searchMessages(
+            @RequestParam("q") String query,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(
+                searchService.searchAllMessages(query, pageable)
+        );
+    }
+
+    @GetMapping("/notifications")
+    @Operation(summary = "Search all notifications", description = "Full-text search over every user's notifications, ranked by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search query"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required")
+    })
+    public ResponseEntity<Page<NotificationResponse>> searchNotifications(
+            @RequestParam("q") String query,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(
+                searchService.searchAllNotifications(query, pageable)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.shipmate.controller.search;
+
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.dto.response.notification.NotificationResponse;
+import com.shipmate.service.search.SearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.*;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(
+        summary = "Search my messages",
+        description = "Full-text search over chat messages of shipments the authenticated user sends or drives. Results are ranked by relevance."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Messages retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid search query"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/messages")
+    public ResponseEntity<Page<MessageResponse>> searchMessages(
+            @AuthenticationPrincipal(expression = "username") String userId,
+            @RequestParam("q") String query,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(
+                searchService.searchMyMessages(
+                        UUID.fromString(userId),
+                        query,
+                        pageable
+                )
+        );
+    }
+
+    @Operation(
+        summary = "Search my notifications",
+        description = "Full-text search over the authenticated user's notifications. Results are ranked by relevance."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid search query"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/notifications")
+    public ResponseEntity<Page<NotificationResponse>> searchNotifications(
+            @AuthenticationPrincipal(expression = "username") String userId,
+            @RequestParam("q") String query,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(
+                searchService.searchMyNotifications(
+                        UUID.fromString(userId),
+                        query,
+                        pageable
+                )
+        );
+    }
+}
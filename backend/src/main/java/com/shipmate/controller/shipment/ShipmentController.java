@@ -13,8 +13,10 @@ import com.shipmate.dto.request.shipment.CreateShipmentRequest;
 import com.shipmate.dto.request.shipment.UpdateShipmentRequest;
 import com.shipmate.dto.response.delivery.DeliveryCodeStatusResponse;
 import com.shipmate.dto.response.shipment.ShipmentResponse;
+import com.shipmate.dto.response.state.LiveStateResponse;
 import com.shipmate.service.delivery.DeliveryCodeService;
 import com.shipmate.service.shipment.ShipmentService;
+import com.shipmate.service.state.LiveStateService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,6 +37,7 @@ public class ShipmentController {
 
     private final ShipmentService shipmentService;
     private final DeliveryCodeService deliveryCodeService;
+    private final LiveStateService liveStateService;
 
     // ===================== CREATE SHIPMENT =====================
     @Operation(
@@ -95,6 +98,26 @@ public class ShipmentController {
         );
     }
 
+    // ===================== LIVE STATE RESYNC =====================
+    @Operation(
+        summary = "Get shipment live state",
+        description = "Returns the full versioned state behind the shipment's WebSocket deltas. Clients call this when they detect a version gap."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Live state returned"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Not a participant of this shipment")
+    })
+    @GetMapping("/{shipmentId}/state")
+    public ResponseEntity<LiveStateResponse> getShipmentState(
+            @PathVariable UUID shipmentId,
+            @AuthenticationPrincipal(expression = "username") String userId) {
+
+        return ResponseEntity.ok(
+                liveStateService.getShipmentState(shipmentId, UUID.fromString(userId))
+        );
+    }
+
     // ===================== UPDATE SHIPMENT =====================
     @Operation(
         summary = "Update my shipment",
@@ -0,0 +1,29 @@
+package com.shipmate.dto.request.notification;
+
+import com.shipmate.model.DriverProfile.DriverStatus;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.UserType;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record BroadcastNotificationRequest(
+
+        @NotBlank(message = "Title is required")
+        @Size(max = 255, message = "Title must be less than 255 characters")
+        String title,
+
+        @NotBlank(message = "Message is required")
+        @Size(max = 2000, message = "Message must be less than 2000 characters")
+        String message,
+
+        // Defaults to SYSTEM_ALERT
+        NotificationType type,
+
+        // Segment filters; null means "any"
+        Role role,
+        UserType userType,
+        DriverStatus driverStatus
+
+) {}
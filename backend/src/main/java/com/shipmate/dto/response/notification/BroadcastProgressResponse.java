@@ -0,0 +1,15 @@
+package com.shipmate.dto.response.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BroadcastProgressResponse(
+        UUID broadcastId,
+        String status,
+        long totalRecipients,
+        long written,
+        long pushed,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {}
@@ -13,6 +13,8 @@ import java.util.UUID;
 public class PhotoResponse {
     private UUID id;
     private String url;
+    private String thumbnailUrl;
+    private String mediumUrl;
     private String photoType;
     private Instant createdAt;
 }
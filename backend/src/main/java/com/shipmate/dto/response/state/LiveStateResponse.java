@@ -0,0 +1,10 @@
+package com.shipmate.dto.response.state;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record LiveStateResponse(
+        UUID id,
+        long version,
+        Map<String, Object> state
+) {}
@@ -0,0 +1,13 @@
+package com.shipmate.dto.ws.booking;
+
+import com.shipmate.model.booking.BookingStatus;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record BookingStateDeltaWsDto(
+        UUID bookingId,
+        BookingStatus status,
+        long version,
+        Map<String, Object> changes
+) {}
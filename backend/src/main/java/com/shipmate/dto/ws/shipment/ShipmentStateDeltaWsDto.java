@@ -0,0 +1,14 @@
+package com.shipmate.dto.ws.shipment;
+
+import java.util.Map;
+import java.util.UUID;
+
+import com.shipmate.model.shipment.ShipmentStatus;
+
+public record ShipmentStateDeltaWsDto(
+        UUID shipmentId,
+        ShipmentStatus status,
+        boolean deliveryLocked,
+        long version,
+        Map<String, Object> changes
+) {}
@@ -0,0 +1,14 @@
+package com.shipmate.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("Server is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -7,15 +7,14 @@ import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.booking.BookingRepository;
-import com.shipmate.repository.notification.NotificationRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,9 +26,9 @@ public class BookingNotificationListener {
 
     private final BookingRepository bookingRepository;
     private final ApplicationEventPublisher eventPublisher;
-    private final NotificationRepository notificationRepository;
+    private final ProcessedEventRegistry processedEventRegistry;
 
-   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+   @OutboxListener
     public void onBookingStatusChanged(BookingStatusChangedEvent event) {
 
         if (event.status() != BookingStatus.CONFIRMED &&
@@ -49,15 +48,14 @@ public class BookingNotificationListener {
                 continue;
             }
 
-            boolean alreadyNotified =
-                    notificationRepository.existsByUserIdAndReferenceIdAndReferenceTypeAndNotificationType(
-                            recipient.getId(),
+            boolean claimed =
+                    processedEventRegistry.claim(
+                            "BOOKING_" + event.status().name(),
                             booking.getId(),
-                            ReferenceType.BOOKING,
-                            NotificationType.BOOKING_UPDATE
+                            recipient.getId()
                     );
 
-            if (alreadyNotified) {
+            if (!claimed) {
                 log.info("[BOOKING-NOTIF] Already notified bookingId={} userId={}",
                         booking.getId(),
                         recipient.getId());
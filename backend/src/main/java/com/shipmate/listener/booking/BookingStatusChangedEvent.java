@@ -1,6 +1,6 @@
 package com.shipmate.listener.booking;
 
-
+import com.shipmate.listener.outbox.OutboxEvent;
 import com.shipmate.model.booking.BookingStatus;
 
 import java.util.UUID;
@@ -9,4 +9,10 @@ public record BookingStatusChangedEvent(
         UUID bookingId,
         BookingStatus status,
         UUID actorId
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return bookingId;
+    }
+}
@@ -1,19 +1,19 @@
 package com.shipmate.listener.booking;
 
+import com.shipmate.listener.outbox.OutboxListener;
+import com.shipmate.service.state.LiveStateService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
 public class BookingStatusChangedListener {
 
-    private final BookingEventPublisher bookingEventPublisher;
+    private final LiveStateService liveStateService;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onBookingStatusChanged(BookingStatusChangedEvent event) {
-        bookingEventPublisher.bookingUpdated(event.bookingId(), event.status());
+        liveStateService.publishBooking(event.bookingId());
     }
 }
@@ -9,6 +9,7 @@ import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.booking.BookingRepository;
 import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +18,6 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
@@ -30,7 +29,7 @@ public class BookingSystemMessageListener {
     private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onBookingStatusChanged(BookingStatusChangedEvent event) {
 
         log.info("[SYSMSG] Booking status changed bookingId={}, status={}",
@@ -61,7 +60,7 @@ public class BookingSystemMessageListener {
             Message saved = messageRepository.save(systemMessage);
 
             eventPublisher.publishEvent(
-                    new MessageSentEvent(saved.getId())
+                    new MessageSentEvent(saved.getId(), shipment.getId())
             );
 
             log.info("[SYSMSG] Created system message for shipmentId={}",
@@ -1,18 +1,14 @@
 package com.shipmate.listener.delivery;
 
-import com.shipmate.dto.ws.shipment.ShipmentUpdateWsDto;
 import com.shipmate.listener.notification.NotificationRequestedEvent;
 import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
-import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
@@ -20,20 +16,10 @@ import org.springframework.transaction.event.TransactionPhase;
 public class DeliveryLockedListener {
 
     private final ApplicationEventPublisher eventPublisher;
-    private final SimpMessagingTemplate messagingTemplate;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
         public void onDeliveryLocked(DeliveryLockedEvent event) {
 
-            messagingTemplate.convertAndSend(
-                    "/topic/shipments/" + event.shipmentId(),
-                    new ShipmentUpdateWsDto(
-                            event.shipmentId(),
-                            ShipmentStatus.IN_TRANSIT,
-                            true
-                    )
-            );
-
             eventPublisher.publishEvent(
                     new NotificationRequestedEvent(
                             event.senderId(),
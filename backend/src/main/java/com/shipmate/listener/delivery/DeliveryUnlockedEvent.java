@@ -1,5 +1,7 @@
 package com.shipmate.listener.delivery;
 
+import com.shipmate.listener.outbox.OutboxEvent;
+
 import java.util.UUID;
 
 public record DeliveryUnlockedEvent(
@@ -7,4 +9,10 @@ public record DeliveryUnlockedEvent(
         UUID bookingId,
         UUID senderId,
         UUID driverId
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
@@ -2,12 +2,11 @@ package com.shipmate.listener.delivery;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.shipmate.listener.notification.NotificationRequestedEvent;
 import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +18,7 @@ public class DeliveryUnlockedListener {
 
     private final ApplicationEventPublisher eventPublisher;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onDeliveryUnlocked(DeliveryUnlockedEvent event) {
 
         eventPublisher.publishEvent(
@@ -11,6 +11,8 @@ import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.repository.driver.DriverProfileRepository;
 import com.shipmate.repository.insurance.InsuranceClaimRepository;
 import com.shipmate.service.mail.MailService;
+import com.shipmate.listener.outbox.OutboxListener;
+import com.shipmate.security.UserDetailsCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +22,6 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 import java.time.Instant;
 
@@ -34,12 +34,13 @@ public class InsuranceClaimPaymentListener {
     private final DriverProfileRepository driverProfileRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final MailService mailService;
+    private final UserDetailsCache userDetailsCache;
 
     @Value("${app.driver.strike-threshold:3}")
     private int strikeThreshold;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onPaymentRefunded(PaymentRefundedEvent event) {
 
         claimRepository.findByShipmentId(event.shipmentId())
@@ -109,6 +110,7 @@ public class InsuranceClaimPaymentListener {
 					&& profile.getStatus() == DriverStatus.APPROVED) {
 					profile.setStatus(DriverStatus.SUSPENDED);
 					driverProfileRepository.save(profile);
+					userDetailsCache.evict(driver.getId());
 					log.error(
 						"[SUSPEND] Driver {} auto-suspended after {} strikes",
 						driver.getId(),
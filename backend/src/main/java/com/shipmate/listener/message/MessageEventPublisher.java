@@ -3,9 +3,9 @@ package com.shipmate.listener.message;
 import java.util.UUID;
 
 import org.springframework.data.domain.PageRequest;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import com.shipmate.config.websocket.WebSocketPublisher;
 import com.shipmate.dto.response.conversation.ConversationResponse;
 import com.shipmate.mapper.message.MessageMapper;
 import com.shipmate.mapper.photo.PhotoMapper;
@@ -20,7 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MessageEventPublisher {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketPublisher webSocketPublisher;
     private final MessageMapper messageMapper;
     private final MessageRepository messageRepository;
     private final PhotoMapper photoMapper;
@@ -30,7 +30,7 @@ public class MessageEventPublisher {
 
         UUID shipmentId = message.getShipment().getId();
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/shipments/" + shipmentId + "/messages",
                 messageMapper.toResponse(message)
         );
@@ -94,7 +94,7 @@ public class MessageEventPublisher {
                                 : null
                 );
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/users/" + userId + "/conversation-updates",
                 payload
         );
@@ -1,5 +1,16 @@
 package com.shipmate.listener.message;
 
+import com.shipmate.listener.outbox.OutboxEvent;
+
 import java.util.UUID;
 
-public record MessageSentEvent(UUID messageId) {}
+public record MessageSentEvent(
+        UUID messageId,
+        UUID shipmentId
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
@@ -2,13 +2,12 @@ package com.shipmate.listener.message;
 
 import com.shipmate.model.message.Message;
 import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
@@ -18,7 +17,7 @@ public class MessageSentListener {
     private final MessageRepository messageRepository;
     private final MessageEventPublisher messageEventPublisher;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onMessageSent(MessageSentEvent event) {
         if (event.messageId() == null) {
             log.warn("[MSG] MessageSentEvent with null id ignored");
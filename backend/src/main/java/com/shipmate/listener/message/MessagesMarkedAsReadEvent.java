@@ -1,8 +1,16 @@
 package com.shipmate.listener.message;
 
+import com.shipmate.listener.outbox.OutboxEvent;
+
 import java.util.UUID;
 
 public record MessagesMarkedAsReadEvent(
         UUID shipmentId,
         UUID userId
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
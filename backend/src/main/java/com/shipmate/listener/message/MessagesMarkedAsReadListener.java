@@ -1,9 +1,8 @@
 package com.shipmate.listener.message;
 
+import com.shipmate.listener.outbox.OutboxListener;
 
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +14,7 @@ public class MessagesMarkedAsReadListener {
 
     private final MessageEventPublisher messageEventPublisher;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onMessagesMarkedAsRead(MessagesMarkedAsReadEvent event) {
 
         if (event.shipmentId() == null || event.userId() == null) {
@@ -1,6 +1,6 @@
 package com.shipmate.listener.notification;
 
-import com.shipmate.service.notification.NotificationService;
+import com.shipmate.service.notification.NotificationCoalescer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,18 +13,11 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class NotificationRequestedListener {
 
-    private final NotificationService notificationService;
+    private final NotificationCoalescer notificationCoalescer;
 
     @EventListener
     public void onNotificationRequested(NotificationRequestedEvent event) {
 
-        notificationService.createAndDispatch(
-                event.recipientUserId(),
-                event.title(),
-                event.message(),
-                event.type(),
-                event.referenceId(),
-                event.referenceType()
-        );
+        notificationCoalescer.submit(event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.shipmate.listener.outbox;
+
+import java.util.UUID;
+
+/**
+ * Domain event delivered through the transactional outbox. Events sharing an
+ * aggregate id are dispatched one at a time, in publication order.
+ */
+public interface OutboxEvent {
+
+    UUID aggregateId();
+}
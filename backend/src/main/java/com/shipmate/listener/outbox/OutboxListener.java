@@ -0,0 +1,18 @@
+package com.shipmate.listener.outbox;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Listens for an {@link OutboxEvent} once it has been committed and relayed.
+ * Runs on a relay worker; an exception schedules a retry with backoff, and the
+ * retry only calls the listeners that have not handled the event yet.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OutboxListener {
+}
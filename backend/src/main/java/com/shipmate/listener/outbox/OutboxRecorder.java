@@ -0,0 +1,57 @@
+package com.shipmate.listener.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.service.outbox.OutboxRelay;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes published domain events to outbox_events inside the publisher's
+ * transaction, so they commit or roll back with the state change.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    @EventListener
+    public void record(OutboxEvent event) {
+
+        // Same as the AFTER_COMMIT listeners this replaces: no transaction, no delivery
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        jdbcTemplate.update(
+                "insert into outbox_events (aggregate_id, event_type, payload) values (?, ?, ?::jsonb)",
+                event.aggregateId(),
+                event.getClass().getName(),
+                toJson(event)
+        );
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.onEventsCommitted();
+            }
+        });
+    }
+
+    private String toJson(OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -4,29 +4,30 @@ import com.shipmate.listener.notification.NotificationRequestedEvent;
 import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.shipment.Shipment;
-import com.shipmate.repository.notification.NotificationRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
 import com.shipmate.service.mail.MailService;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentCapturedListener {
 
+    private static final String EVENT_TYPE = "PAYMENT_CAPTURED";
+
     private final ShipmentRepository shipmentRepository;
-    private final NotificationRepository notificationRepository;
+    private final ProcessedEventRegistry processedEventRegistry;
     private final MailService mailService;
     private final ApplicationEventPublisher eventPublisher;
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @OutboxListener
     public void onPaymentCaptured(PaymentCapturedEvent event) {
 
         Shipment shipment = shipmentRepository
@@ -35,37 +36,40 @@ public class PaymentCapturedListener {
 
         var sender = shipment.getSender();
 
-        boolean alreadyProcessed =
-                notificationRepository
-                    .existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                            sender.getId(),
-                            shipment.getId(),
-                            ReferenceType.SHIPMENT,
-                            "Payment Completed"
-                    );
+        boolean claimed =
+                processedEventRegistry.claim(
+                        EVENT_TYPE,
+                        shipment.getId(),
+                        sender.getId()
+                );
 
-        if (alreadyProcessed) {
+        if (!claimed) {
             log.info("[PAYMENT] Capture already processed shipmentId={}",
                     shipment.getId());
             return;
         }
 
-        eventPublisher.publishEvent(
-                new NotificationRequestedEvent(
-                        sender.getId(),
-                        "Payment Completed",
-                        "Your payment has been successfully processed. Delivery confirmed.",
-                        NotificationType.PAYMENT_STATUS,
-                        shipment.getId(),
-                        ReferenceType.SHIPMENT
-                )
-        );
+        try {
+            eventPublisher.publishEvent(
+                    new NotificationRequestedEvent(
+                            sender.getId(),
+                            "Payment Completed",
+                            "Your payment has been successfully processed. Delivery confirmed.",
+                            NotificationType.PAYMENT_STATUS,
+                            shipment.getId(),
+                            ReferenceType.SHIPMENT
+                    )
+            );
 
-        mailService.sendPaymentReceiptEmail(
-                sender.getEmail(),
-                shipment.getId(),
-                event.amount()
-        );
+            mailService.sendPaymentReceiptEmail(
+                    sender.getEmail(),
+                    shipment.getId(),
+                    event.amount()
+            );
+        } catch (RuntimeException ex) {
+            processedEventRegistry.release(EVENT_TYPE, shipment.getId(), sender.getId());
+            throw ex;
+        }
 
         log.info("[PAYMENT] Receipt email + notification sent shipmentId={}",
                 shipment.getId());
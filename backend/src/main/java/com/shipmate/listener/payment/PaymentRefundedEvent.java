@@ -1,5 +1,7 @@
 package com.shipmate.listener.payment;
 
+import com.shipmate.listener.outbox.OutboxEvent;
+
 import java.math.BigDecimal;
 import java.util.UUID;
 
@@ -7,4 +9,10 @@ public record PaymentRefundedEvent(
         UUID shipmentId,
         UUID senderId,
         BigDecimal amount
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
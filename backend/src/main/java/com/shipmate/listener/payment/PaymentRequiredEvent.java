@@ -1,8 +1,16 @@
 package com.shipmate.listener.payment;
 
+import com.shipmate.listener.outbox.OutboxEvent;
+
 import java.util.UUID;
 
 public record PaymentRequiredEvent(
         UUID shipmentId,
         UUID senderId
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
@@ -4,9 +4,10 @@ import com.shipmate.listener.notification.NotificationRequestedEvent;
 import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.shipment.Shipment;
-import com.shipmate.repository.notification.NotificationRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
 import com.shipmate.service.mail.MailService;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,23 +18,23 @@ import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentRequiredListener {
 
+    private static final String EVENT_TYPE = "PAYMENT_REQUIRED";
+
     private final ShipmentRepository shipmentRepository;
-    private final NotificationRepository notificationRepository;
+    private final ProcessedEventRegistry processedEventRegistry;
     private final ApplicationEventPublisher eventPublisher;
     private final MailService mailService;
 
     @Value("${app.frontend.base-url}")
     private String frontendBaseUrl;
 
-        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        @OutboxListener
         public void onPaymentRequired(PaymentRequiredEvent event) {
 
         Shipment shipment = shipmentRepository
@@ -43,15 +44,13 @@ public class PaymentRequiredListener {
         var sender = shipment.getSender();
         UUID shipmentId = shipment.getId();
 
-        boolean alreadyNotified =
-                notificationRepository
-                        .existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                                sender.getId(),
-                                shipmentId,
-                                ReferenceType.SHIPMENT,
-                                "Payment Required"
-                        );
-        if (alreadyNotified) {
+        boolean claimed =
+                processedEventRegistry.claim(
+                        EVENT_TYPE,
+                        shipmentId,
+                        sender.getId()
+                );
+        if (!claimed) {
                 log.info("[PAYMENT] PaymentRequired already processed shipmentId={}",
                         shipmentId);
                 return;
@@ -69,23 +68,28 @@ public class PaymentRequiredListener {
                 shipmentId +
                 "/payment";
 
-        eventPublisher.publishEvent(
-                new NotificationRequestedEvent(
-                        sender.getId(),
-                        "Payment Required",
-                        "Please complete your payment to allow delivery to begin.",
-                        NotificationType.PAYMENT_STATUS,
-                        shipmentId,
-                        ReferenceType.SHIPMENT
-                )
-        );
-
-        mailService.sendPaymentRequiredEmail(
-                sender.getEmail(),
-                shipmentId,
-                totalAmount,
-                paymentLink
-        );
+        try {
+            eventPublisher.publishEvent(
+                    new NotificationRequestedEvent(
+                            sender.getId(),
+                            "Payment Required",
+                            "Please complete your payment to allow delivery to begin.",
+                            NotificationType.PAYMENT_STATUS,
+                            shipmentId,
+                            ReferenceType.SHIPMENT
+                    )
+            );
+
+            mailService.sendPaymentRequiredEmail(
+                    sender.getEmail(),
+                    shipmentId,
+                    totalAmount,
+                    paymentLink
+            );
+        } catch (RuntimeException ex) {
+            processedEventRegistry.release(EVENT_TYPE, shipmentId, sender.getId());
+            throw ex;
+        }
 
         log.info("[PAYMENT] PaymentRequired notification + email sent shipmentId={}",
                 shipmentId);
@@ -5,8 +5,9 @@ import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.shipment.ShipmentStatus;
-import com.shipmate.repository.notification.NotificationRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +16,6 @@ import java.util.UUID;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
@@ -24,10 +23,10 @@ import org.springframework.transaction.event.TransactionPhase;
 public class ShipmentNotificationListener {
 
     private final ShipmentRepository shipmentRepository;
-    private final NotificationRepository notificationRepository;
+    private final ProcessedEventRegistry processedEventRegistry;
     private final ApplicationEventPublisher eventPublisher;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onShipmentStatusChanged(ShipmentStatusChangedEvent event) {
 
         Shipment shipment = shipmentRepository
@@ -47,15 +46,14 @@ public class ShipmentNotificationListener {
         String title = buildTitle(event.status());
         String message = buildMessage(event.status(), shipmentId);
 
-        boolean alreadyNotified =
-                notificationRepository.existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                        senderId,
+        boolean claimed =
+                processedEventRegistry.claim(
+                        "SHIPMENT_" + event.status().name(),
                         shipmentId,
-                        ReferenceType.SHIPMENT,
-                        title
+                        senderId
                 );
 
-        if (alreadyNotified) {
+        if (!claimed) {
             log.info("[NOTIF] Shipment status already notified shipmentId={} status={}",
                     shipmentId, event.status());
             return;
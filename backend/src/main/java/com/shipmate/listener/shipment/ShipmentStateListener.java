@@ -0,0 +1,31 @@
+package com.shipmate.listener.shipment;
+
+import com.shipmate.listener.delivery.DeliveryLockedEvent;
+import com.shipmate.listener.delivery.DeliveryUnlockedEvent;
+import com.shipmate.listener.outbox.OutboxListener;
+import com.shipmate.service.state.LiveStateService;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ShipmentStateListener {
+
+    private final LiveStateService liveStateService;
+
+    @OutboxListener
+    public void onShipmentStatusChanged(ShipmentStatusChangedEvent event) {
+        liveStateService.publishShipment(event.shipmentId());
+    }
+
+    @OutboxListener
+    public void onDeliveryLocked(DeliveryLockedEvent event) {
+        liveStateService.publishShipment(event.shipmentId());
+    }
+
+    @OutboxListener
+    public void onDeliveryUnlocked(DeliveryUnlockedEvent event) {
+        liveStateService.publishShipment(event.shipmentId());
+    }
+}
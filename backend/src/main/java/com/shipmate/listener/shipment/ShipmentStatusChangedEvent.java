@@ -1,5 +1,6 @@
 package com.shipmate.listener.shipment;
 
+import com.shipmate.listener.outbox.OutboxEvent;
 import com.shipmate.model.shipment.ShipmentStatus;
 
 import java.util.UUID;
@@ -7,4 +8,10 @@ import java.util.UUID;
 public record ShipmentStatusChangedEvent(
         UUID shipmentId,
         ShipmentStatus status
-) {}
+) implements OutboxEvent {
+
+    @Override
+    public UUID aggregateId() {
+        return shipmentId;
+    }
+}
@@ -7,6 +7,7 @@ import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.shipment.ShipmentStatus;
 import com.shipmate.repository.message.MessageRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.listener.outbox.OutboxListener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +16,6 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.transaction.event.TransactionPhase;
 
 @Component
 @RequiredArgsConstructor
@@ -28,7 +27,7 @@ public class ShipmentSystemMessageListener {
     private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @OutboxListener
     public void onShipmentStatusChanged(ShipmentStatusChangedEvent event) {
 
         Shipment shipment = shipmentRepository
@@ -54,7 +53,7 @@ public class ShipmentSystemMessageListener {
         Message saved = messageRepository.save(systemMessage);
 
         eventPublisher.publishEvent(
-                new MessageSentEvent(saved.getId())
+                new MessageSentEvent(saved.getId(), shipment.getId())
         );
 
         log.info("[SYSMSG] Shipment system message created shipmentId={} status={}",
@@ -0,0 +1,26 @@
+package com.shipmate.listener.websocket;
+
+import com.shipmate.config.websocket.SubscriptionOwnershipCache;
+import com.shipmate.listener.booking.BookingStatusChangedEvent;
+import com.shipmate.listener.outbox.OutboxListener;
+import com.shipmate.listener.shipment.ShipmentStatusChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SubscriptionOwnershipListener {
+
+    private final SubscriptionOwnershipCache ownershipCache;
+
+    @OutboxListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        ownershipCache.evictBookingParticipants(event.bookingId());
+    }
+
+    @OutboxListener
+    public void onShipmentStatusChanged(ShipmentStatusChangedEvent event) {
+        ownershipCache.evictShipmentParticipants(event.shipmentId());
+    }
+}
@@ -3,8 +3,12 @@ package com.shipmate.mapper.photo;
 import com.shipmate.dto.response.photo.PhotoResponse;
 import com.shipmate.model.photo.Photo;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PhotoMapper {
+    // Until the variants exist, clients get the original under every size
+    @Mapping(target = "thumbnailUrl", source = "thumbnailUrl", defaultExpression = "java(photo.getUrl())")
+    @Mapping(target = "mediumUrl", source = "mediumUrl", defaultExpression = "java(photo.getUrl())")
     PhotoResponse toResponse(Photo photo);
 }
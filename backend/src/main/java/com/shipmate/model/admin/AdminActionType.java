@@ -18,5 +18,7 @@ public enum AdminActionType {
     PAYMENT_REFUNDED,
 
     USER_DEACTIVATED,
-    USER_ACTIVATED
+    USER_ACTIVATED,
+
+    NOTIFICATION_BROADCAST
 }
\ No newline at end of file
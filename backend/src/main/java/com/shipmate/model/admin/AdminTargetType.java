@@ -6,6 +6,7 @@ public enum AdminTargetType {
     DRIVER,
     CLAIM,
     PAYMENT,
-    USER
+    USER,
+    BROADCAST
 
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.shipmate.model.message;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "message_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MessageArchive {
+
+    @Id
+    @Column(name = "shipment_id")
+    private UUID shipmentId;
+
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    @Column(name = "last_message_content", columnDefinition = "TEXT")
+    private String lastMessageContent;
+
+    @Column(name = "last_sent_at")
+    private Instant lastSentAt;
+
+    // gzip-compressed JSON array of MessageResponse
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,26 @@
+package com.shipmate.model.notification;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Maintained by database triggers on notifications (V32 migration); read-only from the app
+@Entity
+@Table(name = "notification_unread_counters")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationUnreadCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
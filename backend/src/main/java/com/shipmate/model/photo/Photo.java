@@ -8,6 +8,7 @@ import com.shipmate.model.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -15,6 +16,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "photos")
+// Variant columns are written by PhotoVariantService in the background; don't overwrite them from stale entities
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +58,24 @@ public class Photo {
     @JoinColumn(name = "message_id")
     private Message message;
 
+    // Downscaled copies; null until PhotoVariantService has generated them
+    @Column(name = "thumbnail_url", columnDefinition = "TEXT")
+    private String thumbnailUrl;
+
+    @Column(name = "thumbnail_public_id")
+    private String thumbnailPublicId;
+
+    @Column(name = "medium_url", columnDefinition = "TEXT")
+    private String mediumUrl;
+
+    @Column(name = "medium_public_id")
+    private String mediumPublicId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant_status", nullable = false, length = 20)
+    @Builder.Default
+    private PhotoVariantStatus variantStatus = PhotoVariantStatus.PENDING;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
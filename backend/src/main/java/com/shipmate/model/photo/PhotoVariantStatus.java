@@ -0,0 +1,8 @@
+package com.shipmate.model.photo;
+
+public enum PhotoVariantStatus {
+    PENDING,
+    PROCESSING,
+    READY,
+    FAILED
+}
@@ -47,10 +47,10 @@ public class RefreshToken {
     private String sessionId;
 
     /**
-     * The actual refresh token value
+     * Hex SHA-256 of the refresh token; the token itself is never stored
      */
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
@@ -11,9 +11,9 @@ import java.util.UUID;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
     /**
-     * Used during refresh flow
+     * Used during refresh flow, with TokenDigests.sha256Hex of the presented token
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     /**
      * Used during login to rotate or reuse session token
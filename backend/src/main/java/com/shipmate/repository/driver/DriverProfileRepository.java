@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.shipmate.model.DriverProfile.DriverStatus;
 import com.shipmate.model.user.User;
@@ -23,6 +25,10 @@ public interface DriverProfileRepository extends JpaRepository<DriverProfile, UU
     List<DriverProfile> findByStatus(DriverStatus status);
 
     Optional<DriverProfile> findByUser_Id(UUID userId);
+
+    @Query("select p.status from DriverProfile p where p.user.id = :userId")
+    Optional<DriverStatus> findStatusByUser_Id(@Param("userId") UUID userId);
+
     @EntityGraph(attributePaths = {"vehicles"})
     Optional<DriverProfile> findWithVehiclesByUser_Id(UUID userId);
     List<DriverProfile> findByStrikeCountGreaterThan(int strikeCount);
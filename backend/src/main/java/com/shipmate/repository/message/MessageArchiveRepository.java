@@ -0,0 +1,19 @@
+package com.shipmate.repository.message;
+
+import com.shipmate.model.message.MessageArchive;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MessageArchiveRepository extends JpaRepository<MessageArchive, UUID> {
+
+    Optional<ArchiveSummary> findSummaryByShipmentId(UUID shipmentId);
+
+    interface ArchiveSummary {
+        String getLastMessageContent();
+        Instant getLastSentAt();
+    }
+}
@@ -2,7 +2,10 @@ package com.shipmate.repository.message;
 
 import com.shipmate.model.message.Message;
 import com.shipmate.model.message.MessageType;
+import com.shipmate.model.shipment.ShipmentStatus;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -52,6 +55,37 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
     List<Message> findByShipment_Id(UUID shipmentId);
 
+    List<Message> findByShipment_IdOrderBySentAtAsc(UUID shipmentId);
+
+    @Query("""
+        select s.id from Shipment s
+        where s.status in :statuses
+        and exists (select 1 from Message m where m.shipment = s)
+        and not exists (
+            select 1 from Message m
+            where m.shipment = s
+            and m.sentAt >= :cutoff
+        )
+        and not exists (select 1 from Photo p where p.message.shipment = s)
+        and not exists (select 1 from MessageArchive a where a.shipmentId = s.id)
+    """)
+    List<UUID> findArchivableShipmentIds(
+        @Param("statuses") Collection<ShipmentStatus> statuses,
+        @Param("cutoff") Instant cutoff,
+        Pageable pageable
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        delete from Message m
+        where m.shipment.id = :shipmentId
+        and m.sentAt <= :upTo
+    """)
+    int deleteArchived(
+        @Param("shipmentId") UUID shipmentId,
+        @Param("upTo") Instant upTo
+    );
+
     @Modifying(clearAutomatically = true)
     @Query("""
         update Message m
@@ -63,6 +97,46 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
     void markAllAsRead(UUID shipmentId, UUID userId);
 
 
+    @Query(
+        value = """
+            select m.* from messages m
+            where m.search_vector @@ websearch_to_tsquery('simple', :query)
+            order by ts_rank_cd(m.search_vector, websearch_to_tsquery('simple', :query)) desc,
+                     m.sent_at desc
+        """,
+        countQuery = """
+            select count(*) from messages m
+            where m.search_vector @@ websearch_to_tsquery('simple', :query)
+        """,
+        nativeQuery = true
+    )
+    Page<Message> searchAll(@Param("query") String query, Pageable pageable);
+
+    @Query(
+        value = """
+            select m.* from messages m
+            join shipments s on s.id = m.shipment_id
+            left join bookings b on b.id = s.booking_id
+            where m.search_vector @@ websearch_to_tsquery('simple', :query)
+              and (s.sender_id = :userId or b.driver_id = :userId)
+            order by ts_rank_cd(m.search_vector, websearch_to_tsquery('simple', :query)) desc,
+                     m.sent_at desc
+        """,
+        countQuery = """
+            select count(*) from messages m
+            join shipments s on s.id = m.shipment_id
+            left join bookings b on b.id = s.booking_id
+            where m.search_vector @@ websearch_to_tsquery('simple', :query)
+              and (s.sender_id = :userId or b.driver_id = :userId)
+        """,
+        nativeQuery = true
+    )
+    Page<Message> searchForParticipant(
+        @Param("query") String query,
+        @Param("userId") UUID userId,
+        Pageable pageable
+    );
+
     @Query("""
         select m from Message m
         join fetch m.shipment sh
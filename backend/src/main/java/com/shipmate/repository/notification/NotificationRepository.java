@@ -1,8 +1,6 @@
 package com.shipmate.repository.notification;
 
 import com.shipmate.model.notification.Notification;
-import com.shipmate.model.notification.NotificationType;
-import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.user.User;
 
 import org.springframework.data.domain.Page;
@@ -18,8 +16,6 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
-    long countByUserAndIsReadFalse(User user);
-
     Page<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user, Pageable pageable);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
@@ -44,15 +40,41 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
             @Param("user") User user
     );
 
-    boolean existsByUserIdAndNotificationTypeAndMessageContaining(
-    UUID userId, NotificationType notificationType, String messageFragment);
-
-    boolean existsByUserIdAndReferenceIdAndReferenceTypeAndNotificationType(UUID userId, UUID referenceId,
-      ReferenceType referenceType, NotificationType notificationType );
+    @Query(
+        value = """
+            select n.* from notifications n
+            where n.search_vector @@ websearch_to_tsquery('simple', :query)
+            order by ts_rank_cd(n.search_vector, websearch_to_tsquery('simple', :query)) desc,
+                     n.created_at desc
+        """,
+        countQuery = """
+            select count(*) from notifications n
+            where n.search_vector @@ websearch_to_tsquery('simple', :query)
+        """,
+        nativeQuery = true
+    )
+    Page<Notification> searchAll(@Param("query") String query, Pageable pageable);
 
-
-    boolean existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(UUID userId, UUID referenceId,
-      ReferenceType referenceType, String title);
+    @Query(
+        value = """
+            select n.* from notifications n
+            where n.user_id = :userId
+              and n.search_vector @@ websearch_to_tsquery('simple', :query)
+            order by ts_rank_cd(n.search_vector, websearch_to_tsquery('simple', :query)) desc,
+                     n.created_at desc
+        """,
+        countQuery = """
+            select count(*) from notifications n
+            where n.user_id = :userId
+              and n.search_vector @@ websearch_to_tsquery('simple', :query)
+        """,
+        nativeQuery = true
+    )
+    Page<Notification> searchForUser(
+            @Param("query") String query,
+            @Param("userId") UUID userId,
+            Pageable pageable
+    );
 
 
 }
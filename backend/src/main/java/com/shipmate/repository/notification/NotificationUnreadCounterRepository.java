@@ -0,0 +1,23 @@
+package com.shipmate.repository.notification;
+
+import com.shipmate.model.notification.NotificationUnreadCounter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationUnreadCounterRepository extends JpaRepository<NotificationUnreadCounter, UUID> {
+
+    // Native so pending notification inserts are flushed (and the counter trigger has run) first
+    @Query(value = """
+        select unread_count
+          from notification_unread_counters
+         where user_id = :userId
+    """, nativeQuery = true)
+    Optional<Long> findUnreadCount(@Param("userId") UUID userId);
+}
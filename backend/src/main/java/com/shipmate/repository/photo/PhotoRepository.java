@@ -17,6 +17,14 @@ public interface PhotoRepository extends JpaRepository<Photo, UUID> {
     List<Photo> findByDriverProfile_Id(UUID driverProfileId);
 
     List<Photo> findByDriverProfile_IdAndPhotoType(UUID driverProfileId, String photoType);
+
+    @Query("""
+        SELECT COUNT(p) > 0 FROM Photo p
+        WHERE p.publicId = :publicId
+           OR p.thumbnailPublicId = :publicId
+           OR p.mediumPublicId = :publicId
+    """)
+    boolean isReferenced(@Param("publicId") String publicId);
     
     @Query("SELECT p FROM Photo p WHERE p.shipment.id IN :shipmentIds")
     List<Photo> findByShipmentIdIn(@Param("shipmentIds") List<UUID> shipmentIds);
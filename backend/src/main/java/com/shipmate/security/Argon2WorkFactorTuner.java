@@ -0,0 +1,49 @@
+package com.shipmate.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks the Argon2 iteration count whose hash time on this machine is closest
+ * to a latency budget. Memory and parallelism stay fixed; hash time grows
+ * linearly with iterations, so one measured iteration predicts the rest.
+ *
+ * Existing hashes keep verifying after a change because Argon2 stores its
+ * parameters in the encoded hash.
+ */
+@Slf4j
+public final class Argon2WorkFactorTuner {
+
+    private static final int SAMPLES = 5;
+
+    private Argon2WorkFactorTuner() {
+    }
+
+    public static int tune(int saltLength, int hashLength, int parallelism, int memoryKib,
+                           long targetMillis, int minIterations, int maxIterations) {
+        Argon2PasswordEncoder probe = new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memoryKib, 1);
+
+        // First runs include JIT warm-up
+        probe.encode("work-factor-warmup");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("work-factor-probe");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double perIterationMillis = Math.max(samples[SAMPLES / 2] / 1_000_000.0, 0.1);
+
+        int iterations = (int) Math.round(targetMillis / perIterationMillis);
+        iterations = Math.max(minIterations, Math.min(maxIterations, iterations));
+
+        log.info("[SECURITY] Argon2 tuned to {} iterations (~{} ms per hash, target {} ms)",
+                iterations, Math.round(perIterationMillis * iterations), targetMillis);
+
+        return iterations;
+    }
+}
@@ -1,6 +1,7 @@
 package com.shipmate.security;
 
 import com.shipmate.model.user.User;
+import com.shipmate.repository.driver.DriverProfileRepository;
 import com.shipmate.repository.user.UserRepository;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,15 +9,20 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final DriverProfileRepository driverProfileRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    DriverProfileRepository driverProfileRepository) {
         this.userRepository = userRepository;
+        this.driverProfileRepository = driverProfileRepository;
     }
 
     @Override
@@ -45,10 +51,17 @@ public class CustomUserDetailsService implements UserDetailsService {
                             new UsernameNotFoundException("User not found with id: " + identifier));
         }
 
+        List<String> authorities = new ArrayList<>();
+        authorities.add("ROLE_" + user.getRole().name());
+
+        // Driver status rides on the cached principal so DriverSecurity checks stay in memory
+        driverProfileRepository.findStatusByUser_Id(user.getId())
+                .ifPresent(status -> authorities.add(DriverSecurity.AUTHORITY_PREFIX + status.name()));
+
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getId().toString())
                 .password(user.getPassword())
-                .authorities("ROLE_" + user.getRole().name())
+                .authorities(authorities.toArray(String[]::new))
                 .disabled(!user.isVerified() || !user.isActive())
                 .build();
     }
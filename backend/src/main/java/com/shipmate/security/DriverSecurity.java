@@ -1,52 +1,51 @@
 package com.shipmate.security;
 
 import com.shipmate.model.DriverProfile.DriverStatus;
-import com.shipmate.repository.driver.DriverProfileRepository;
-
-import lombok.RequiredArgsConstructor;
-
-import java.util.UUID;
 
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+/**
+ * Driver checks for @PreAuthorize, answered from the DRIVER_*
+ * authority that {@link CustomUserDetailsService} adds to the principal.
+ * Status changes evict the principal from {@link UserDetailsCache}, so no
+ * query runs per request.
+ */
 @Component("driverSecurity")
-@RequiredArgsConstructor
 public class DriverSecurity {
 
-    private final DriverProfileRepository driverProfileRepository;
+    static final String AUTHORITY_PREFIX = "DRIVER_";
+
+    private static final String APPROVED = AUTHORITY_PREFIX + DriverStatus.APPROVED.name();
 
     public boolean hasDriverProfile(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+        if (authentication == null) {
             return false;
         }
 
-        try {
-            UUID userId = UUID.fromString(authentication.getName());
-            return driverProfileRepository.findByUser_Id(userId).isPresent();
-        } catch (IllegalArgumentException ex) {
-            return false;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(AUTHORITY_PREFIX)) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
      * True if user has an APPROVED driver profile
      */
     public boolean isApprovedDriver(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+        if (authentication == null) {
             return false;
         }
 
-        try {
-            UUID userId = UUID.fromString(authentication.getName());
-
-            return driverProfileRepository
-                    .findByUser_Id(userId)
-                    .map(profile -> profile.getStatus() == DriverStatus.APPROVED)
-                    .orElse(false);
-
-        } catch (IllegalArgumentException ex) {
-            return false;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (APPROVED.equals(authority.getAuthority())) {
+                return true;
+            }
         }
+        return false;
     }
 }
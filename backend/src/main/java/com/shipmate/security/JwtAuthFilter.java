@@ -11,7 +11,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,16 +18,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.UUID;
 
+/**
+ * Authenticates requests from the bearer token alone: the token is parsed and
+ * verified once, and the principal comes from {@link UserDetailsCache}, so the
+ * steady-state path does not touch the database.
+ */
 @Component
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsCache userDetailsCache) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -51,11 +55,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             Claims claims = jwtUtil.extractClaims(token);
             String userId = claims.getSubject();
 
-            if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(userId);
+            if (SecurityContextHolder.getContext().getAuthentication() == null
+                    && jwtUtil.isTokenValid(claims, UUID.fromString(userId))) {
 
-                if (jwtUtil.isTokenValid(token, UUID.fromString(userId))) {
+                UserDetails userDetails = userDetailsCache.get(userId);
+
+                if (userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
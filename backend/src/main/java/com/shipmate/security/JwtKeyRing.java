@@ -0,0 +1,193 @@
+package com.shipmate.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signing key plus every key still accepted for verification, addressed by the
+ * token's kid header.
+ *
+ * To rotate, give the new key a new id and move the old one to
+ * jwt.previous-keys until the longest-lived token signed with it has expired.
+ * Tokens issued before kid headers existed are verified with
+ * jwt.legacy-key-id (the current key by default).
+ *
+ * In ES256 mode only public keys are needed for verification, so other
+ * services can check tokens from the JWKS endpoint without sharing a secret.
+ */
+@Component
+public class JwtKeyRing {
+
+    private final SignatureAlgorithm algorithm;
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final String legacyKeyId;
+    private final Map<String, Key> verificationKeys;
+
+    public JwtKeyRing(
+            @Value("${jwt.algorithm:HS256}") String algorithm,
+            @Value("${jwt.key-id:k1}") String keyId,
+            @Value("${jwt.secret:}") String secret,
+            @Value("${jwt.ec.private-key:}") String ecPrivateKey,
+            @Value("${jwt.ec.public-key:}") String ecPublicKey,
+            @Value("${jwt.previous-keys:}") String previousKeys,
+            @Value("${jwt.legacy-key-id:}") String legacyKeyId) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.signingKeyId = keyId;
+        this.legacyKeyId = legacyKeyId.isBlank() ? keyId : legacyKeyId;
+
+        Map<String, Key> keys = new LinkedHashMap<>();
+
+        switch (this.algorithm) {
+            case HS256 -> {
+                this.signingKey = hmacKey(secret);
+                keys.put(keyId, signingKey);
+            }
+            case ES256 -> {
+                this.signingKey = decode("EC", ecPrivateKey, true);
+                keys.put(keyId, decode("EC", ecPublicKey, false));
+            }
+            default -> throw new IllegalStateException("Unsupported JWT algorithm: " + algorithm);
+        }
+
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.previous-keys entries must be <kid>:<key>");
+            }
+
+            String kid = entry.substring(0, separator).trim();
+            String material = entry.substring(separator + 1).trim();
+
+            keys.putIfAbsent(kid, this.algorithm == SignatureAlgorithm.HS256
+                    ? hmacKey(material)
+                    : decode("EC", material, false));
+        }
+
+        if (!keys.containsKey(this.legacyKeyId)) {
+            throw new IllegalStateException("jwt.legacy-key-id " + this.legacyKeyId + " is not in the keyring");
+        }
+
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Key verificationKey(String keyId) {
+        Key key = verificationKeys.get(keyId != null ? keyId : legacyKeyId);
+
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id: " + keyId);
+        }
+
+        return key;
+    }
+
+    /**
+     * Verification keys that can be published; empty in HMAC mode.
+     */
+    public Map<String, PublicKey> publicKeys() {
+        Map<String, PublicKey> published = new LinkedHashMap<>();
+
+        verificationKeys.forEach((kid, key) -> {
+            if (key instanceof PublicKey publicKey) {
+                published.put(kid, publicKey);
+            }
+        });
+
+        return published;
+    }
+
+    /**
+     * Published verification keys as a JWK set.
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+
+        publicKeys().forEach((kid, key) -> {
+            if (key instanceof ECPublicKey ec) {
+                Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+                keys.add(Map.of(
+                        "kty", "EC",
+                        "crv", "P-256",
+                        "use", "sig",
+                        "alg", "ES256",
+                        "kid", kid,
+                        "x", encoder.encodeToString(coordinate(ec.getW().getAffineX())),
+                        "y", encoder.encodeToString(coordinate(ec.getW().getAffineY()))
+                ));
+            }
+        });
+
+        return Map.of("keys", keys);
+    }
+
+    // Unsigned, left-padded to the P-256 field size
+    private static byte[] coordinate(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return fixed;
+    }
+
+    private static Key hmacKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("jwt.secret is required in HS256 mode");
+        }
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decode(String type, String pem, boolean privateKey) {
+        if (pem == null || pem.isBlank()) {
+            throw new IllegalStateException("jwt.ec." + (privateKey ? "private" : "public") + "-key is required in ES256 mode");
+        }
+
+        byte[] der = Base64.getMimeDecoder().decode(
+                pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "")
+        );
+
+        try {
+            KeyFactory factory = KeyFactory.getInstance(type);
+            return privateKey
+                    ? factory.generatePrivate(new PKCS8EncodedKeySpec(der))
+                    : factory.generatePublic(new X509EncodedKeySpec(der));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Invalid " + type + " key for JWT keyring", ex);
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.shipmate.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,30 +17,42 @@ import java.util.UUID;
 @Component
 public class JwtUtil {
 
-    private final Key secretKey;
+    private final JwtKeyRing keyRing;
     private final long accessTokenTtl;
     private final long refreshTokenTtl;
 
+    // Immutable and thread-safe; the key is picked per token from its kid header
+    private final JwtParser parser;
+
     public JwtUtil(
-            @Value("${jwt.secret}") String secret,
+            JwtKeyRing keyRing,
             @Value("${jwt.access-token-ttl}") long accessTokenTtl,
             @Value("${jwt.refresh-token-ttl}") long refreshTokenTtl) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.keyRing = keyRing;
         this.accessTokenTtl = accessTokenTtl;
         this.refreshTokenTtl = refreshTokenTtl;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     // Generate Access Token
     public String generateAccessToken(UUID userId, String email, String role) {
         Instant now = Instant.now();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getSigningKeyId())
                 .setSubject(userId.toString())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(accessTokenTtl)))
                 .addClaims(Map.of(
                         "email", email,
                         "role", role))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .signWith(keyRing.getSigningKey(), keyRing.getAlgorithm())
                 .compact();
     }
 
@@ -47,25 +60,26 @@ public class JwtUtil {
     public String generateRefreshToken(UUID userId) {
         Instant now = Instant.now();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.getSigningKeyId())
                 .setSubject(userId.toString())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(refreshTokenTtl)))
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .signWith(keyRing.getSigningKey(), keyRing.getAlgorithm())
                 .compact();
     }
 
     // Extract Claims
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // Validate Token
     public boolean isTokenValid(String token, UUID userId) {
-        Claims claims = extractClaims(token);
+        return isTokenValid(extractClaims(token), userId);
+    }
+
+    // Validate already-parsed claims, avoiding a second signature check
+    public boolean isTokenValid(Claims claims, UUID userId) {
         return claims.getSubject().equals(userId.toString()) && !isTokenExpired(claims);
     }
 
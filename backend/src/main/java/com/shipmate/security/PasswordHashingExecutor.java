@@ -0,0 +1,133 @@
+package com.shipmate.security;
+
+import com.shipmate.exception.PasswordHashingOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a fixed pool sized to the CPUs, so a login spike
+ * cannot occupy every request thread (or, with Argon2, allocate 64 MiB per
+ * concurrent request). When the queue is full, or a hash cannot complete
+ * within {@code max-wait-ms}, the request is shed with a 503 instead of piling
+ * up behind the others.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Counter shed;
+    private final Map<String, Timer> hashTimers = new ConcurrentHashMap<>();
+
+    public PasswordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.max-wait-ms:2000}") long maxWaitMillis,
+            @Value("${app.security.hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+
+        this.pool = new ThreadPoolExecutor(
+                size,
+                size,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.meterRegistry = meterRegistry;
+
+        this.queueWait = Timer.builder("shipmate.security.password.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .register(meterRegistry);
+        this.shed = Counter.builder("shipmate.security.password.shed")
+                .description("Password operations refused with 503 because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("shipmate.security.password.queue.depth", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Timer hashTime = hashTimers.computeIfAbsent(operation, op -> Timer.builder("shipmate.security.password.hash")
+                .description("Time to compute a single password hash or verification")
+                .tag("operation", op)
+                .register(meterRegistry));
+
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+
+                // The caller has already given up; don't burn a core on it
+                if (TimeUnit.NANOSECONDS.toMillis(waited) > maxWaitMillis) {
+                    throw new TimeoutException();
+                }
+
+                return hashTime.record(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            shed.increment();
+            throw new PasswordHashingOverloadedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(false);
+            shed.increment();
+            throw new PasswordHashingOverloadedException(retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof TimeoutException) {
+                shed.increment();
+                throw new PasswordHashingOverloadedException(retryAfterSeconds);
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
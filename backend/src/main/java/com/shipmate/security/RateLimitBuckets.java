@@ -0,0 +1,145 @@
+package com.shipmate.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.postgresql.Bucket4jPostgreSQL;
+import io.github.bucket4j.postgresql.PostgreSQLadvisoryLockBasedProxyManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for {@link RateLimitFilter}, keyed by policy and client.
+ *
+ * The local store keeps buckets in memory, bounded in size and dropped once
+ * idle for a full refill period (by then a fresh bucket is equivalent). The
+ * size bound is enforced at most once per trim interval, so a burst of new
+ * clients can overshoot it briefly rather than making every request scan. With
+ * {@code app.rate-limit.store=jdbc} buckets live in the rate_limit_buckets
+ * table, so every node draws from the same limit; bucket4j serializes
+ * updates per key with a Postgres advisory lock.
+ */
+@Component
+@Slf4j
+public class RateLimitBuckets {
+
+    private final boolean shared;
+    private final int maxLocalKeys;
+    private final long trimIntervalMs;
+    private final int purgeBatchSize;
+
+    private final AtomicLong lastTrim = new AtomicLong();
+
+    private final Map<String, LocalEntry> local = new ConcurrentHashMap<>();
+    private final PostgreSQLadvisoryLockBasedProxyManager<String> proxyManager;
+
+    public RateLimitBuckets(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.store:local}") String store,
+            @Value("${app.rate-limit.local.max-keys:100000}") int maxLocalKeys,
+            @Value("${app.rate-limit.local.trim-interval-ms:1000}") long trimIntervalMs,
+            @Value("${app.rate-limit.jdbc.purge-batch-size:1000}") int purgeBatchSize) {
+        this.shared = "jdbc".equalsIgnoreCase(store);
+        this.maxLocalKeys = maxLocalKeys;
+        this.trimIntervalMs = trimIntervalMs;
+        this.purgeBatchSize = purgeBatchSize;
+
+        this.proxyManager = shared
+                ? Bucket4jPostgreSQL.advisoryLockBasedBuilder(dataSource)
+                        .primaryKeyMapper(PrimaryKeyMapper.STRING)
+                        .table("rate_limit_buckets")
+                        .idColumn("id")
+                        .stateColumn("state")
+                        .expiresAtColumn("expires_at")
+                        .expirationAfterWrite(ExpirationAfterWriteStrategy
+                                .basedOnTimeForRefillingBucketUpToMax(Duration.ZERO))
+                        .build()
+                : null;
+
+        Gauge.builder("shipmate.ratelimit.local.keys", local, Map::size)
+                .description("Client buckets held in memory by this node")
+                .register(meterRegistry);
+    }
+
+    public Bucket resolve(RateLimitPolicy policy, String client) {
+        String key = policy.name() + ":" + client;
+
+        if (shared) {
+            return proxyManager.builder().build(key, policy::configuration);
+        }
+
+        long now = System.currentTimeMillis();
+        LocalEntry entry = local.computeIfAbsent(key, k ->
+                new LocalEntry(Bucket.builder().addLimit(policy.bandwidth()).build(), policy.period().toMillis()));
+        entry.lastUsed = now;
+
+        if (local.size() > maxLocalKeys) {
+            long previous = lastTrim.get();
+            if (now - previous >= trimIntervalMs && lastTrim.compareAndSet(previous, now)) {
+                trim(now);
+            }
+        }
+
+        return entry.bucket;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        if (!shared) {
+            long now = System.currentTimeMillis();
+            local.values().removeIf(entry -> entry.isIdle(now));
+            return;
+        }
+
+        try {
+            int removed;
+            do {
+                removed = proxyManager.removeExpired(purgeBatchSize);
+            } while (removed == purgeBatchSize);
+        } catch (RuntimeException ex) {
+            log.warn("[RATE-LIMIT] Failed to purge expired buckets", ex);
+        }
+    }
+
+    private void trim(long now) {
+        local.values().removeIf(entry -> entry.isIdle(now));
+
+        // Still over the bound: drop arbitrary entries, those clients start over with a full bucket
+        Iterator<String> keys = local.keySet().iterator();
+        while (local.size() > maxLocalKeys && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class LocalEntry {
+
+        private final Bucket bucket;
+        private final long idleAfterMillis;
+        private volatile long lastUsed;
+
+        private LocalEntry(Bucket bucket, long idleAfterMillis) {
+            this.bucket = bucket;
+            this.idleAfterMillis = idleAfterMillis;
+        }
+
+        private boolean isIdle(long now) {
+            return now - lastUsed > idleAfterMillis;
+        }
+    }
+}
@@ -1,47 +1,76 @@
 package com.shipmate.security;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.springframework.lang.NonNull;
-import org.springframework.core.env.Environment;
 
 @Component
+@Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    private final Environment environment;
-
-    public RateLimitFilter(Environment environment) {
-        this.environment = environment;
+    private final RateLimitBuckets buckets;
+    private final boolean enabled;
+    private final List<RateLimitPolicy> policies;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public RateLimitFilter(
+            RateLimitBuckets buckets,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.login.capacity:5}") int loginCapacity,
+            @Value("${app.rate-limit.login.period-seconds:60}") long loginPeriod,
+            @Value("${app.rate-limit.forgot-password.capacity:5}") int forgotPasswordCapacity,
+            @Value("${app.rate-limit.forgot-password.period-seconds:60}") long forgotPasswordPeriod,
+            @Value("${app.rate-limit.pricing.capacity:30}") int pricingCapacity,
+            @Value("${app.rate-limit.pricing.period-seconds:60}") long pricingPeriod,
+            @Value("${app.rate-limit.geocoding.capacity:30}") int geocodingCapacity,
+            @Value("${app.rate-limit.geocoding.period-seconds:60}") long geocodingPeriod,
+            @Value("${app.rate-limit.matching.capacity:60}") int matchingCapacity,
+            @Value("${app.rate-limit.matching.period-seconds:60}") long matchingPeriod) {
+        this.buckets = buckets;
+        this.enabled = enabled;
+        this.policies = List.of(
+                policy("login", "/api/auth/login", loginCapacity, loginPeriod),
+                policy("forgot-password", "/api/auth/forgot-password", forgotPasswordCapacity, forgotPasswordPeriod),
+                policy("pricing", "/api/pricing", pricingCapacity, pricingPeriod),
+                policy("geocoding", "/api/geocoding", geocodingCapacity, geocodingPeriod),
+                policy("matching", "/api/matching", matchingCapacity, matchingPeriod)
+        );
+
+        for (RateLimitPolicy policy : policies) {
+            rejected.put(policy.name(), Counter.builder("shipmate.ratelimit.rejected")
+                    .description("Requests refused with 429 by the rate limiter")
+                    .tag("policy", policy.name())
+                    .register(meterRegistry));
+        }
     }
 
-    private Bucket createBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(5)
-                .refillIntervally(5, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private static RateLimitPolicy policy(String name, String prefix, int capacity, long periodSeconds) {
+        return new RateLimitPolicy(name, List.of(prefix), capacity, Duration.ofSeconds(periodSeconds));
     }
 
-    private Bucket resolveBucket(String ip) {
-        return buckets.computeIfAbsent(ip, k -> createBucket());
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
     }
 
     @Override
@@ -51,25 +80,41 @@ public class RateLimitFilter extends OncePerRequestFilter {
            @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        if (Arrays.asList(environment.getActiveProfiles()).contains("test")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        String path = request.getRequestURI();
+        RateLimitPolicy policy = resolvePolicy(request.getRequestURI());
 
-        if (path.startsWith("/api/auth/login")|| path.startsWith("/api/auth/forgot-password")) {
+        if (policy != null) {
+            ConsumptionProbe probe;
+            try {
+                probe = buckets.resolve(policy, request.getRemoteAddr()).tryConsumeAndReturnRemaining(1);
+            } catch (RuntimeException ex) {
+                // A broken bucket store must not take the routes down with it
+                log.warn("[RATE-LIMIT] Bucket store unavailable, allowing {} request", policy.name(), ex);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            String ip = request.getRemoteAddr();
-            Bucket bucket = resolveBucket(ip);
+            if (!probe.isConsumed()) {
+                rejected.get(policy.name()).increment();
 
-            if (!bucket.tryConsume(1)) {
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
                 response.setStatus(429);
-                response.getWriter().write("Too many login attempts");
+                response.setHeader("Retry-After", String.valueOf(retryAfter));
+                response.getWriter().write("Too many requests");
                 return;
             }
+
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private RateLimitPolicy resolvePolicy(String path) {
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
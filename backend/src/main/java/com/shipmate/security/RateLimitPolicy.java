@@ -0,0 +1,36 @@
+package com.shipmate.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-route limit: {@code capacity} requests per client IP, refilled in full
+ * every {@code period}.
+ */
+public record RateLimitPolicy(String name, List<String> pathPrefixes, int capacity, Duration period) {
+
+    public boolean matches(String path) {
+        for (String prefix : pathPrefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Bandwidth bandwidth() {
+        return Bandwidth.builder()
+                .capacity(capacity)
+                .refillIntervally(capacity, period)
+                .build();
+    }
+
+    public BucketConfiguration configuration() {
+        return BucketConfiguration.builder()
+                .addLimit(bandwidth())
+                .build();
+    }
+}
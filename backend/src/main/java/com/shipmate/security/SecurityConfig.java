@@ -1,10 +1,13 @@
 package com.shipmate.security;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -40,14 +43,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new Argon2PasswordEncoder(16, 32, 1, 65536, 4);
+    public PasswordEncoder passwordEncoder(
+            PasswordHashingExecutor passwordHashingExecutor,
+            @Value("${app.security.hashing.argon2.memory-kib:65536}") int memoryKib,
+            @Value("${app.security.hashing.argon2.iterations:4}") int iterations,
+            @Value("${app.security.hashing.tune.enabled:false}") boolean tune,
+            @Value("${app.security.hashing.tune.target-ms:250}") long targetMillis,
+            @Value("${app.security.hashing.tune.min-iterations:2}") int minIterations,
+            @Value("${app.security.hashing.tune.max-iterations:10}") int maxIterations) {
+        if (tune) {
+            iterations = Argon2WorkFactorTuner.tune(16, 32, 1, memoryKib, targetMillis, minIterations, maxIterations);
+        }
+
+        return new OffloadedPasswordEncoder(
+                new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations),
+                passwordHashingExecutor
+        );
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -57,19 +74,24 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/login","/api/auth/logout", "/api/auth/register", "/api/auth/refresh", "/api/auth/verify-email", "/api/auth/reset-password", "/api/auth/forgot-password").permitAll()
+                        // Async dispatches (SSE) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/login","/api/auth/logout", "/api/auth/register", "/api/auth/refresh", "/api/auth/verify-email", "/api/auth/reset-password", "/api/auth/forgot-password", "/api/auth/jwks").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/api/webhooks/stripe").permitAll()
+                        // Content-addressed and unguessable, like the public Cloudinary URLs they replace
+                        .requestMatchers(HttpMethod.GET, "/api/photos/*").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/photos/*").permitAll()
                         .anyRequest().authenticated())
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
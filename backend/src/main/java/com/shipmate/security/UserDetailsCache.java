@@ -0,0 +1,137 @@
+package com.shipmate.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, short-lived cache of authenticated principals keyed by user id,
+ * used by the HTTP and STOMP JWT paths. Entries carry the role and the
+ * active/verified state (as the enabled flag) but no password hash.
+ *
+ * Concurrent lookups for the same user share one load, so a burst of
+ * reconnects after a deploy costs one users query per user rather than one
+ * per connection. Services that change a user's role or account state call
+ * {@link #evict(UUID)}; other nodes pick the change up within the TTL.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<String, CachedDetails> cache = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserDetailsCache(
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-details.cache-ttl-ms:30000}") long ttlMillis,
+            @Value("${app.security.user-details.cache-max-entries:100000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+
+        Gauge.builder("shipmate.security.principal.cache.size", cache, Map::size)
+                .register(meterRegistry);
+        this.hits = Counter.builder("shipmate.security.principal.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("shipmate.security.principal.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public UserDetails get(String userId) {
+        long now = System.currentTimeMillis();
+        CachedDetails loading = new CachedDetails(new CompletableFuture<>(), now + ttlMillis);
+
+        CachedDetails cached = cache.compute(userId, (id, existing) ->
+                existing != null && existing.expiresAt() > now ? existing : loading);
+
+        if (cached == loading) {
+            misses.increment();
+            try {
+                UserDetails details = userDetailsService.loadUserByUsername(userId);
+                // Cached principals never need the password hash
+                if (details instanceof CredentialsContainer container) {
+                    container.eraseCredentials();
+                }
+                loading.details().complete(details);
+            } catch (RuntimeException ex) {
+                cache.remove(userId, loading);
+                loading.details().completeExceptionally(ex);
+                throw ex;
+            }
+
+            if (cache.size() > maxEntries) {
+                trim(now);
+            }
+        } else {
+            hits.increment();
+        }
+
+        try {
+            return cached.details().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void evict(String userId) {
+        cache.remove(userId);
+    }
+
+    /**
+     * Drops the user's principal now and again once the surrounding
+     * transaction commits, so a request racing the change cannot re-cache the
+     * old state.
+     */
+    public void evict(UUID userId) {
+        String key = userId.toString();
+        evict(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    private void trim(long now) {
+        cache.values().removeIf(c -> c.expiresAt() <= now);
+
+        // Still over the bound: drop arbitrary entries, they reload on next use
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedDetails(CompletableFuture<UserDetails> details, long expiresAt) {}
+}
@@ -94,4 +94,10 @@ public class AdminActionLogger {
     public void shipmentStatusOverride(UUID shipmentId, String note) {
     log( AdminTargetType.SHIPMENT, shipmentId, AdminActionType.SHIPMENT_STATUS_OVERRIDE, note );
 }
+
+    // ===== NOTIFICATIONS =====
+
+    public void notificationBroadcast(UUID broadcastId, String note) {
+        log(AdminTargetType.BROADCAST, broadcastId, AdminActionType.NOTIFICATION_BROADCAST, note);
+    }
 }
\ No newline at end of file
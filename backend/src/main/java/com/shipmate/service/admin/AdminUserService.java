@@ -7,6 +7,7 @@ import com.shipmate.model.user.User;
 import com.shipmate.model.user.UserType;
 import com.shipmate.repository.user.UserRepository;
 import com.shipmate.repository.user.UserSpecifications;
+import com.shipmate.security.UserDetailsCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +26,7 @@ public class AdminUserService {
 
     private final UserRepository userRepository;
     private final AdminUserMapper userMapper;
+    private final UserDetailsCache userDetailsCache;
 
     public Page<AdminUserResponse> getUsers(
             Role role,
@@ -67,6 +69,7 @@ public class AdminUserService {
 
         user.setActive(false);
         userRepository.save(user);
+        userDetailsCache.evict(userId);
     }
 
     @Transactional
@@ -82,5 +85,6 @@ public class AdminUserService {
 
         user.setActive(true);
         userRepository.save(user);
+        userDetailsCache.evict(userId);
     }
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ import com.shipmate.model.user.User;
 import com.shipmate.repository.auth.RefreshTokenRepository;
 import com.shipmate.repository.user.UserRepository;
 import com.shipmate.security.JwtUtil;
+import com.shipmate.security.TokenDigests;
+import com.shipmate.security.UserDetailsCache;
 import com.shipmate.service.mail.MailService;
 
 import lombok.RequiredArgsConstructor;
@@ -38,6 +40,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final MailService mailService;
     private final VerificationTokenService verificationTokenService;
+    private final UserDetailsCache userDetailsCache;
 
 
     public RegisterResponse register(RegisterRequest request) {
@@ -101,7 +104,7 @@ public class AuthService {
         String refreshValue = jwtUtil.generateRefreshToken(user.getId());
 
         if (refreshToken != null) {
-            refreshToken.setToken(refreshValue);
+            refreshToken.setTokenHash(TokenDigests.sha256Hex(refreshValue));
             refreshToken.setExpiresAt(Instant.now().plusSeconds(jwtUtil.getRefreshTokenTtl()));
             refreshToken.setRevoked(false);
         } else {
@@ -109,7 +112,7 @@ public class AuthService {
                     .user(user)
                     .deviceId(request.getDeviceId())
                     .sessionId(request.getSessionId())
-                    .token(refreshValue)
+                    .tokenHash(TokenDigests.sha256Hex(refreshValue))
                     .expiresAt(Instant.now().plusSeconds(jwtUtil.getRefreshTokenTtl()))
                     .revoked(false)
                     .build();
@@ -126,7 +129,7 @@ public class AuthService {
 
     public AuthResponse refresh(String refreshTokenValue) {
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(refreshTokenValue))
                 .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
 
         if (refreshToken.isRevoked()) {
@@ -141,7 +144,7 @@ public class AuthService {
 
         String newRefreshValue = jwtUtil.generateRefreshToken(user.getId());
 
-        refreshToken.setToken(newRefreshValue);
+        refreshToken.setTokenHash(TokenDigests.sha256Hex(newRefreshValue));
         refreshToken.setExpiresAt(Instant.now().plusSeconds(jwtUtil.getRefreshTokenTtl()));
         refreshToken.setRevoked(false);
 
@@ -161,7 +164,7 @@ public class AuthService {
 
 
     public void logout(String refreshTokenValue) {
-        refreshTokenRepository.findByToken(refreshTokenValue)
+        refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(refreshTokenValue))
                 .ifPresent(token -> {
                     token.setRevoked(true);
                     refreshTokenRepository.save(token);
@@ -175,6 +178,7 @@ public class AuthService {
 
         user.setVerified(true);
         userRepository.save(user);
+        userDetailsCache.evict(user.getId());
         verificationTokenService.markAsUsed(token);
 
         return VerifyEmailResponse.builder()
@@ -212,6 +216,7 @@ public class AuthService {
         verificationTokenService.markAsUsed(token);
 
         refreshTokenRepository.revokeAllActiveByUserId(user.getId());
+        userDetailsCache.evict(user.getId());
 
         return ResetPasswordResponse.builder()
                 .message("Password updated successfully. Please log in again.")
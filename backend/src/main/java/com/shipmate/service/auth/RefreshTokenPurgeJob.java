@@ -0,0 +1,52 @@
+package com.shipmate.service.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes expired and revoked refresh tokens. Each batch is its own short
+ * statement that targets rows by ctid, so no lock is held across the purge
+ * and logins keep rotating tokens while it runs. A row updated since it was
+ * picked (e.g. a revoked session logging in again) has a new ctid and is
+ * left alone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.auth.refresh-tokens.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.auth.refresh-tokens.purge-cron:0 0 4 * * ?}")
+    public void purge() {
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = jdbcTemplate.update("""
+                    delete from refresh_tokens
+                    where ctid = any (array(
+                        select ctid from refresh_tokens
+                        where revoked or expires_at < now()
+                        limit ?
+                    ))
+                    and (revoked or expires_at < now())
+                    """,
+                    batchSize
+            );
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("[AUTH] Purged {} expired or revoked refresh tokens", total);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.shipmate.dto.response.conversation.ConversationResponse;
 import com.shipmate.mapper.photo.PhotoMapper;
 import com.shipmate.model.shipment.Shipment;
+import com.shipmate.repository.message.MessageArchiveRepository;
 import com.shipmate.repository.message.MessageRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
 
@@ -24,6 +25,7 @@ public class ConversationService {
 
     private final ShipmentRepository shipmentRepository;
     private final MessageRepository messageRepository;
+    private final MessageArchiveRepository messageArchiveRepository;
     private final PhotoMapper photoMapper;
 
     public List<ConversationResponse> getMyConversations(UUID userId) {
@@ -53,6 +55,20 @@ public class ConversationService {
                         userId
                 );
 
+        String lastPreview = lastMessage != null ? lastMessage.getMessageContent() : null;
+        var lastAt = lastMessage != null ? lastMessage.getSentAt() : null;
+
+        if (lastMessage == null) {
+            var archived = messageArchiveRepository
+                    .findSummaryByShipmentId(shipment.getId())
+                    .orElse(null);
+
+            if (archived != null) {
+                lastPreview = archived.getLastMessageContent();
+                lastAt = archived.getLastSentAt();
+            }
+        }
+
         var booking = shipment.getBooking();
         var driver = booking.getDriver();
         var sender = shipment.getSender();
@@ -65,8 +81,8 @@ public class ConversationService {
         return new ConversationResponse(
                 shipment.getId(),
                 shipment.getStatus(),
-                lastMessage != null ? lastMessage.getMessageContent() : null,
-                lastMessage != null ? lastMessage.getSentAt() : null,
+                lastPreview,
+                lastAt,
                 unread,
                 otherUser != null
                 ? otherUser.getFirstName() + " " + otherUser.getLastName()
@@ -2,7 +2,9 @@ package com.shipmate.service.driver;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
@@ -20,9 +22,11 @@ import com.shipmate.model.DriverProfile.DriverProfile;
 import com.shipmate.model.DriverProfile.DriverStatus;
 import com.shipmate.model.notification.NotificationType;
 import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.model.photo.Photo;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.driver.DriverProfileRepository;
 import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.UserDetailsCache;
 import com.shipmate.service.admin.AdminActionLogger;
 import com.shipmate.service.mail.MailService;
 import com.shipmate.service.photo.PhotoService;
@@ -36,6 +40,7 @@ import com.shipmate.model.vehicle.Vehicle;
 import com.shipmate.model.vehicle.VehicleStatus;
 import com.shipmate.repository.vehicle.VehicleRepository;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
@@ -54,6 +59,8 @@ public class DriverProfileService {
     private final ApplicationEventPublisher eventPublisher;
     private final AdminActionLogger adminActionLogger;
     private final PhotoService photoService;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     public DriverProfileResponse apply(UUID userId, DriverApplyRequest request) {
 
@@ -83,14 +90,26 @@ public class DriverProfileService {
                 .active(false)
                 .build();
         vehicleRepository.save(vehicle);
+        userDetailsCache.evict(userId);
 
         return mapper.toResponse(savedProfile);
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public DriverProfileResponse applyWithLicensePhotos(UUID userId, DriverApplyRequest request, List<MultipartFile> files) {
-        apply(userId, request);
-        uploadLicensePhotos(userId, files);
-        return getMyProfile(userId);
+        transactionTemplate.executeWithoutResult(status -> apply(userId, request));
+
+        try {
+            uploadLicensePhotos(userId, files);
+        } catch (RuntimeException ex) {
+            // Withdraw the application so the driver can apply again
+            transactionTemplate.executeWithoutResult(status -> driverProfileRepository.findByUser_Id(userId)
+                    .ifPresent(driverProfileRepository::delete));
+            userDetailsCache.evict(userId);
+            throw ex;
+        }
+
+        return transactionTemplate.execute(status -> getMyProfile(userId));
     }
 
     public DriverProfileResponse updateLicense(UUID userId, UpdateLicenseRequest request) {
@@ -101,6 +120,7 @@ public class DriverProfileService {
         profile.setPendingLicenseExpiry(request.getLicenseExpiry());
         profile.setStatus(DriverStatus.PENDING);
         profile.setApprovedAt(null);
+        userDetailsCache.evict(userId);
 
         Vehicle activeVehicle = profile.getActiveVehicle();
         if (activeVehicle != null) {
@@ -111,17 +131,31 @@ public class DriverProfileService {
         return toDriverViewResponse(driverProfileRepository.save(profile));
     }
 
+    // New photos are uploaded outside any transaction; the old pending ones are only
+    // replaced once the upload has succeeded
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public DriverProfileResponse uploadLicensePhotos(UUID userId, List<MultipartFile> files) {
-        DriverProfile profile = driverProfileRepository.findByUser_Id(userId)
-                .orElseThrow(() -> new IllegalArgumentException("Driver profile not found"));
+        DriverProfile profile = transactionTemplate.execute(status -> driverProfileRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Driver profile not found")));
 
         if (files == null || files.isEmpty()) {
             throw new IllegalArgumentException("At least one license photo is required");
         }
 
-        photoService.getPendingDriverLicensePhotos(profile.getId()).forEach(photoService::deletePhoto);
-        photoService.uploadPendingDriverLicensePhotos(profile, files);
-        return toDriverViewResponse(driverProfileRepository.save(profile));
+        Set<String> uploaded = photoService.uploadPendingDriverLicensePhotos(profile, files)
+                .stream()
+                .map(Photo::getPublicId)
+                .collect(Collectors.toSet());
+
+        return transactionTemplate.execute(status -> {
+            photoService.getPendingDriverLicensePhotos(profile.getId())
+                    .stream()
+                    .filter(photo -> !uploaded.contains(photo.getPublicId()))
+                    .forEach(photoService::deletePhoto);
+
+            return toDriverViewResponse(driverProfileRepository.findByUser_Id(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Driver profile not found")));
+        });
     }
 
     public DriverProfileResponse getMyProfile(UUID userId) {
@@ -153,6 +187,7 @@ public class DriverProfileService {
 
         profile.setStatus(DriverStatus.APPROVED);
         profile.setApprovedAt(Instant.now());
+        userDetailsCache.evict(profile.getUser().getId());
         promotePendingLicense(profile);
 
         // Unified Approval: Approve and activate the first vehicle
@@ -194,6 +229,7 @@ public class DriverProfileService {
                     profile.getUser().getEmail(), profile.getLicenseExpiry());
 
             profile.setStatus(DriverStatus.SUSPENDED);
+            userDetailsCache.evict(profile.getUser().getId());
 
             // Deactivate active vehicle
             Vehicle active = profile.getActiveVehicle();
@@ -216,6 +252,7 @@ public class DriverProfileService {
         }
 
         profile.setStatus(DriverStatus.REJECTED);
+        userDetailsCache.evict(profile.getUser().getId());
 
         mailService.sendDriverRejectedEmail(profile.getUser().getEmail());
 
@@ -239,6 +276,7 @@ public class DriverProfileService {
         }
 
         profile.setStatus(DriverStatus.SUSPENDED);
+        userDetailsCache.evict(profile.getUser().getId());
 
         mailService.sendDriverSuspendedEmail(profile.getUser().getEmail());
 
@@ -284,6 +322,7 @@ public class DriverProfileService {
 
         if (profile.getStatus() == DriverStatus.SUSPENDED) {
             profile.setStatus(DriverStatus.APPROVED);
+            userDetailsCache.evict(profile.getUser().getId());
         }
 
         eventPublisher.publishEvent(
@@ -334,6 +373,7 @@ public class DriverProfileService {
 
         if (profile.getStrikeCount() >= 5) {
             profile.setStatus(DriverStatus.SUSPENDED);
+            userDetailsCache.evict(profile.getUser().getId());
             adminActionLogger.driverSuspended(driverId, "Auto suspension after strikes");
         }
 
@@ -0,0 +1,69 @@
+package com.shipmate.service.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Exactly-once guard for event side effects. A listener claims
+ * (eventType, referenceId, recipientId) before acting; the primary key makes the
+ * claim race-free across threads and nodes. Inside a transaction the claim
+ * commits or rolls back with it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessedEventRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.events.processed.retention-days:180}")
+    private int retentionDays;
+
+    /**
+     * @return true if this call claimed the event, false if it was already processed
+     */
+    public boolean claim(String eventType, UUID referenceId, UUID recipientId) {
+        int inserted = jdbcTemplate.update("""
+                insert into processed_events (event_type, reference_id, recipient_id)
+                values (?, ?, ?)
+                on conflict do nothing
+                """,
+                eventType, referenceId, recipientId
+        );
+        return inserted == 1;
+    }
+
+    /**
+     * Gives a claim back when the side effect failed, so a redelivery can retry it.
+     */
+    public void release(String eventType, UUID referenceId, UUID recipientId) {
+        jdbcTemplate.update(
+                "delete from processed_events where event_type = ? and reference_id = ? and recipient_id = ?",
+                eventType, referenceId, recipientId
+        );
+    }
+
+    @Scheduled(cron = "${app.events.processed.purge-cron:0 30 4 * * ?}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+
+        int purged = jdbcTemplate.update(
+                "delete from processed_events where processed_at < ?",
+                Timestamp.from(cutoff)
+        );
+
+        if (purged > 0) {
+            log.info("[EVENTS] Purged {} processed events older than {} days", purged, retentionDays);
+        }
+    }
+}
@@ -31,7 +31,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -59,6 +61,7 @@ public class InsuranceClaimService {
     private final ApplicationEventPublisher eventPublisher;
     private final PhotoService photoService;
     private final AdminClaimMapper adminClaimMapper;
+    private final TransactionTemplate transactionTemplate;
 
     
 
@@ -300,22 +303,30 @@ public class InsuranceClaimService {
         return mapper.toResponse(claim);
     }
 
+    // No transaction across the uploads, so no connection is held while they run
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InsuranceClaimResponse addClaimPhotos(UUID claimId, UUID userId, List<MultipartFile> files) {
 
-        InsuranceClaim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
+        InsuranceClaim claim = transactionTemplate.execute(status -> {
+            InsuranceClaim found = claimRepository.findById(claimId)
+                    .orElseThrow(() -> new IllegalArgumentException("Claim not found"));
 
-        if (!claim.getClaimant().getId().equals(userId)) {
-            throw new IllegalStateException("Not your claim");
-        }
+            if (!found.getClaimant().getId().equals(userId)) {
+                throw new IllegalStateException("Not your claim");
+            }
 
-        if (claim.getClaimStatus() != ClaimStatus.SUBMITTED) {
-            throw new IllegalStateException("Cannot upload photos for this claim state");
-        }
+            if (found.getClaimStatus() != ClaimStatus.SUBMITTED) {
+                throw new IllegalStateException("Cannot upload photos for this claim state");
+            }
+            return found;
+        });
 
         photoService.uploadInsuranceClaimPhotos(claim, files);
 
-        return mapper.toResponse(claim);
+        return transactionTemplate.execute(status -> mapper.toResponse(
+                claimRepository.findById(claimId)
+                        .orElseThrow(() -> new IllegalArgumentException("Claim not found"))
+        ));
     }
 
     @Transactional(readOnly = true)
@@ -4,20 +4,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import jakarta.mail.internet.MimeMessage;
-import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.Year;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -27,14 +26,20 @@ import java.util.UUID;
 @Slf4j
 public class EmailService implements MailService {
 
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
-
-    @Value("${app.mail.from}")
-    private String fromEmail;
+    private static final List<String> TEMPLATES = List.of(
+            "email/verification",
+            "email/password-reset",
+            "email/driver-approved",
+            "email/driver-rejected",
+            "email/driver-suspended",
+            "email/driver-reactivated",
+            "email/payment-required",
+            "email/payment-receipt",
+            "email/payment-refunded"
+    );
 
-    @Value("${app.mail.from-name}")
-    private String fromName;
+    private final MailQueue mailQueue;
+    private final TemplateEngine templateEngine;
 
     @Value("${app.mail.base-url}")
     private String baseUrl;
@@ -50,7 +55,7 @@ public class EmailService implements MailService {
 
         String htmlContent = templateEngine.process("email/verification", context);
         sendHtmlEmail(toEmail, "Verify your SHIPMATE account", htmlContent);
-        log.info("Verification email sent to: {}", toEmail);
+        log.info("Verification email queued for: {}", toEmail);
     }
 
     @Override
@@ -60,23 +65,28 @@ public class EmailService implements MailService {
 
         String htmlContent = templateEngine.process("email/password-reset", context);
         sendHtmlEmail(toEmail, "Reset your SHIPMATE password", htmlContent);
-        log.info("Password reset email sent to: {}", toEmail);
+        log.info("Password reset email queued for: {}", toEmail);
     }
 
     private void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-        } catch (UnsupportedEncodingException | jakarta.mail.MessagingException e) {
-            throw new RuntimeException("Failed to send email", e);
+        mailQueue.enqueue(to, subject, htmlContent);
+    }
+
+    /**
+     * Parses every email template once at startup so the first send of each
+     * kind does not pay for it; the engine's template cache keeps the result.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTemplates() {
+        for (String template : TEMPLATES) {
+            try {
+                templateEngine.process(template, new Context());
+            } catch (RuntimeException ex) {
+                // Rendering without variables may fail after parsing; the parsed template is cached either way
+                log.debug("Template warm-up for {} stopped early: {}", template, ex.getMessage());
+            }
         }
+        log.info("Warmed {} email templates", TEMPLATES.size());
     }
 
     @Override
@@ -95,7 +105,7 @@ public class EmailService implements MailService {
             html
         );
 
-        log.info("Driver approved email sent to {}", toEmail);
+        log.info("Driver approved email queued for {}", toEmail);
     }
 
     @Override
@@ -157,7 +167,7 @@ public class EmailService implements MailService {
                 html
         );
 
-        log.info("Payment required email sent to {}", toEmail);
+        log.info("Payment required email queued for {}", toEmail);
     }
 
         @Override
@@ -189,7 +199,7 @@ public class EmailService implements MailService {
                 html
         );
 
-        log.info("Payment receipt email sent to {}", toEmail);
+        log.info("Payment receipt email queued for {}", toEmail);
     }
 
     @Override
@@ -218,7 +228,7 @@ public class EmailService implements MailService {
                 html
         );
 
-        log.info("Refund email sent to {}", toEmail);
+        log.info("Refund email queued for {}", toEmail);
     }
 
     @Override
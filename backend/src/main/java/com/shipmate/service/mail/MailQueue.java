@@ -0,0 +1,41 @@
+package com.shipmate.service.mail;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes rendered emails to mail_queue. Inside a transaction the row commits or
+ * rolls back with the caller's state change; {@link MailRelay} is woken once
+ * the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailQueue {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MailRelay mailRelay;
+
+    public void enqueue(String recipient, String subject, String html) {
+        jdbcTemplate.update(
+                "insert into mail_queue (recipient, subject, html) values (?, ?, ?)",
+                recipient,
+                subject,
+                html
+        );
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailRelay.onMailQueued();
+                }
+            });
+        } else {
+            mailRelay.onMailQueued();
+        }
+    }
+}
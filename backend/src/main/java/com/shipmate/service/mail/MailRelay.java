@@ -0,0 +1,442 @@
+package com.shipmate.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UnsupportedEncodingException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers queued mail over SMTP.
+ *
+ * Each worker claims a batch with FOR UPDATE SKIP LOCKED and hands it to
+ * {@link JavaMailSender#send(MimeMessage...)}, which reuses one SMTP connection
+ * for the whole batch, so the worker count bounds the number of open
+ * connections. Transient failures (connection problems, 4xx replies) are
+ * retried with exponential backoff and parked as FAILED after the maximum
+ * number of attempts; permanent ones (unparseable addresses, 5xx replies,
+ * authentication errors) are parked as FAILED straight away.
+ */
+@Component
+@Slf4j
+public class MailRelay implements SmartLifecycle {
+
+    private static final String CLAIM_SQL = """
+            update mail_queue m
+               set status = 'SENDING',
+                   attempts = m.attempts + 1,
+                   locked_until = now() + ? * interval '1 second'
+             where m.id in (
+                   select c.id
+                     from mail_queue c
+                    where (c.status = 'PENDING' and c.available_at <= now())
+                       or (c.status = 'SENDING' and c.locked_until < now())
+                    order by c.id
+                    limit ?
+                    for update skip locked
+             )
+            returning m.id, m.recipient, m.subject, m.html, m.attempts, m.created_at
+            """;
+
+    private final JavaMailSender mailSender;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    private final String fromEmail;
+    private final String fromName;
+    private final boolean asyncEnabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final int retentionDays;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    private volatile boolean running;
+
+    public MailRelay(
+            JavaMailSender mailSender,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.from}") String fromEmail,
+            @Value("${app.mail.from-name}") String fromName,
+            @Value("${app.mail.queue.async:true}") boolean asyncEnabled,
+            @Value("${app.mail.queue.workers:2}") int workerCount,
+            @Value("${app.mail.queue.batch-size:50}") int batchSize,
+            @Value("${app.mail.queue.poll-interval-ms:2000}") long pollIntervalMs,
+            @Value("${app.mail.queue.lease-seconds:120}") long leaseSeconds,
+            @Value("${app.mail.queue.backoff.base-ms:30000}") long baseBackoffMs,
+            @Value("${app.mail.queue.backoff.max-ms:3600000}") long maxBackoffMs,
+            @Value("${app.mail.queue.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail.queue.retention-days:14}") int retentionDays) {
+        this.mailSender = mailSender;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fromEmail = fromEmail;
+        this.fromName = fromName;
+        this.asyncEnabled = asyncEnabled;
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = batchSize;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+
+        this.sent = Counter.builder("shipmate.mail.sent")
+                .register(meterRegistry);
+        this.retried = Counter.builder("shipmate.mail.retried")
+                .description("Emails scheduled for another attempt after an SMTP failure")
+                .register(meterRegistry);
+        this.parked = Counter.builder("shipmate.mail.failed")
+                .description("Emails parked as FAILED, either rejected permanently or out of attempts")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shipmate.mail.batch.duration")
+                .description("Time to deliver one claimed batch over a single SMTP connection")
+                .register(meterRegistry);
+        this.lag = Timer.builder("shipmate.mail.lag")
+                .description("Time from queueing to successful delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called after a transaction that queued mail commits. In async mode this
+     * only wakes a worker; otherwise (tests) the queue is drained inline.
+     */
+    public void onMailQueued() {
+        if (asyncEnabled && running) {
+            wakeUp.release();
+        } else {
+            drain();
+        }
+    }
+
+    /**
+     * Delivers everything claimable on the calling thread.
+     */
+    public void drain() {
+        List<Claimed> batch;
+        while (!(batch = claim()).isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!asyncEnabled || running) {
+            return;
+        }
+
+        running = true;
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual()
+                    .name("mail-relay-" + i)
+                    .start(this::workLoop));
+        }
+
+        log.info("[MAIL] Relay started workers={} batchSize={}", workerCount, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeUp.release(workerCount);
+
+        // A batch in flight finishes; anything still claimed is re-sent once its lease expires
+        for (Thread worker : workers) {
+            try {
+                worker.join(lease.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+
+        log.info("[MAIL] Relay stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Scheduled(cron = "${app.mail.queue.purge-cron:0 45 4 * * ?}")
+    public void purgeSent() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = jdbcTemplate.update("""
+                    delete from mail_queue
+                    where id in (
+                        select id from mail_queue
+                        where status = 'SENT' and sent_at < ?
+                        limit 5000
+                    )
+                    """, cutoff);
+            total += deleted;
+        } while (deleted > 0);
+
+        if (total > 0) {
+            log.info("[MAIL] Purged {} sent emails older than {} days", total, retentionDays);
+        }
+    }
+
+    private void workLoop() {
+        while (running) {
+            try {
+                List<Claimed> batch = claim();
+
+                if (batch.isEmpty()) {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+
+                deliver(batch);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("[MAIL] Relay poll failed", ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private List<Claimed> claim() {
+        List<Claimed> claimed = requiresNew.execute(status ->
+                jdbcTemplate.query(
+                        CLAIM_SQL,
+                        (rs, rowNum) -> new Claimed(
+                                rs.getLong(1),
+                                rs.getString(2),
+                                rs.getString(3),
+                                rs.getString(4),
+                                rs.getInt(5),
+                                rs.getTimestamp(6).toInstant()
+                        ),
+                        lease.toSeconds(),
+                        batchSize
+                )
+        );
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void deliver(List<Claimed> batch) {
+        Map<MimeMessage, Claimed> messages = new IdentityHashMap<>(batch.size());
+
+        for (Claimed claimed : batch) {
+            try {
+                messages.put(toMimeMessage(claimed), claimed);
+            } catch (MessagingException | UnsupportedEncodingException ex) {
+                // Built from the stored row, so it would fail the same way every time
+                markFailed(claimed, ex, true);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long start = System.nanoTime();
+
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, ex);
+            }
+        } catch (MailAuthenticationException ex) {
+            // Nothing wrong with the messages; they back off like any outage until the credentials are fixed
+            log.error("[MAIL] SMTP authentication failed, {} emails will be retried. Check the mail credentials",
+                    messages.size(), ex);
+            failures = allFailed(messages, ex);
+        } catch (MailException ex) {
+            failures = allFailed(messages, ex);
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        List<Long> delivered = new ArrayList<>(messages.size());
+
+        for (Map.Entry<MimeMessage, Claimed> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+
+            if (failure != null) {
+                markFailed(entry.getValue(), failure, isPermanent(failure));
+            } else {
+                delivered.add(entry.getValue().id());
+                lag.record(Duration.between(entry.getValue().createdAt(), Instant.now()));
+            }
+        }
+
+        markSent(delivered);
+    }
+
+    private MimeMessage toMimeMessage(Claimed claimed) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(claimed.recipient());
+        helper.setSubject(claimed.subject());
+        helper.setText(claimed.html(), true);
+
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, Claimed> messages, Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>(messages.size());
+        messages.keySet().forEach(message -> failures.put(message, ex));
+        return failures;
+    }
+
+    private void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        update mail_queue
+                           set status = 'SENT',
+                               sent_at = now(),
+                               locked_until = null,
+                               last_error = null
+                         where id = any(?)
+                        """, (Object) ids.toArray(Long[]::new))
+        );
+        sent.increment(ids.size());
+    }
+
+    /**
+     * Whether retrying cannot help: the message or address is malformed, or
+     * the server rejected it with a 5xx reply. Authentication failures are not
+     * the message's fault and stay retryable.
+     */
+    static boolean isPermanent(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MailParseException
+                    || cause instanceof MailPreparationException
+                    || cause instanceof AddressException) {
+                return true;
+            }
+            if (cause instanceof SMTPAddressFailedException failed) {
+                return failed.getReturnCode() >= 500;
+            }
+            if (cause instanceof SMTPSendFailedException failed) {
+                return failed.getReturnCode() >= 500;
+            }
+        }
+        return false;
+    }
+
+    private void markFailed(Claimed claimed, Exception ex, boolean permanent) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+
+        if (permanent || claimed.attempts() >= maxAttempts) {
+            parked.increment();
+            log.error("[MAIL] Giving up on email id={} to={} after {} attempts (permanent={})",
+                    claimed.id(), claimed.recipient(), claimed.attempts(), permanent, ex);
+
+            requiresNew.executeWithoutResult(status ->
+                    jdbcTemplate.update("""
+                            update mail_queue
+                               set status = 'FAILED',
+                                   locked_until = null,
+                                   last_error = ?
+                             where id = ?
+                            """, error, claimed.id())
+            );
+            return;
+        }
+
+        long backoffMs = Math.min(
+                maxBackoff.toMillis(),
+                baseBackoff.toMillis() << Math.min(claimed.attempts() - 1, 20)
+        );
+
+        retried.increment();
+        log.warn("[MAIL] Email id={} to={} failed (attempt {}), retrying in {} ms: {}",
+                claimed.id(), claimed.recipient(), claimed.attempts(), backoffMs, error);
+
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        update mail_queue
+                           set status = 'PENDING',
+                               available_at = now() + ? * interval '1 millisecond',
+                               locked_until = null,
+                               last_error = ?
+                         where id = ?
+                        """, backoffMs, error, claimed.id())
+        );
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Claimed(long id, String recipient, String subject, String html, int attempts, Instant createdAt) {}
+}
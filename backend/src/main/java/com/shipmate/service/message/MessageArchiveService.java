@@ -0,0 +1,172 @@
+package com.shipmate.service.message;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.mapper.message.MessageMapper;
+import com.shipmate.model.message.Message;
+import com.shipmate.model.message.MessageArchive;
+import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.repository.message.MessageArchiveRepository;
+import com.shipmate.repository.message.MessageRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves conversations of closed shipments out of the partitioned messages table
+ * into gzip-compressed rows of message_archives, and reads them back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MessageArchiveService {
+
+    private static final List<ShipmentStatus> CLOSED_STATUSES =
+            List.of(ShipmentStatus.DELIVERED, ShipmentStatus.CANCELLED);
+
+    private static final TypeReference<List<MessageResponse>> ARCHIVE_TYPE =
+            new TypeReference<>() {};
+
+    private final MessageRepository messageRepository;
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final MessageMapper messageMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.messages.archive.after-days:30}")
+    private int archiveAfterDays;
+
+    @Value("${app.messages.archive.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.messages.archive.cron:0 30 2 * * ?}")
+    public void archiveClosedConversations() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(archiveAfterDays));
+        int archived = 0;
+        Set<UUID> failed = new HashSet<>();
+
+        List<UUID> batch;
+        int limit;
+        do {
+            // Failed shipments stay archivable, so fetch past them
+            limit = batchSize + failed.size();
+            batch = messageRepository.findArchivableShipmentIds(
+                    CLOSED_STATUSES,
+                    cutoff,
+                    PageRequest.of(0, limit)
+            );
+
+            for (UUID shipmentId : batch) {
+                if (failed.contains(shipmentId)) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> archiveShipment(shipmentId));
+                    archived++;
+                } catch (RuntimeException ex) {
+                    log.error("[MSG-ARCHIVE] Failed to archive shipmentId={}", shipmentId, ex);
+                    failed.add(shipmentId);
+                }
+            }
+        } while (batch.size() == limit);
+
+        log.info("[MSG-ARCHIVE] Archived {} closed conversations older than {} days, {} failed",
+                archived, archiveAfterDays, failed.size());
+    }
+
+    public void archiveShipment(UUID shipmentId) {
+        List<Message> messages = messageRepository.findByShipment_IdOrderBySentAtAsc(shipmentId);
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<MessageResponse> responses = messages.stream()
+                .map(messageMapper::toResponse)
+                .toList();
+
+        MessageResponse last = responses.get(responses.size() - 1);
+
+        messageArchiveRepository.save(
+                MessageArchive.builder()
+                        .shipmentId(shipmentId)
+                        .messageCount(responses.size())
+                        .lastMessageContent(last.messageContent())
+                        .lastSentAt(last.sentAt())
+                        .payload(encode(responses))
+                        .archivedAt(Instant.now())
+                        .build()
+        );
+
+        int deleted = messageRepository.deleteArchived(shipmentId, last.sentAt());
+
+        log.debug("[MSG-ARCHIVE] shipmentId={} archived={} deleted={}",
+                shipmentId, responses.size(), deleted);
+    }
+
+    /**
+     * Archived messages followed by any message written after archiving, paged in memory.
+     */
+    public Page<MessageResponse> readConversation(
+            MessageArchive archive,
+            Pageable pageable
+    ) {
+        List<MessageResponse> all = new ArrayList<>(decode(archive.getPayload()));
+
+        messageRepository.findByShipment_IdOrderBySentAtAsc(archive.getShipmentId())
+                .stream()
+                .map(messageMapper::toResponse)
+                .forEach(all::add);
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all, pageable, all.size());
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    private byte[] encode(List<MessageResponse> messages) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, messages);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to encode message archive", ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private List<MessageResponse> decode(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gzip, ARCHIVE_TYPE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to decode message archive", ex);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.shipmate.service.message;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly messages partitions created ahead of time so inserts never land
+ * in messages_default. Partition DDL lives in the ensure_messages_partition
+ * function (V31 migration).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessagePartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.messages.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${app.messages.partitions.cron:0 0 3 * * ?}")
+    public void ensureUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                jdbcTemplate.queryForList(
+                        "select ensure_messages_partition(?)",
+                        Date.valueOf(month.plusMonths(i))
+                );
+            } catch (RuntimeException ex) {
+                log.error("[MSG-PARTITION] Failed to ensure partition for {}", month.plusMonths(i), ex);
+            }
+        }
+    }
+}
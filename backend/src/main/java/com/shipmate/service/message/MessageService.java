@@ -9,6 +9,7 @@ import com.shipmate.model.message.Message;
 import com.shipmate.model.message.MessageType;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.repository.message.MessageArchiveRepository;
 import com.shipmate.repository.message.MessageRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
 import com.shipmate.repository.user.UserRepository;
@@ -34,7 +35,8 @@ public class MessageService {
     private final MessageMapper messageMapper;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
-    
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final MessageArchiveService messageArchiveService;
 
 
     @Transactional(readOnly = true)
@@ -48,6 +50,13 @@ public class MessageService {
 
         validateAccess(shipment, userId);
 
+        // Closed conversations may have been moved to message_archives
+        var archive = messageArchiveRepository.findById(shipmentId);
+
+        if (archive.isPresent()) {
+            return messageArchiveService.readConversation(archive.get(), pageable);
+        }
+
         return messageRepository
                 .findByShipment_IdOrderBySentAtAsc(shipmentId, pageable)
                 .map(messageMapper::toResponse);
@@ -83,7 +92,7 @@ public class MessageService {
         Message saved = messageRepository.save(message);
 
         eventPublisher.publishEvent(
-                new MessageSentEvent(saved.getId())
+                new MessageSentEvent(saved.getId(), shipment.getId())
         );
 
         return messageMapper.toResponse(saved);
@@ -0,0 +1,363 @@
+package com.shipmate.service.notification;
+
+import com.shipmate.dto.request.notification.BroadcastNotificationRequest;
+import com.shipmate.dto.response.notification.BroadcastProgressResponse;
+import com.shipmate.dto.ws.notification.NotificationWsDto;
+import com.shipmate.dto.ws.notification.UnreadCountWsDto;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.model.user.UserType;
+import com.shipmate.service.admin.AdminActionLogger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin broadcasts to a user segment. Rows are written in chunks with one
+ * multi-row INSERT ... SELECT FROM unnest(...) per chunk (one short transaction each,
+ * instead of one REQUIRES_NEW per user), and WebSocket pushes for each chunk are
+ * fanned out over parallel shards on virtual threads.
+ */
+@Service
+@Slf4j
+public class NotificationBroadcastService implements DisposableBean {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private static final String INSERT_CHUNK_SQL = """
+            insert into notifications
+                (id, user_id, title, message, notification_type, is_read, reference_type, created_at)
+            select n.id, n.user_id, ?, ?, ?::notification_type, false, 'SYSTEM'::reference_type, ?
+            from unnest(?::uuid[], ?::uuid[]) as n(id, user_id)
+            """;
+
+    private static final String UNREAD_COUNTS_SQL = """
+            select user_id, unread_count from notification_unread_counters
+            where user_id = any(?::uuid[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AdminActionLogger adminActionLogger;
+    private final NotificationUnreadCounterService unreadCounterService;
+    private final boolean async;
+    private final int chunkSize;
+    private final int shards;
+    private final long retentionMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, Progress> broadcasts = new ConcurrentHashMap<>();
+
+    public NotificationBroadcastService(
+            JdbcTemplate jdbcTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            AdminActionLogger adminActionLogger,
+            NotificationUnreadCounterService unreadCounterService,
+            @Value("${app.notifications.broadcast.async:true}") boolean async,
+            @Value("${app.notifications.broadcast.chunk-size:5000}") int chunkSize,
+            @Value("${app.notifications.broadcast.push-shards:8}") int shards,
+            @Value("${app.notifications.broadcast.retention-ms:3600000}") long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.adminActionLogger = adminActionLogger;
+        this.unreadCounterService = unreadCounterService;
+        this.async = async;
+        this.chunkSize = chunkSize;
+        this.shards = Math.max(1, shards);
+        this.retentionMs = retentionMs;
+    }
+
+    public BroadcastProgressResponse start(BroadcastNotificationRequest request) {
+
+        Segment segment = Segment.of(request);
+        long total = countRecipients(segment);
+
+        Progress progress = new Progress(UUID.randomUUID(), total);
+        broadcasts.put(progress.id, progress);
+
+        adminActionLogger.notificationBroadcast(
+                progress.id,
+                "Broadcast \"" + request.title() + "\" to " + total + " users " + segment.describe()
+        );
+
+        if (async) {
+            executor.submit(() -> run(progress, request, segment));
+        } else {
+            run(progress, request, segment);
+        }
+
+        return progress.toResponse();
+    }
+
+    public BroadcastProgressResponse getProgress(UUID broadcastId) {
+        Progress progress = broadcasts.get(broadcastId);
+
+        if (progress == null) {
+            throw new IllegalArgumentException("Broadcast not found");
+        }
+
+        return progress.toResponse();
+    }
+
+    // Progress stays queryable for a while after a broadcast ends, then goes
+    @Scheduled(fixedDelayString = "${app.notifications.broadcast.purge-interval-ms:60000}")
+    public void purgeFinished() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+
+        broadcasts.values().removeIf(progress ->
+                progress.finishedAt != null && !progress.finishedAt.isAfter(cutoff));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(Progress progress, BroadcastNotificationRequest request, Segment segment) {
+
+        NotificationType type = request.type() != null ? request.type() : NotificationType.SYSTEM_ALERT;
+        Instant createdAt = Instant.now();
+        UUID lastUserId = MIN_UUID;
+
+        try {
+            while (true) {
+                List<UUID> recipients = nextRecipients(segment, lastUserId);
+
+                if (recipients.isEmpty()) {
+                    break;
+                }
+
+                lastUserId = recipients.get(recipients.size() - 1);
+
+                List<UUID> notificationIds = recipients.stream()
+                        .map(userId -> UUID.randomUUID())
+                        .toList();
+
+                insertChunk(recipients, notificationIds, request, type, createdAt);
+                progress.written.addAndGet(recipients.size());
+
+                pushChunk(recipients, notificationIds, request, type, createdAt, progress);
+
+                if (recipients.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            progress.status = "COMPLETED";
+            log.info("[BROADCAST] Completed broadcastId={} written={} pushed={}",
+                    progress.id, progress.written.get(), progress.pushed.get());
+
+        } catch (Exception ex) {
+            progress.status = "FAILED";
+            progress.error = ex.getMessage();
+            log.error("[BROADCAST] Failed broadcastId={} after written={}",
+                    progress.id, progress.written.get(), ex);
+        } finally {
+            progress.finishedAt = Instant.now();
+        }
+    }
+
+    private long countRecipients(Segment segment) {
+        Long count = jdbcTemplate.queryForObject(
+                "select count(*) " + segment.fromWhere(),
+                Long.class,
+                segment.params().toArray()
+        );
+        return count != null ? count : 0;
+    }
+
+    private List<UUID> nextRecipients(Segment segment, UUID after) {
+        List<Object> params = new ArrayList<>(segment.params());
+        params.add(after);
+        params.add(chunkSize);
+
+        return jdbcTemplate.queryForList(
+                "select u.id " + segment.fromWhere() + " and u.id > ? order by u.id limit ?",
+                UUID.class,
+                params.toArray()
+        );
+    }
+
+    private void insertChunk(
+            List<UUID> recipients,
+            List<UUID> notificationIds,
+            BroadcastNotificationRequest request,
+            NotificationType type,
+            Instant createdAt
+    ) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_CHUNK_SQL);
+            ps.setString(1, request.title());
+            ps.setString(2, request.message());
+            ps.setString(3, type.name());
+            ps.setObject(4, OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC));
+            ps.setArray(5, connection.createArrayOf("uuid", notificationIds.toArray()));
+            ps.setArray(6, connection.createArrayOf("uuid", recipients.toArray()));
+            return ps;
+        });
+    }
+
+    private void pushChunk(
+            List<UUID> recipients,
+            List<UUID> notificationIds,
+            BroadcastNotificationRequest request,
+            NotificationType type,
+            Instant createdAt,
+            Progress progress
+    ) throws Exception {
+
+        Map<UUID, Long> unreadCounts = unreadCounts(recipients);
+
+        int shardSize = Math.max(1, (recipients.size() + shards - 1) / shards);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int from = 0; from < recipients.size(); from += shardSize) {
+            int start = from;
+            int end = Math.min(from + shardSize, recipients.size());
+
+            futures.add(executor.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    UUID userId = recipients.get(i);
+
+                    messagingTemplate.convertAndSend(
+                            "/topic/users/" + userId + "/notifications",
+                            new NotificationWsDto(
+                                    notificationIds.get(i),
+                                    request.title(),
+                                    request.message(),
+                                    type,
+                                    null,
+                                    ReferenceType.SYSTEM,
+                                    createdAt
+                            )
+                    );
+
+                    messagingTemplate.convertAndSend(
+                            "/topic/users/" + userId + "/notifications/unread-count",
+                            new UnreadCountWsDto(unreadCounts.getOrDefault(userId, 0L))
+                    );
+
+                    progress.pushed.incrementAndGet();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private Map<UUID, Long> unreadCounts(List<UUID> recipients) {
+        Map<UUID, Long> counts = new HashMap<>();
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(UNREAD_COUNTS_SQL);
+                    ps.setArray(1, connection.createArrayOf("uuid", recipients.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    counts.put(rs.getObject(1, UUID.class), rs.getLong(2));
+                }
+        );
+
+        counts.forEach(unreadCounterService::cacheAfterCommit);
+
+        return counts;
+    }
+
+    /**
+     * Segment filters as SQL. DRIVER and SENDER targets also match BOTH users.
+     */
+    record Segment(String fromWhere, List<Object> params, String describe) {
+
+        static Segment of(BroadcastNotificationRequest request) {
+            StringBuilder sql = new StringBuilder("from users u");
+            List<Object> params = new ArrayList<>();
+            List<String> description = new ArrayList<>();
+
+            if (request.driverStatus() != null) {
+                sql.append(" join driver_profiles dp on dp.user_id = u.id");
+            }
+
+            sql.append(" where u.is_active = true");
+
+            if (request.role() != null) {
+                sql.append(" and u.role = ?");
+                params.add(request.role().name());
+                description.add("role=" + request.role());
+            }
+
+            if (request.userType() != null) {
+                if (request.userType() == UserType.BOTH) {
+                    sql.append(" and u.user_type = ?");
+                    params.add(UserType.BOTH.name());
+                } else {
+                    sql.append(" and u.user_type in (?, ?)");
+                    params.add(request.userType().name());
+                    params.add(UserType.BOTH.name());
+                }
+                description.add("userType=" + request.userType());
+            }
+
+            if (request.driverStatus() != null) {
+                sql.append(" and dp.status = ?");
+                params.add(request.driverStatus().name());
+                description.add("driverStatus=" + request.driverStatus());
+            }
+
+            return new Segment(sql.toString(), List.copyOf(params), description.toString());
+        }
+    }
+
+    static final class Progress {
+
+        private final UUID id;
+        private final long total;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong pushed = new AtomicLong();
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        Progress(UUID id, long total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        BroadcastProgressResponse toResponse() {
+            return new BroadcastProgressResponse(
+                    id,
+                    status,
+                    total,
+                    written.get(),
+                    pushed.get(),
+                    startedAt,
+                    finishedAt,
+                    error
+            );
+        }
+    }
+}
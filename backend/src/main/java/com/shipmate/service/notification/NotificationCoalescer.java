@@ -0,0 +1,212 @@
+package com.shipmate.service.notification;
+
+import com.shipmate.listener.notification.NotificationRequestedEvent;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sits in front of {@link NotificationDispatcher}.
+ * <ul>
+ *   <li>Coalescing: requests with the same (user, referenceId, type) arriving within
+ *       the window collapse into one row and one push carrying the latest content.</li>
+ *   <li>Digest (optional): low-priority types are buffered per user and flushed as a
+ *       single summary notification every digest interval.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer implements SmartLifecycle {
+
+    static final int DIGEST_MAX_TITLES = 5;
+
+    private final NotificationDispatcher dispatcher;
+    private final Duration window;
+    private final boolean digestEnabled;
+    private final Set<NotificationType> digestTypes;
+    private final Duration digestInterval;
+
+    private final Map<CoalesceKey, NotificationRequestedEvent> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, List<NotificationRequestedEvent>> digests = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+    private final Counter digested;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public NotificationCoalescer(
+            NotificationDispatcher dispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.coalesce.window-ms:2000}") long windowMs,
+            @Value("${app.notifications.digest.enabled:false}") boolean digestEnabled,
+            @Value("${app.notifications.digest.types:BOOKING_UPDATE,NEW_MESSAGE}") Set<NotificationType> digestTypes,
+            @Value("${app.notifications.digest.interval-ms:900000}") long digestIntervalMs) {
+        this.dispatcher = dispatcher;
+        this.window = Duration.ofMillis(windowMs);
+        this.digestEnabled = digestEnabled;
+        this.digestTypes = Set.copyOf(digestTypes);
+        this.digestInterval = Duration.ofMillis(digestIntervalMs);
+
+        this.coalesced = Counter.builder("shipmate.notifications.coalesced")
+                .description("Notification requests merged into a pending one")
+                .register(meterRegistry);
+        this.digested = Counter.builder("shipmate.notifications.digested")
+                .description("Notification requests folded into a digest")
+                .register(meterRegistry);
+    }
+
+    public void submit(NotificationRequestedEvent event) {
+
+        if (!running) {
+            dispatcher.submit(event);
+            return;
+        }
+
+        if (digestEnabled && digestTypes.contains(event.type())) {
+            digests.compute(event.recipientUserId(), (userId, buffered) -> {
+                List<NotificationRequestedEvent> list = buffered != null ? buffered : new ArrayList<>();
+                list.add(event);
+                return list;
+            });
+            digested.increment();
+            return;
+        }
+
+        if (window.isZero() || event.referenceId() == null) {
+            dispatcher.submit(event);
+            return;
+        }
+
+        CoalesceKey key = new CoalesceKey(event.recipientUserId(), event.referenceId(), event.type());
+
+        if (pending.put(key, event) == null) {
+            scheduler.schedule(() -> flush(key), window.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notif-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (digestEnabled) {
+            scheduler.scheduleWithFixedDelay(
+                    this::flushDigests,
+                    digestInterval.toMillis(),
+                    digestInterval.toMillis(),
+                    TimeUnit.MILLISECONDS
+            );
+        }
+
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        scheduler.shutdownNow();
+
+        // Hand everything still buffered to the dispatcher, which drains after us.
+        pending.keySet().forEach(this::flush);
+        flushDigests();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after OutboxRelay (which feeds listeners) and before NotificationDispatcher.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void flush(CoalesceKey key) {
+        NotificationRequestedEvent latest = pending.remove(key);
+
+        if (latest != null) {
+            safeSubmit(latest);
+        }
+    }
+
+    private void flushDigests() {
+        for (UUID userId : digests.keySet()) {
+            List<NotificationRequestedEvent> events = digests.remove(userId);
+
+            if (events != null && !events.isEmpty()) {
+                safeSubmit(summarize(userId, events));
+            }
+        }
+    }
+
+    private NotificationRequestedEvent summarize(UUID userId, List<NotificationRequestedEvent> events) {
+        if (events.size() == 1) {
+            return events.get(0);
+        }
+
+        Set<NotificationType> types = events.stream()
+                .map(NotificationRequestedEvent::type)
+                .collect(Collectors.toSet());
+
+        String titles = events.stream()
+                .map(NotificationRequestedEvent::title)
+                .distinct()
+                .limit(DIGEST_MAX_TITLES)
+                .collect(Collectors.joining(", "));
+
+        return new NotificationRequestedEvent(
+                userId,
+                events.size() + " new updates",
+                titles,
+                types.size() == 1 ? types.iterator().next() : NotificationType.SYSTEM_ALERT,
+                null,
+                ReferenceType.SYSTEM
+        );
+    }
+
+    private void safeSubmit(NotificationRequestedEvent event) {
+        try {
+            dispatcher.submit(event);
+        } catch (RuntimeException ex) {
+            log.error("[NOTIF-COALESCE] Failed to dispatch userId={} type={}",
+                    event.recipientUserId(), event.type(), ex);
+        }
+    }
+
+    private record CoalesceKey(UUID userId, UUID referenceId, NotificationType type) {}
+}
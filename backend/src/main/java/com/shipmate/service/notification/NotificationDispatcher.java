@@ -0,0 +1,212 @@
+package com.shipmate.service.notification;
+
+import com.shipmate.listener.notification.NotificationRequestedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes notification persistence and WebSocket pushes off the caller's thread.
+ * Requests go to a bounded queue drained by virtual-thread workers; when the
+ * queue is full the caller dispatches inline, which throttles the producer
+ * instead of dropping notifications. On shutdown the queue is drained before
+ * the JPA and messaging infrastructure go away.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MS = 250;
+
+    private final NotificationService notificationService;
+    private final boolean asyncEnabled;
+    private final int workerCount;
+    private final Duration drainTimeout;
+    private final BlockingQueue<Task> queue;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final Counter enqueued;
+    private final Counter callerRuns;
+    private final Counter failed;
+    private final Timer dispatchTimer;
+    private final Timer queueWaitTimer;
+
+    private volatile boolean running;
+
+    public NotificationDispatcher(
+            NotificationService notificationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.dispatch.async:true}") boolean asyncEnabled,
+            @Value("${app.notifications.dispatch.workers:4}") int workerCount,
+            @Value("${app.notifications.dispatch.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.notifications.dispatch.drain-timeout-seconds:10}") long drainTimeoutSeconds) {
+        this.notificationService = notificationService;
+        this.asyncEnabled = asyncEnabled;
+        this.workerCount = Math.max(1, workerCount);
+        this.drainTimeout = Duration.ofSeconds(drainTimeoutSeconds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("shipmate.notifications.dispatch.queue.size", queue, BlockingQueue::size)
+                .description("Notification requests waiting for a dispatch worker")
+                .register(meterRegistry);
+        this.enqueued = Counter.builder("shipmate.notifications.dispatch.enqueued")
+                .register(meterRegistry);
+        this.callerRuns = Counter.builder("shipmate.notifications.dispatch.caller.runs")
+                .description("Requests dispatched on the caller thread because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("shipmate.notifications.dispatch.failed")
+                .register(meterRegistry);
+        this.dispatchTimer = Timer.builder("shipmate.notifications.dispatch.duration")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("shipmate.notifications.dispatch.queue.wait")
+                .register(meterRegistry);
+    }
+
+    public void submit(NotificationRequestedEvent event) {
+
+        if (!asyncEnabled || !running) {
+            dispatch(event);
+            return;
+        }
+
+        if (queue.offer(new Task(event, System.nanoTime()))) {
+            enqueued.increment();
+            return;
+        }
+
+        callerRuns.increment();
+        log.warn("[NOTIF-DISPATCH] Queue full, dispatching inline userId={} type={}",
+                event.recipientUserId(), event.type());
+        dispatch(event);
+    }
+
+    @Override
+    public void start() {
+        if (!asyncEnabled || running) {
+            return;
+        }
+
+        running = true;
+
+        ThreadFactory factory = Thread.ofVirtual()
+                .name("notif-dispatch-", 0)
+                .factory();
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = factory.newThread(this::workLoop);
+            workers.add(worker);
+            worker.start();
+        }
+
+        log.info("[NOTIF-DISPATCH] Started {} workers, queue capacity={}",
+                workerCount, queue.remainingCapacity());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+
+        for (Thread worker : workers) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                if (remainingMs > 0) {
+                    worker.join(remainingMs);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+
+        if (!queue.isEmpty()) {
+            log.error("[NOTIF-DISPATCH] Drain timeout reached, {} notifications not dispatched",
+                    queue.size());
+        } else {
+            log.info("[NOTIF-DISPATCH] Drained and stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after NotificationCoalescer, which feeds this queue.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2;
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    private void workLoop() {
+        while (running || !queue.isEmpty()) {
+            Task task;
+            try {
+                task = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (task == null) {
+                continue;
+            }
+
+            queueWaitTimer.record(System.nanoTime() - task.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+
+            try {
+                dispatch(task.event());
+            } catch (RuntimeException ex) {
+                log.error("[NOTIF-DISPATCH] Failed to dispatch notification userId={} type={}",
+                        task.event().recipientUserId(), task.event().type(), ex);
+            }
+        }
+    }
+
+    private void dispatch(NotificationRequestedEvent event) {
+        try {
+            dispatchTimer.record(() ->
+                    notificationService.createAndDispatch(
+                            event.recipientUserId(),
+                            event.title(),
+                            event.message(),
+                            event.type(),
+                            event.referenceId(),
+                            event.referenceType()
+                    )
+            );
+        } catch (RuntimeException ex) {
+            failed.increment();
+            throw ex;
+        }
+    }
+
+    private record Task(NotificationRequestedEvent event, long enqueuedAtNanos) {}
+}
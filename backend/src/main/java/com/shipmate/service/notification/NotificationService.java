@@ -1,5 +1,6 @@
 package com.shipmate.service.notification;
 
+import com.shipmate.config.websocket.WebSocketPublisher;
 import com.shipmate.dto.response.notification.NotificationResponse;
 import com.shipmate.dto.ws.notification.UnreadCountWsDto;
 import com.shipmate.mapper.notification.NotificationMapper;
@@ -15,7 +16,6 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +29,8 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketPublisher webSocketPublisher;
+    private final NotificationUnreadCounterService unreadCounterService;
 
 
     @Transactional(readOnly = true)
@@ -74,14 +75,14 @@ public class NotificationService {
         notificationRepository.saveAndFlush(notification);
 
         long unreadCount =
-                notificationRepository.countByUserAndIsReadFalse(recipient);
+                unreadCounterService.refresh(recipient.getId());
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/users/" + recipient.getId() + "/notifications",
                 NotificationWsMapper.toWsDto(notification)
         );
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/users/" + recipient.getId() + "/notifications/unread-count",
                 new UnreadCountWsDto(unreadCount)
         );
@@ -96,9 +97,9 @@ public class NotificationService {
         notificationRepository.markAllAsRead(user);
 
         long unreadCount =
-                notificationRepository.countByUserAndIsReadFalse(user);
+                unreadCounterService.refresh(user.getId());
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/users/" + user.getId() + "/notifications/unread-count",
                 new UnreadCountWsDto(unreadCount)
         );
@@ -113,9 +114,9 @@ public class NotificationService {
         notificationRepository.markOneAsRead(notificationId, user);
 
         long unreadCount =
-                notificationRepository.countByUserAndIsReadFalse(user);
+                unreadCounterService.refresh(user.getId());
 
-        messagingTemplate.convertAndSend(
+        webSocketPublisher.send(
                 "/topic/users/" + user.getId() + "/notifications/unread-count",
                 new UnreadCountWsDto(unreadCount)
         );
@@ -126,7 +127,7 @@ public class NotificationService {
     @Transactional(readOnly = true)
     public long countUnread(UUID userId) {
         User user = loadUser(userId);
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return unreadCounterService.get(user.getId());
     }
 
     private User loadUser(UUID userId) {
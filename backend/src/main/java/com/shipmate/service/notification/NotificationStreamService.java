@@ -0,0 +1,313 @@
+package com.shipmate.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.dto.ws.notification.UnreadCountWsDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Server-Sent Events fallback for clients that cannot keep a WebSocket open.
+ *
+ * Taps the broker channel, so an SSE client sees exactly the frames a STOMP
+ * subscriber of /topic/users/{id}/... would, including those relayed from
+ * other nodes. Each user with an open (or recently closed) stream keeps a ring
+ * buffer of recent events; a reconnect with Last-Event-ID replays what it
+ * missed, or gets a "resync" event when the gap is no longer buffered. Each
+ * connection is written by its own virtual thread so a slow client never
+ * blocks the broker.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService implements ChannelInterceptor {
+
+    private static final Pattern USER_TOPIC = Pattern.compile(
+            "^/topic/users/([0-9a-fA-F-]{36})/(notifications|notifications/unread-count|conversation-updates)$"
+    );
+
+    private static final Map<String, String> EVENT_NAMES = Map.of(
+            "notifications", "notification",
+            "notifications/unread-count", "unread-count",
+            "conversation-updates", "conversation-update"
+    );
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int queueCapacity;
+    private final long retentionMs;
+    private final long timeoutMs;
+    private final long heartbeatMs;
+
+    // Sequence ids are only meaningful on this node; the epoch tells a resume on another node apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, UserStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final Counter replayed;
+    private final Counter resyncs;
+    private final Counter overflows;
+
+    public NotificationStreamService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.stream.buffer-size:100}") int bufferSize,
+            @Value("${app.notifications.stream.queue-capacity:256}") int queueCapacity,
+            @Value("${app.notifications.stream.retention-ms:300000}") long retentionMs,
+            @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.notifications.stream.heartbeat-ms:15000}") long heartbeatMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.retentionMs = retentionMs;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatMs = heartbeatMs;
+
+        Gauge.builder("shipmate.sse.connections.active", connections, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("shipmate.sse.streams.buffered", streams, Map::size)
+                .description("Users with a resume buffer")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("shipmate.sse.events.replayed")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("shipmate.sse.resyncs")
+                .description("Reconnects whose Last-Event-ID was no longer buffered")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("shipmate.sse.connections.overflowed")
+                .description("Connections closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    // ===== SUBSCRIBE =====
+
+    public SseEmitter subscribe(UUID userId, String lastEventId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream(sequence.get()));
+        long readySeq;
+
+        // Replay and registration happen under the stream lock, so nothing is lost or sent twice
+        synchronized (stream) {
+            Long resumeFrom = parse(lastEventId);
+
+            if (resumeFrom != null && resumeFrom >= stream.floorSeq) {
+                for (StreamEvent event : stream.buffer) {
+                    if (event.seq() > resumeFrom) {
+                        subscriber.queue.offer(event);
+                        replayed.increment();
+                    }
+                }
+            } else if (lastEventId != null && !lastEventId.isBlank()) {
+                resyncs.increment();
+                subscriber.queue.offer(new StreamEvent(0, "resync", "{\"reason\":\"history-unavailable\"}"));
+            }
+
+            readySeq = sequence.get();
+            subscriber.queue.offer(new StreamEvent(readySeq, "ready", json(new UnreadCountWsDto(unreadCount))));
+
+            stream.subscribers.add(subscriber);
+            stream.touch();
+        }
+
+        emitter.onCompletion(() -> close(userId, stream, subscriber));
+        emitter.onTimeout(() -> close(userId, stream, subscriber));
+        emitter.onError(ex -> close(userId, stream, subscriber));
+
+        connections.incrementAndGet();
+        Thread.ofVirtual()
+                .name("sse-" + userId)
+                .start(() -> writeLoop(subscriber));
+
+        log.debug("[SSE] Subscribed userId={} lastEventId={} ready={}", userId, lastEventId, readySeq);
+
+        return emitter;
+    }
+
+    // ===== BROKER TAP =====
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION) != null
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith("/topic/users/")) {
+            return message;
+        }
+
+        Matcher matcher = USER_TOPIC.matcher(destination);
+        if (!matcher.matches()) {
+            return message;
+        }
+
+        // Only users that have (or recently had) a stream are buffered
+        UserStream stream = streams.get(UUID.fromString(matcher.group(1)));
+        if (stream != null) {
+            append(stream, EVENT_NAMES.get(matcher.group(2)), new String(payload, StandardCharsets.UTF_8));
+        }
+
+        return message;
+    }
+
+    private void append(UserStream stream, String name, String data) {
+        synchronized (stream) {
+            StreamEvent event = new StreamEvent(sequence.incrementAndGet(), name, data);
+
+            if (stream.buffer.size() == bufferSize) {
+                stream.floorSeq = stream.buffer.removeFirst().seq();
+            }
+            stream.buffer.addLast(event);
+            stream.touch();
+
+            for (Subscriber subscriber : stream.subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    // The client reconnects with Last-Event-ID and catches up from the buffer
+                    overflows.increment();
+                    subscriber.closed = true;
+                }
+            }
+        }
+    }
+
+    // ===== WRITER =====
+
+    private void writeLoop(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                StreamEvent event = subscriber.queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+
+                if (event == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                    continue;
+                }
+
+                SseEmitter.SseEventBuilder builder = SseEmitter.event();
+                if (event.seq() > 0) {
+                    builder.id(epoch + "-" + event.seq());
+                }
+                subscriber.emitter.send(builder
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+            subscriber.emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away; the emitter callbacks unregister the subscriber
+            log.debug("[SSE] Stream closed: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void close(UUID userId, UserStream stream, Subscriber subscriber) {
+        subscriber.closed = true;
+
+        synchronized (stream) {
+            if (stream.subscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+                stream.touch();
+            }
+        }
+
+        log.debug("[SSE] Unsubscribed userId={}", userId);
+    }
+
+    // ===== HOUSEKEEPING =====
+
+    @Scheduled(fixedDelayString = "${app.notifications.stream.purge-interval-ms:60000}")
+    public void purgeIdleStreams() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+
+        streams.entrySet().removeIf(entry -> {
+            UserStream stream = entry.getValue();
+            synchronized (stream) {
+                return stream.subscribers.isEmpty() && stream.lastActivity < cutoff;
+            }
+        });
+    }
+
+    private Long parse(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize SSE payload", ex);
+        }
+    }
+
+    private record StreamEvent(long seq, String name, String data) {}
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<StreamEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    private static final class UserStream {
+        private final Deque<StreamEvent> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // Events with seq <= floorSeq may have been dropped from the buffer
+        private long floorSeq;
+        private long lastActivity = System.currentTimeMillis();
+
+        private UserStream(long floorSeq) {
+            this.floorSeq = floorSeq;
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+}
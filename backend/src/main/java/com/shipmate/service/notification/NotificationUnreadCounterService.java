@@ -0,0 +1,143 @@
+package com.shipmate.service.notification;
+
+import com.shipmate.repository.notification.NotificationUnreadCounterRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user unread notification counts. The notification_unread_counters table is
+ * kept in sync by triggers (V32 migration); this service adds a short-lived
+ * in-memory cache in front of it and periodically repairs drift.
+ */
+@Service
+@Slf4j
+public class NotificationUnreadCounterService {
+
+    // Counters touched more recently than this are left for the next run,
+    // so a concurrent trigger update is never overwritten with a stale count
+    private static final String RECONCILE_SQL = """
+            with actual as (
+                select user_id, count(*) as unread_count
+                from notifications
+                where is_read = false
+                group by user_id
+            ), drift as (
+                select coalesce(a.user_id, c.user_id) as user_id,
+                       coalesce(a.unread_count, 0) as unread_count
+                from actual a
+                full join notification_unread_counters c on c.user_id = a.user_id
+                where coalesce(a.unread_count, 0) <> coalesce(c.unread_count, 0)
+            )
+            insert into notification_unread_counters as c (user_id, unread_count, updated_at)
+            select user_id, unread_count, now() from drift
+            order by user_id
+            on conflict (user_id) do update
+                set unread_count = excluded.unread_count,
+                    updated_at = now()
+                where c.updated_at < now() - ? * interval '1 second'
+            returning c.user_id
+            """;
+
+    private final NotificationUnreadCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final int reconcileGraceSeconds;
+
+    private final Map<UUID, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public NotificationUnreadCounterService(
+            NotificationUnreadCounterRepository counterRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.notifications.unread.cache-ttl-ms:30000}") long ttlMillis,
+            @Value("${app.notifications.unread.cache-max-entries:100000}") int maxEntries,
+            @Value("${app.notifications.unread.reconcile-grace-seconds:60}") int reconcileGraceSeconds) {
+        this.counterRepository = counterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.reconcileGraceSeconds = reconcileGraceSeconds;
+    }
+
+    /**
+     * Cached unread count, falling back to the counter row.
+     */
+    public long get(UUID userId) {
+        CachedCount cached = cache.get(userId);
+
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.value();
+        }
+
+        return refresh(userId);
+    }
+
+    /**
+     * Reads the counter row in the current transaction (so it includes this
+     * transaction's own writes) and caches it once the transaction commits.
+     */
+    public long refresh(UUID userId) {
+        long value = counterRepository.findUnreadCount(userId).orElse(0L);
+        cacheAfterCommit(userId, value);
+        return value;
+    }
+
+    public void cacheAfterCommit(UUID userId, long value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(userId, value);
+                }
+            });
+        } else {
+            put(userId, value);
+        }
+    }
+
+    public void evict(UUID userId) {
+        cache.remove(userId);
+    }
+
+    @Scheduled(cron = "${app.notifications.unread.reconcile-cron:0 */15 * * * ?}")
+    public void reconcile() {
+        try {
+            List<UUID> repaired = jdbcTemplate.queryForList(RECONCILE_SQL, UUID.class, reconcileGraceSeconds);
+
+            repaired.forEach(cache::remove);
+
+            if (!repaired.isEmpty()) {
+                log.warn("[UNREAD] Repaired {} drifted unread counters", repaired.size());
+            }
+        } catch (RuntimeException ex) {
+            log.error("[UNREAD] Counter reconciliation failed", ex);
+        }
+    }
+
+    private void put(UUID userId, long value) {
+        if (cache.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(c -> c.expiresAt() <= now);
+
+            if (cache.size() >= maxEntries) {
+                return;
+            }
+        }
+
+        cache.put(userId, new CachedCount(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private record CachedCount(long value, long expiresAt) {}
+}
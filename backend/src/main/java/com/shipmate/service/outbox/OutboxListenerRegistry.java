@@ -0,0 +1,104 @@
+package com.shipmate.service.outbox;
+
+import com.shipmate.listener.outbox.OutboxEvent;
+import com.shipmate.listener.outbox.OutboxListener;
+
+import org.springframework.aop.framework.autoproxy.AutoProxyUtils;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the {@link OutboxListener} methods of all beans once the context is up,
+ * so the relay can call them one at a time and track which of them already
+ * handled an event.
+ */
+@Component
+public class OutboxListenerRegistry implements SmartInitializingSingleton {
+
+    /**
+     * One listener method. The id is what outbox_deliveries records.
+     */
+    public record Listener(String id, String beanName, Method method, Class<?> eventType) {}
+
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Map<Class<?>, List<Listener>> byEventType = new ConcurrentHashMap<>();
+
+    public OutboxListenerRegistry(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : beanFactory.getBeanNamesForType(Object.class)) {
+            if (ScopedProxyUtils.isScopedTarget(beanName)) {
+                continue;
+            }
+
+            Class<?> type = AutoProxyUtils.determineTargetClass(beanFactory, beanName);
+            if (type == null) {
+                continue;
+            }
+
+            Map<Method, Boolean> annotated = MethodIntrospector.selectMethods(type,
+                    (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                            AnnotatedElementUtils.hasAnnotation(method, OutboxListener.class) ? Boolean.TRUE : null);
+
+            annotated.keySet().forEach(method -> listeners.add(toListener(beanName, method)));
+        }
+
+        listeners.sort(Comparator.comparing(Listener::id));
+    }
+
+    public List<Listener> listenersFor(Class<? extends OutboxEvent> eventType) {
+        return byEventType.computeIfAbsent(eventType, type -> listeners.stream()
+                .filter(listener -> listener.eventType().isAssignableFrom(type))
+                .toList());
+    }
+
+    /**
+     * Calls the listener on its bean (through any proxy, so @Transactional applies),
+     * rethrowing whatever the listener threw.
+     */
+    public void invoke(Listener listener, OutboxEvent event) throws Exception {
+        Object bean = beanFactory.getBean(listener.beanName());
+        Method method = AopUtils.selectInvocableMethod(listener.method(), bean.getClass());
+        ReflectionUtils.makeAccessible(method);
+
+        try {
+            method.invoke(bean, event);
+        } catch (InvocationTargetException ex) {
+            if (ex.getTargetException() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) ex.getTargetException();
+        }
+    }
+
+    private static Listener toListener(String beanName, Method method) {
+        Class<?>[] parameters = method.getParameterTypes();
+
+        if (parameters.length != 1 || !OutboxEvent.class.isAssignableFrom(parameters[0])) {
+            throw new IllegalStateException(
+                    "@OutboxListener method must take a single OutboxEvent: " + method);
+        }
+
+        return new Listener(ClassUtils.getQualifiedMethodName(method), beanName, method, parameters[0]);
+    }
+}
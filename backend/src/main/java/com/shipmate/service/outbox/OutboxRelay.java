@@ -0,0 +1,464 @@
+package com.shipmate.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.listener.outbox.OutboxEvent;
+import com.shipmate.service.outbox.OutboxListenerRegistry.Listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers committed outbox events to {@link com.shipmate.listener.outbox.OutboxListener}s.
+ *
+ * Batches are claimed with FOR UPDATE SKIP LOCKED, so several nodes can relay
+ * concurrently. Only the oldest open event of each aggregate is claimable, which
+ * keeps per-aggregate order while different aggregates run in parallel on the
+ * worker pool. Each listener that handles an event is recorded in
+ * outbox_deliveries; when another listener fails, the retry, with exponential
+ * backoff, only calls the listeners without a delivery row. Events are parked
+ * as FAILED after the maximum number of attempts.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final String CLAIM_SQL = """
+            update outbox_events o
+               set status = 'PROCESSING',
+                   attempts = o.attempts + 1,
+                   locked_until = now() + ? * interval '1 second'
+             where o.id in (
+                   select c.id
+                     from outbox_events c
+                    where ((c.status = 'PENDING' and c.available_at <= now())
+                        or (c.status = 'PROCESSING' and c.locked_until < now()))
+                      and not exists (
+                          select 1
+                            from outbox_events p
+                           where p.aggregate_id = c.aggregate_id
+                             and p.id < c.id
+                             and p.status in ('PENDING', 'PROCESSING')
+                      )
+                    order by c.id
+                    limit ?
+                    for update skip locked
+             )
+            returning o.id, o.event_type, o.payload::text, o.attempts, o.created_at
+            """;
+
+    private static final ThreadLocal<Boolean> DRAINING = ThreadLocal.withInitial(() -> false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxListenerRegistry listenerRegistry;
+    private final TransactionTemplate requiresNew;
+
+    private final boolean asyncEnabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final int retentionDays;
+
+    private final Map<String, Class<? extends OutboxEvent>> eventTypes = new ConcurrentHashMap<>();
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter parked;
+    private final Timer lag;
+
+    private ExecutorService workers;
+    private Thread poller;
+    private volatile boolean running;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            OutboxListenerRegistry listenerRegistry,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.relay.async:true}") boolean asyncEnabled,
+            @Value("${app.outbox.relay.workers:8}") int workerCount,
+            @Value("${app.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${app.outbox.relay.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${app.outbox.relay.lease-seconds:60}") long leaseSeconds,
+            @Value("${app.outbox.relay.backoff.base-ms:1000}") long baseBackoffMs,
+            @Value("${app.outbox.relay.backoff.max-ms:300000}") long maxBackoffMs,
+            @Value("${app.outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerRegistry = listenerRegistry;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.asyncEnabled = asyncEnabled;
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = batchSize;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+
+        this.dispatched = Counter.builder("shipmate.outbox.dispatched")
+                .register(meterRegistry);
+        this.retried = Counter.builder("shipmate.outbox.retried")
+                .description("Outbox events scheduled for another attempt after a listener failure")
+                .register(meterRegistry);
+        this.parked = Counter.builder("shipmate.outbox.failed")
+                .description("Outbox events parked as FAILED after the maximum number of attempts")
+                .register(meterRegistry);
+        this.lag = Timer.builder("shipmate.outbox.lag")
+                .description("Time from recording to successful dispatch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called after a transaction that recorded outbox events commits. In async mode
+     * this only wakes the poller; otherwise (tests) events are dispatched inline.
+     */
+    public void onEventsCommitted() {
+        if (asyncEnabled && running) {
+            wakeUp.release();
+        } else {
+            drain();
+        }
+    }
+
+    /**
+     * Dispatches everything claimable on the calling thread. Re-entrant calls from
+     * listeners are no-ops; the outer loop picks their events up.
+     */
+    public void drain() {
+        if (DRAINING.get()) {
+            return;
+        }
+
+        DRAINING.set(true);
+        try {
+            List<Claimed> batch;
+            while (!(batch = claim()).isEmpty()) {
+                batch.forEach(this::dispatch);
+            }
+        } finally {
+            DRAINING.remove();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!asyncEnabled || running) {
+            return;
+        }
+
+        running = true;
+        workers = Executors.newFixedThreadPool(
+                workerCount,
+                Thread.ofVirtual().name("outbox-worker-", 0).factory()
+        );
+        poller = Thread.ofVirtual()
+                .name("outbox-relay")
+                .start(this::pollLoop);
+
+        log.info("[OUTBOX] Relay started workers={} batchSize={}", workerCount, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        wakeUp.release();
+
+        try {
+            poller.join(lease.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything still claimed is re-delivered once its lease expires
+        workers.shutdownNow();
+        log.info("[OUTBOX] Relay stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop before NotificationCoalescer and NotificationDispatcher, which listeners feed.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * ?}")
+    public void purgeDispatched() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = jdbcTemplate.update("""
+                    delete from outbox_events
+                    where id in (
+                        select id from outbox_events
+                        where status = 'DONE' and processed_at < ?
+                        limit 5000
+                    )
+                    """, cutoff);
+            total += deleted;
+        } while (deleted > 0);
+
+        if (total > 0) {
+            log.info("[OUTBOX] Purged {} dispatched events older than {} days", total, retentionDays);
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                List<Claimed> batch = claim();
+
+                if (batch.isEmpty()) {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                    continue;
+                }
+
+                // One event per aggregate per batch, so the whole batch can run in parallel
+                List<Future<?>> futures = new ArrayList<>(batch.size());
+                for (Claimed claimed : batch) {
+                    futures.add(workers.submit(() -> dispatch(claimed)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | RuntimeException ex) {
+                log.error("[OUTBOX] Relay poll failed", ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private List<Claimed> claim() {
+        List<Claimed> claimed = requiresNew.execute(status ->
+                jdbcTemplate.query(
+                        CLAIM_SQL,
+                        (rs, rowNum) -> new Claimed(
+                                rs.getLong(1),
+                                rs.getString(2),
+                                rs.getString(3),
+                                rs.getInt(4),
+                                rs.getTimestamp(5).toInstant()
+                        ),
+                        lease.toSeconds(),
+                        batchSize
+                )
+        );
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void dispatch(Claimed claimed) {
+        try {
+            OutboxEvent event = objectMapper.readValue(claimed.payload(), resolve(claimed.eventType()));
+            Set<String> delivered = claimed.attempts() > 1 ? deliveredListeners(claimed) : Set.of();
+
+            // Every pending listener gets its turn, even after a sibling failed
+            Exception failure = null;
+            for (Listener listener : listenerRegistry.listenersFor(event.getClass())) {
+                if (delivered.contains(listener.id())) {
+                    continue;
+                }
+                try {
+                    invoke(listener, event);
+                    recordDelivery(claimed, listener);
+                } catch (Exception ex) {
+                    if (failure == null) {
+                        failure = ex;
+                    } else {
+                        failure.addSuppressed(ex);
+                    }
+                }
+            }
+
+            if (failure != null) {
+                markFailed(claimed, failure);
+                return;
+            }
+
+            markDone(claimed);
+            dispatched.increment();
+            lag.record(Duration.between(claimed.createdAt(), Instant.now()));
+
+        } catch (Exception ex) {
+            markFailed(claimed, ex);
+        }
+    }
+
+    // Workers run outside any request and open-in-view is off, so without its own
+    // transaction a listener has no session to load lazy associations in
+    private void invoke(Listener listener, OutboxEvent event) throws Exception {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                try {
+                    listenerRegistry.invoke(listener, event);
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new CheckedListenerException(ex);
+                }
+            });
+        } catch (CheckedListenerException ex) {
+            throw (Exception) ex.getCause();
+        }
+    }
+
+    private Set<String> deliveredListeners(Claimed claimed) {
+        List<String> listeners = requiresNew.execute(status ->
+                jdbcTemplate.queryForList(
+                        "select listener from outbox_deliveries where event_id = ?",
+                        String.class, claimed.id()
+                )
+        );
+        return listeners != null ? new HashSet<>(listeners) : Set.of();
+    }
+
+    private void recordDelivery(Claimed claimed, Listener listener) {
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        insert into outbox_deliveries (event_id, listener)
+                        values (?, ?)
+                        on conflict do nothing
+                        """, claimed.id(), listener.id())
+        );
+    }
+
+    private void markDone(Claimed claimed) {
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        update outbox_events
+                           set status = 'DONE',
+                               processed_at = now(),
+                               locked_until = null,
+                               last_error = null
+                         where id = ?
+                        """, claimed.id())
+        );
+    }
+
+    private void markFailed(Claimed claimed, Exception ex) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+
+        if (claimed.attempts() >= maxAttempts) {
+            parked.increment();
+            log.error("[OUTBOX] Giving up on event id={} type={} after {} attempts",
+                    claimed.id(), claimed.eventType(), claimed.attempts(), ex);
+
+            requiresNew.executeWithoutResult(status ->
+                    jdbcTemplate.update("""
+                            update outbox_events
+                               set status = 'FAILED',
+                                   locked_until = null,
+                                   last_error = ?
+                             where id = ?
+                            """, error, claimed.id())
+            );
+            return;
+        }
+
+        long backoffMs = Math.min(
+                maxBackoff.toMillis(),
+                baseBackoff.toMillis() << Math.min(claimed.attempts() - 1, 20)
+        );
+
+        retried.increment();
+        log.warn("[OUTBOX] Event id={} type={} failed (attempt {}), retrying in {} ms",
+                claimed.id(), claimed.eventType(), claimed.attempts(), backoffMs, ex);
+
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.update("""
+                        update outbox_events
+                           set status = 'PENDING',
+                               available_at = now() + ? * interval '1 millisecond',
+                               locked_until = null,
+                               last_error = ?
+                         where id = ?
+                        """, backoffMs, error, claimed.id())
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends OutboxEvent> resolve(String eventType) {
+        return eventTypes.computeIfAbsent(eventType, name -> {
+            try {
+                Class<?> type = Class.forName(name);
+
+                if (!OutboxEvent.class.isAssignableFrom(type)) {
+                    throw new IllegalStateException("Not an outbox event type: " + name);
+                }
+
+                return (Class<? extends OutboxEvent>) type;
+            } catch (ClassNotFoundException ex) {
+                throw new IllegalStateException("Unknown outbox event type: " + name, ex);
+            }
+        });
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Claimed(long id, String eventType, String payload, int attempts, Instant createdAt) {}
+
+    private static final class CheckedListenerException extends RuntimeException {
+
+        CheckedListenerException(Exception cause) {
+            super(cause);
+        }
+    }
+}
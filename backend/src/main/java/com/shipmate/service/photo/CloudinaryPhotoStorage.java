@@ -0,0 +1,50 @@
+package com.shipmate.service.photo;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.photos.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryPhotoStorage implements PhotoStorage {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    public StoredPhoto store(Path file, String contentType, String folder) throws IOException {
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(
+            file.toFile(),
+            ObjectUtils.asMap(
+                "folder", folder,
+                "resource_type", "image"
+            )
+        );
+
+        return new StoredPhoto((String) uploadResult.get("secure_url"), (String) uploadResult.get("public_id"));
+    }
+
+    @Override
+    public InputStream open(String publicId, String url) throws IOException {
+        URLConnection connection = URI.create(url).toURL().openConnection();
+        connection.setConnectTimeout(10_000);
+        connection.setReadTimeout(30_000);
+        return connection.getInputStream();
+    }
+
+    @Override
+    public void delete(String publicId) throws IOException {
+        cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    }
+}
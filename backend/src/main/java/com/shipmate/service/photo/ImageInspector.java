@@ -0,0 +1,140 @@
+package com.shipmate.service.photo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Identifies an upload by its magic bytes, ignoring the client's Content-Type,
+ * and reads its dimensions from the header alone, so oversized images are
+ * rejected before a single pixel is decoded.
+ */
+@Component
+public class ImageInspector {
+
+    public enum ImageFormat {
+        JPEG("image/jpeg"),
+        PNG("image/png"),
+        WEBP("image/webp");
+
+        private final String contentType;
+
+        ImageFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+    }
+
+    public record ImageInfo(ImageFormat format, int width, int height) {}
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    // Enough for the RIFF header plus the first chunk's size fields
+    private static final int HEADER_BYTES = 32;
+
+    private final long maxPixels;
+
+    public ImageInspector(@Value("${app.photos.max-pixels:50000000}") long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the content is not a JPEG, PNG or WEBP
+     *         image, its header is unreadable, or it exceeds the pixel limit
+     */
+    public ImageInfo inspect(InputStream source) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(source);
+        in.mark(HEADER_BYTES);
+        byte[] header = in.readNBytes(HEADER_BYTES);
+        in.reset();
+
+        ImageInfo info;
+        if (startsWith(header, JPEG_MAGIC)) {
+            info = readWithImageIO(in, ImageFormat.JPEG);
+        } else if (startsWith(header, PNG_MAGIC)) {
+            info = readWithImageIO(in, ImageFormat.PNG);
+        } else if (isWebp(header)) {
+            info = readWebpHeader(header);
+        } else {
+            throw new IllegalArgumentException("Invalid image type. Allowed: JPEG, PNG, WEBP");
+        }
+
+        if (info.width() <= 0 || info.height() <= 0) {
+            throw new IllegalArgumentException("Image could not be read");
+        }
+        if ((long) info.width() * info.height() > maxPixels) {
+            throw new IllegalArgumentException("Image dimensions exceed maximum limit");
+        }
+        return info;
+    }
+
+    private static ImageInfo readWithImageIO(InputStream in, ImageFormat format) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Image could not be read");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                return new ImageInfo(format, reader.getWidth(0), reader.getHeight(0));
+            } catch (IIOException ex) {
+                throw new IllegalArgumentException("Image could not be read", ex);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static boolean isWebp(byte[] header) {
+        return header.length >= 16
+                && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P';
+    }
+
+    // ImageIO has no WebP reader; the canvas size sits at a fixed offset in each chunk kind
+    private static ImageInfo readWebpHeader(byte[] h) {
+        String chunk = new String(h, 12, 4, StandardCharsets.US_ASCII);
+
+        if (chunk.equals("VP8X") && h.length >= 30) {
+            int width = 1 + (u8(h, 24) | u8(h, 25) << 8 | u8(h, 26) << 16);
+            int height = 1 + (u8(h, 27) | u8(h, 28) << 8 | u8(h, 29) << 16);
+            return new ImageInfo(ImageFormat.WEBP, width, height);
+        }
+        if (chunk.equals("VP8 ") && h.length >= 30
+                && u8(h, 23) == 0x9D && u8(h, 24) == 0x01 && u8(h, 25) == 0x2A) {
+            int width = (u8(h, 26) | u8(h, 27) << 8) & 0x3FFF;
+            int height = (u8(h, 28) | u8(h, 29) << 8) & 0x3FFF;
+            return new ImageInfo(ImageFormat.WEBP, width, height);
+        }
+        if (chunk.equals("VP8L") && h.length >= 25 && u8(h, 20) == 0x2F) {
+            int bits = u8(h, 21) | u8(h, 22) << 8 | u8(h, 23) << 16 | u8(h, 24) << 24;
+            int width = 1 + (bits & 0x3FFF);
+            int height = 1 + ((bits >>> 14) & 0x3FFF);
+            return new ImageInfo(ImageFormat.WEBP, width, height);
+        }
+        throw new IllegalArgumentException("Image could not be read");
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int u8(byte[] data, int index) {
+        return data[index] & 0xFF;
+    }
+}
@@ -0,0 +1,156 @@
+package com.shipmate.service.photo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps photos on local disk under their SHA-256, so identical uploads share
+ * one file. Files are laid out as {@code <root>/ab/cd/<sha256>.<ext>} and
+ * served by {@code PhotoContentController}; the folder requested by the
+ * caller is not part of the path.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.photos.storage", havingValue = "local")
+public class LocalPhotoStorage implements PhotoStorage {
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/jpeg", "jpg",
+        "image/png", "png",
+        "image/webp", "webp"
+    );
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "jpg", "image/jpeg",
+        "png", "image/png",
+        "webp", "image/webp"
+    );
+
+    private static final Pattern PUBLIC_ID = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|webp)");
+
+    private final Path root;
+    private final String publicUrl;
+
+    public LocalPhotoStorage(
+            @Value("${app.photos.storage.local.root:./data/photos}") String root,
+            @Value("${app.photos.storage.local.public-url:/api/photos}") String publicUrl) throws IOException {
+        this.root = Files.createDirectories(Path.of(root)).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    @Override
+    public StoredPhoto store(Path file, String contentType, String folder) throws IOException {
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Invalid image type. Allowed: JPEG, PNG, WEBP");
+        }
+
+        String publicId = sha256(file) + "." + extension;
+        Path target = pathOf(publicId);
+
+        // Same content is already stored; nothing to write
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path staging = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(file, staging, StandardCopyOption.REPLACE_EXISTING);
+                moveIntoPlace(staging, target);
+            } finally {
+                Files.deleteIfExists(staging);
+            }
+        }
+
+        return new StoredPhoto(publicUrl + "/" + publicId, publicId);
+    }
+
+    @Override
+    public InputStream open(String publicId, String url) throws IOException {
+        Path path = resolve(publicId)
+                .orElseThrow(() -> new FileNotFoundException("No local photo " + publicId));
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void delete(String publicId) throws IOException {
+        if (!isValidPublicId(publicId)) {
+            log.warn("Ignoring delete of unknown local photo {}", publicId);
+            return;
+        }
+        Files.deleteIfExists(pathOf(publicId));
+    }
+
+    @Override
+    public boolean exists(String publicId) {
+        return resolve(publicId).isPresent();
+    }
+
+    @Override
+    public boolean deduplicates() {
+        return true;
+    }
+
+    /**
+     * The file behind {@code publicId}, if it is a well-formed id that exists
+     */
+    public Optional<Path> resolve(String publicId) {
+        if (!isValidPublicId(publicId)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(publicId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public String contentTypeOf(String publicId) {
+        return CONTENT_TYPES.get(publicId.substring(publicId.lastIndexOf('.') + 1));
+    }
+
+    private boolean isValidPublicId(String publicId) {
+        return publicId != null && PUBLIC_ID.matcher(publicId).matches();
+    }
+
+    private Path pathOf(String publicId) {
+        return root.resolve(publicId.substring(0, 2))
+                .resolve(publicId.substring(2, 4))
+                .resolve(publicId);
+    }
+
+    private void moveIntoPlace(Path staging, Path target) throws IOException {
+        try {
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
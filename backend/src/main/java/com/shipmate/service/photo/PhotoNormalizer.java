@@ -0,0 +1,355 @@
+package com.shipmate.service.photo;
+
+import com.shipmate.service.photo.ImageInspector.ImageFormat;
+import com.shipmate.service.photo.ImageInspector.ImageInfo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Prepares an upload for storage: JPEG and PNG are re-encoded from pixels
+ * alone, which drops EXIF (GPS, device data) after its orientation has been
+ * applied, and are downscaled to {@code max-edge} on the way. ImageIO cannot
+ * decode WebP, so WebP keeps its pixels and only loses its EXIF and XMP
+ * chunks, as do the CMYK and YCCK JPEGs that ImageIO fails to decode.
+ * Decoding is capped at {@code concurrency} images at a time, since each
+ * holds a full bitmap on the heap.
+ */
+@Component
+public class PhotoNormalizer {
+
+    /**
+     * The image to store; a temp file the caller deletes
+     */
+    public record NormalizedImage(Path file, String contentType) {}
+
+    private final ImageInspector inspector;
+    private final int maxEdge;
+    private final float jpegQuality;
+    private final Semaphore permits;
+
+    public PhotoNormalizer(
+            ImageInspector inspector,
+            @Value("${app.photos.normalize.max-edge:2048}") int maxEdge,
+            @Value("${app.photos.normalize.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${app.photos.normalize.concurrency:2}") int concurrency) {
+        this.inspector = inspector;
+        this.maxEdge = maxEdge;
+        this.jpegQuality = jpegQuality;
+        this.permits = new Semaphore(Math.max(1, concurrency));
+    }
+
+    public NormalizedImage normalize(Path source) throws IOException {
+        ImageInfo info;
+        try (InputStream in = Files.newInputStream(source)) {
+            info = inspector.inspect(in);
+        }
+
+        if (info.format() == ImageFormat.WEBP) {
+            return new NormalizedImage(stripWebpMetadata(source), info.format().contentType());
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to normalize image");
+        }
+        try {
+            BufferedImage decoded;
+            try {
+                decoded = decode(source, info);
+            } catch (IIOException ex) {
+                if (info.format() != ImageFormat.JPEG || jpegComponents(source) != 4) {
+                    throw ex;
+                }
+                // Stored at full size, and shown unrotated if it carried an orientation tag
+                return new NormalizedImage(stripJpegMetadata(source), info.format().contentType());
+            }
+            int orientation = info.format() == ImageFormat.JPEG ? exifOrientation(source) : 1;
+            BufferedImage image = Images.scale(orient(decoded, orientation), maxEdge);
+            String format = info.format() == ImageFormat.PNG ? "png" : "jpeg";
+            return new NormalizedImage(Images.write(image, format, jpegQuality, "shipmate-normalized-"),
+                    info.format().contentType());
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Subsampled so the decoded bitmap is never much larger than what is kept
+    private BufferedImage decode(Path source, ImageInfo info) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Image could not be read");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(info.width(), info.height()) / maxEdge);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Applies an EXIF orientation (1-8) to the pixels, so the image displays
+     * the same once the tag is gone
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return source;
+        }
+
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h,
+                Images.hasAlpha(source) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * The orientation tag of a JPEG's EXIF block, 1 (upright) if there is none
+     */
+    static int exifOrientation(Path jpeg) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(jpeg)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // EXIF sits in the header segments, before the scan starts
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker != 0xFFE1) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                int orientation = orientationFromExif(in.readNBytes(length));
+                if (orientation > 0) {
+                    return orientation;
+                }
+            }
+        } catch (EOFException ex) {
+            return 1;
+        }
+    }
+
+    private static int orientationFromExif(byte[] segment) {
+        if (segment.length < 14
+                || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f'
+                || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The number of colour components in a JPEG's frame header: 1 for
+     * greyscale, 3 for YCbCr, 4 for CMYK and YCCK
+     */
+    static int jpegComponents(Path jpeg) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(jpeg)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 0;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 0;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 0;
+                }
+                // SOF0-SOF15, less DHT, JPG and DAC which share the range
+                if (marker >= 0xFFC0 && marker <= 0xFFCF
+                        && marker != 0xFFC4 && marker != 0xFFC8 && marker != 0xFFCC) {
+                    in.skipNBytes(5);
+                    return in.readUnsignedByte();
+                }
+                in.skipNBytes(length);
+            }
+        } catch (EOFException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Copies a JPEG without its APP1 (EXIF, XMP) and APP13 (IPTC) segments.
+     * The ICC profile and Adobe segments stay, since CMYK colours depend on
+     * them, and the scan data is copied as is.
+     */
+    private static Path stripJpegMetadata(Path source) throws IOException {
+        Path target = Files.createTempFile("shipmate-normalized-", ".jpg");
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeShort(in.readUnsignedShort());
+
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00) {
+                    throw new IllegalArgumentException("Image could not be read");
+                }
+                if (marker == 0xFFDA) {
+                    out.writeShort(marker);
+                    in.transferTo(out);
+                    break;
+                }
+
+                int length = in.readUnsignedShort();
+                if (length < 2) {
+                    throw new IllegalArgumentException("Image could not be read");
+                }
+                if (marker == 0xFFE1 || marker == 0xFFED) {
+                    in.skipNBytes(length - 2);
+                    continue;
+                }
+                out.writeShort(marker);
+                out.writeShort(length);
+                copy(in, out, length - 2);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(target);
+            throw ex;
+        }
+
+        return target;
+    }
+
+    /**
+     * Copies the RIFF container without its EXIF and XMP chunks and clears
+     * the matching VP8X flags. Image data is copied as is.
+     */
+    private static Path stripWebpMetadata(Path source) throws IOException {
+        Path target = Files.createTempFile("shipmate-normalized-", ".webp");
+
+        try {
+            long riffSize = 4;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)));
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                out.write(in.readNBytes(12));
+
+                byte[] chunkHeader = new byte[8];
+                while (in.readNBytes(chunkHeader, 0, 8) == 8) {
+                    String fourCc = new String(chunkHeader, 0, 4, StandardCharsets.US_ASCII);
+                    long size = ByteBuffer.wrap(chunkHeader, 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+                    long padded = size + (size & 1);
+
+                    if (fourCc.equals("EXIF") || fourCc.equals("XMP ")) {
+                        in.skipNBytes(padded);
+                        continue;
+                    }
+
+                    out.write(chunkHeader);
+                    if (fourCc.equals("VP8X") && padded > 0) {
+                        byte[] payload = in.readNBytes((int) padded);
+                        payload[0] &= (byte) ~(0x08 | 0x04);
+                        out.write(payload);
+                    } else {
+                        copy(in, out, padded);
+                    }
+                    riffSize += 8 + padded;
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) riffSize);
+                channel.write(size.flip(), 4);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(target);
+            throw ex;
+        }
+
+        return target;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new EOFException("Truncated WebP chunk");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.shipmate.service.photo;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import com.shipmate.model.DriverProfile.DriverProfile;
 import com.shipmate.model.insuranceClaim.InsuranceClaim;
 import com.shipmate.model.message.Message;
@@ -9,19 +7,43 @@ import com.shipmate.model.photo.Photo;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.photo.PhotoRepository;
+import com.shipmate.service.photo.PhotoNormalizer.NormalizedImage;
+import com.shipmate.service.photo.SharedPhotoFiles.Source;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOException;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Uploads run outside any transaction, concurrently on {@link PhotoUploadExecutor};
+ * the photo rows are inserted afterwards in one short transaction. If an
+ * upload or the insert fails, the files already uploaded are deleted again.
+ * On deduplicating storage the insert and every delete go through
+ * {@link SharedPhotoFiles}, so a file another request is deleting is never
+ * left behind a new row.
+ * Callers should not hold a transaction of their own across these methods,
+ * or its connection stays checked out for the whole upload.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -29,57 +51,47 @@ import java.util.UUID;
 public class PhotoService {
 
     private final PhotoRepository photoRepository;
-    private final Cloudinary cloudinary;
+    private final PhotoStorage photoStorage;
+    private final PhotoUploadExecutor uploadExecutor;
+    private final PhotoVariantService variantService;
+    private final ImageInspector imageInspector;
+    private final PhotoNormalizer photoNormalizer;
+    private final SharedPhotoFiles sharedPhotoFiles;
 
     @Value("${app.file.max-size:10485760}")
     private long maxFileSize;
 
-    private static final List<String> ALLOWED_IMAGE_TYPES = List.of(
-        "image/jpeg",
-        "image/png",
-        "image/webp"
-    );
-
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Photo uploadAvatar(User user, MultipartFile file) {
-        validateImage(file);
-        
         String folder = "shipmate/users/" + user.getId() + "/avatar";
-        Map<?, ?> uploadResult = uploadToCloudinary(file, folder);
 
-        Photo photo = Photo.builder()
-                .url((String) uploadResult.get("secure_url"))
-                .publicId((String) uploadResult.get("public_id"))
+        return uploadAndRecord(folder, List.of(file), stored -> Photo.builder()
+                .url(stored.url())
+                .publicId(stored.publicId())
                 .photoType("AVATAR")
                 .user(user)
-                .build();
-
-        return photoRepository.save(photo);
+                .build()
+        ).get(0);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Photo> uploadShipmentPhotos(Shipment shipment, List<MultipartFile> files) {
-        List<Photo> uploadedPhotos = new ArrayList<>();
         String folder = "shipmate/shipments/" + shipment.getId();
 
-        for (MultipartFile file : files) {
-            validateImage(file);
-            Map<?, ?> uploadResult = uploadToCloudinary(file, folder);
-
-            Photo photo = Photo.builder()
-                    .url((String) uploadResult.get("secure_url"))
-                    .publicId((String) uploadResult.get("public_id"))
-                    .photoType("SHIPMENT_PACKAGE")
-                    .shipment(shipment)
-                    .build();
-
-            uploadedPhotos.add(photoRepository.save(photo));
-        }
-        return uploadedPhotos;
+        return uploadAndRecord(folder, files, stored -> Photo.builder()
+                .url(stored.url())
+                .publicId(stored.publicId())
+                .photoType("SHIPMENT_PACKAGE")
+                .shipment(shipment)
+                .build());
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Photo> uploadDriverLicensePhotos(DriverProfile driverProfile, List<MultipartFile> files) {
         return uploadDriverLicensePhotos(driverProfile, files, "DRIVER_LICENSE");
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Photo> uploadPendingDriverLicensePhotos(DriverProfile driverProfile, List<MultipartFile> files) {
         return uploadDriverLicensePhotos(driverProfile, files, "PENDING_DRIVER_LICENSE");
     }
@@ -92,45 +104,31 @@ public class PhotoService {
         return photoRepository.findByDriverProfile_IdAndPhotoType(driverProfileId, "PENDING_DRIVER_LICENSE");
     }
 
+    // Re-uploading an identical license yields the same publicId on deduplicating storage;
+    // the existing row is reused rather than a second one inserted
     private List<Photo> uploadDriverLicensePhotos(DriverProfile driverProfile, List<MultipartFile> files, String photoType) {
-        List<Photo> uploadedPhotos = new ArrayList<>();
         String folder = "shipmate/drivers/" + driverProfile.getId() + "/license";
 
-        for (MultipartFile file : files) {
-            validateImage(file);
-            Map<?, ?> uploadResult = uploadToCloudinary(file, folder);
-
-            Photo photo = Photo.builder()
-                    .url((String) uploadResult.get("secure_url"))
-                    .publicId((String) uploadResult.get("public_id"))
-                    .photoType(photoType)
-                    .user(driverProfile.getUser())
-                    .driverProfile(driverProfile)
-                    .build();
-
-            uploadedPhotos.add(photoRepository.save(photo));
-        }
-        return uploadedPhotos;
+        return uploadAndRecord(folder, files, stored -> Photo.builder()
+                        .url(stored.url())
+                        .publicId(stored.publicId())
+                        .photoType(photoType)
+                        .user(driverProfile.getUser())
+                        .driverProfile(driverProfile)
+                        .build(),
+                () -> photoRepository.findByDriverProfile_IdAndPhotoType(driverProfile.getId(), photoType));
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Photo> uploadInsuranceClaimPhotos(InsuranceClaim claim, List<MultipartFile> files) {
-        List<Photo> uploadedPhotos = new ArrayList<>();
         String folder = "shipmate/claims/" + claim.getId();
 
-        for (MultipartFile file : files) {
-            validateImage(file);
-            Map<?, ?> uploadResult = uploadToCloudinary(file, folder);
-
-            Photo photo = Photo.builder()
-                    .url((String) uploadResult.get("secure_url"))
-                    .publicId((String) uploadResult.get("public_id"))
-                    .photoType("CLAIM_PROOF")
-                    .insuranceClaim(claim)
-                    .build();
-
-            uploadedPhotos.add(photoRepository.save(photo));
-        }
-        return uploadedPhotos;
+        return uploadAndRecord(folder, files, stored -> Photo.builder()
+                .url(stored.url())
+                .publicId(stored.publicId())
+                .photoType("CLAIM_PROOF")
+                .insuranceClaim(claim)
+                .build());
     }
 
     public void deletePhoto(Photo photo) {
@@ -138,33 +136,132 @@ public class PhotoService {
             photo.getDriverProfile().getLicensePhotos().removeIf(existing -> existing.getId().equals(photo.getId()));
             photo.setDriverProfile(null);
         }
-        deleteFromCloudinary(photo.getPublicId());
         photoRepository.delete(photo);
+        deleteFromStorageAfterCommit(photo.getPublicId());
+        if (photo.getThumbnailPublicId() != null) {
+            deleteFromStorageAfterCommit(photo.getThumbnailPublicId());
+        }
+        if (photo.getMediumPublicId() != null) {
+            deleteFromStorageAfterCommit(photo.getMediumPublicId());
+        }
+    }
+
+    private List<Photo> uploadAndRecord(String folder, List<MultipartFile> files, Function<StoredPhoto, Photo> toPhoto) {
+        return uploadAndRecord(folder, files, toPhoto, List::of);
+    }
+
+    private List<Photo> uploadAndRecord(String folder, List<MultipartFile> files, Function<StoredPhoto, Photo> toPhoto,
+                                        Supplier<List<Photo>> alreadyRecorded) {
+        // Reject the whole batch before anything is uploaded
+        files.forEach(this::validateImage);
+
+        List<Callable<Upload>> tasks = files.stream()
+                .<Callable<Upload>>map(file -> () -> store(file, folder))
+                .toList();
+        List<Upload> uploads = uploadExecutor.runAll(tasks, upload -> {
+            deleteUnreferenced(upload.stored().publicId());
+            deleteQuietly(upload.source().file());
+        });
+        List<StoredPhoto> stored = uploads.stream().map(Upload::stored).toList();
+
+        Map<String, Source> sources = new LinkedHashMap<>();
+        uploads.forEach(upload -> sources.putIfAbsent(upload.stored().publicId(), upload.source()));
+
+        Map<String, Photo> recorded = new LinkedHashMap<>();
+        List<Photo> inserted;
+        try {
+            inserted = sharedPhotoFiles.reference(sources, () -> {
+                alreadyRecorded.get().forEach(photo -> recorded.putIfAbsent(photo.getPublicId(), photo));
+
+                List<Photo> fresh = new ArrayList<>();
+                for (StoredPhoto s : stored) {
+                    if (!recorded.containsKey(s.publicId())) {
+                        Photo photo = toPhoto.apply(s);
+                        recorded.put(s.publicId(), photo);
+                        fresh.add(photo);
+                    }
+                }
+
+                List<Photo> saved = photoRepository.saveAll(fresh);
+                saved.forEach(photo -> recorded.put(photo.getPublicId(), photo));
+                return saved;
+            });
+        } catch (RuntimeException ex) {
+            stored.forEach(s -> deleteUnreferenced(s.publicId()));
+            throw ex;
+        } finally {
+            uploads.forEach(upload -> deleteQuietly(upload.source().file()));
+        }
+
+        variantService.submit(inserted);
+        return stored.stream()
+                .map(StoredPhoto::publicId)
+                .distinct()
+                .map(recorded::get)
+                .toList();
     }
 
-    private Map<?, ?> uploadToCloudinary(MultipartFile file, String folder) {
+    // The normalized file outlives the upload, in case it has to be written again
+    private record Upload(StoredPhoto stored, Source source) {}
+
+    private Upload store(MultipartFile file, String folder) {
+        Path temp = null;
+        NormalizedImage normalized = null;
         try {
-            return cloudinary.uploader().upload(
-                file.getBytes(),
-                ObjectUtils.asMap(
-                    "folder", folder,
-                    "resource_type", "image"
-                )
-            );
+            // Moves the container's multipart temp file; the image is never buffered on the heap
+            temp = Files.createTempFile("shipmate-upload-", ".img");
+            file.transferTo(temp.toFile());
+
+            // The content type comes from the bytes, never from the client
+            normalized = photoNormalizer.normalize(temp);
+            Upload upload = new Upload(
+                    photoStorage.store(normalized.file(), normalized.contentType(), folder),
+                    new Source(normalized.file(), normalized.contentType(), folder));
+            normalized = null;
+            return upload;
+        } catch (IIOException | EOFException e) {
+            throw new IllegalArgumentException("Image could not be read", e);
         } catch (IOException e) {
-            log.error("Failed to upload to Cloudinary", e);
+            log.error("Failed to store image", e);
             throw new RuntimeException("Image upload failed", e);
+        } finally {
+            deleteQuietly(temp);
+            if (normalized != null) {
+                deleteQuietly(normalized.file());
+            }
         }
     }
 
-    private void deleteFromCloudinary(String publicId) {
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
         try {
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            Files.deleteIfExists(path);
         } catch (IOException e) {
-            log.warn("Failed to delete from Cloudinary: {}", publicId, e);
+            log.warn("Failed to delete temporary upload {}", path, e);
+        }
+    }
+
+    // The remote file goes only once the row is gone for good
+    private void deleteFromStorageAfterCommit(String publicId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteUnreferenced(publicId);
+                }
+            });
+        } else {
+            deleteUnreferenced(publicId);
         }
     }
 
+    // Deduplicating storage shares one file between equal uploads; keep it while any row still points at it
+    private void deleteUnreferenced(String publicId) {
+        sharedPhotoFiles.deleteUnreferenced(publicId);
+    }
+
     private void validateImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File must not be empty");
@@ -172,8 +269,11 @@ public class PhotoService {
         if (file.getSize() > maxFileSize) {
             throw new IllegalArgumentException("File size exceeds maximum limit");
         }
-        if (file.getContentType() == null || !ALLOWED_IMAGE_TYPES.contains(file.getContentType())) {
-            throw new IllegalArgumentException("Invalid image type. Allowed: JPEG, PNG, WEBP");
+        // Header only: the format and dimensions are known without decoding pixels
+        try (InputStream in = file.getInputStream()) {
+            imageInspector.inspect(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Image could not be read", e);
         }
     }
 }
@@ -0,0 +1,40 @@
+package com.shipmate.service.photo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Where photo files live. Selected with {@code app.photos.storage}
+ * ({@code cloudinary} or {@code local}).
+ */
+public interface PhotoStorage {
+
+    /**
+     * Stores the file and returns the URL clients load it from. The file is
+     * left in place; the caller owns it.
+     */
+    StoredPhoto store(Path file, String contentType, String folder) throws IOException;
+
+    /**
+     * Reads a stored file back, e.g. to derive variants from it
+     */
+    InputStream open(String publicId, String url) throws IOException;
+
+    void delete(String publicId) throws IOException;
+
+    /**
+     * Whether the file behind {@code publicId} is still stored
+     */
+    default boolean exists(String publicId) {
+        return true;
+    }
+
+    /**
+     * Whether two uploads of the same content share one stored file, in which
+     * case a file may only be deleted once no photo row references it.
+     */
+    default boolean deduplicates() {
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shipmate.service.photo;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Runs the uploads of one request concurrently on virtual threads. A shared
+ * semaphore caps in-flight uploads across all requests, so a burst of large
+ * submissions queues here instead of opening unbounded connections to the
+ * storage provider.
+ */
+@Component
+@Slf4j
+public class PhotoUploadExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    public PhotoUploadExecutor(@Value("${app.photos.upload.concurrency:16}") int concurrency) {
+        this.permits = new Semaphore(concurrency);
+    }
+
+    /**
+     * Runs every task and returns the results in task order. If any task
+     * fails, the call waits for the others, hands each successful result to
+     * {@code compensate} and rethrows the first failure.
+     */
+    public <T> List<T> runAll(List<Callable<T>> tasks, Consumer<T> compensate) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return task.call();
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        RuntimeException failure = null;
+
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new RuntimeException("Image upload failed", ex.getCause());
+                }
+            } catch (CancellationException ex) {
+                // Cancelled after an interrupt below; the failure is already recorded
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                if (failure == null) {
+                    failure = new IllegalStateException("Interrupted while uploading images", ex);
+                }
+            }
+        }
+
+        if (failure != null) {
+            for (T result : results) {
+                try {
+                    compensate.accept(result);
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to roll back uploaded image {}", result, ex);
+                }
+            }
+            throw failure;
+        }
+
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
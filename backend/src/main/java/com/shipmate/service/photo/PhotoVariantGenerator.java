@@ -0,0 +1,93 @@
+package com.shipmate.service.photo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Renders the thumbnail and medium variants of an image with plain ImageIO.
+ * The source is decoded with subsampling to at most twice the medium edge, so
+ * a large photo never lands on the heap at full resolution, and is then scaled
+ * down with {@link Images#scale}.
+ */
+@Component
+public class PhotoVariantGenerator {
+
+    /**
+     * A rendered variant in a temp file owned by the caller
+     */
+    public record Variant(Path file, String contentType) {}
+
+    /**
+     * A null variant means the original is already small enough to serve as it
+     */
+    public record Variants(Variant thumbnail, Variant medium) {}
+
+    private final int thumbnailEdge;
+    private final int mediumEdge;
+    private final float jpegQuality;
+
+    public PhotoVariantGenerator(
+            @Value("${app.photos.variants.thumbnail-edge:200}") int thumbnailEdge,
+            @Value("${app.photos.variants.medium-edge:800}") int mediumEdge,
+            @Value("${app.photos.variants.jpeg-quality:0.82}") float jpegQuality) {
+        this.thumbnailEdge = thumbnailEdge;
+        this.mediumEdge = mediumEdge;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * @throws IllegalArgumentException if ImageIO has no reader for the format
+     */
+    public Variants generate(InputStream source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                if (longest <= thumbnailEdge) {
+                    return new Variants(null, null);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longest / (mediumEdge * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+
+                boolean alpha = Images.hasAlpha(image);
+                Variant medium = longest > mediumEdge ? write(Images.scale(image, mediumEdge), alpha) : null;
+                try {
+                    return new Variants(write(Images.scale(image, thumbnailEdge), alpha), medium);
+                } catch (IOException | RuntimeException ex) {
+                    if (medium != null) {
+                        Files.deleteIfExists(medium.file());
+                    }
+                    throw ex;
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // JPEG unless the image is transparent
+    private Variant write(BufferedImage image, boolean alpha) throws IOException {
+        Path file = Images.write(image, alpha ? "png" : "jpeg", jpegQuality, "shipmate-variant-");
+        return new Variant(file, alpha ? "image/png" : "image/jpeg");
+    }
+}
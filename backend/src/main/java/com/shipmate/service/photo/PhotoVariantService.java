@@ -0,0 +1,335 @@
+package com.shipmate.service.photo;
+
+import com.shipmate.model.photo.Photo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates photo variants in the background after upload, on a small fixed
+ * pool so image decoding never competes with request threads for more than a
+ * couple of cores. A photo is claimed by flipping it to PROCESSING with a
+ * lease, so the post-upload hand-off, the backfill and other nodes never work
+ * on the same row. When the queue is full the photo simply stays PENDING and
+ * the backfill picks it up later.
+ */
+@Service
+@Slf4j
+public class PhotoVariantService {
+
+    private static final String CLAIMABLE = """
+            (variant_status = 'PENDING'
+                or (variant_status = 'PROCESSING' and variant_locked_until < now()))
+            """;
+
+    private static final String CLAIM_ONE_SQL = """
+            update photos
+               set variant_status = 'PROCESSING',
+                   variant_attempts = variant_attempts + 1,
+                   variant_locked_until = now() + ? * interval '1 second'
+             where id = ?
+               and """ + CLAIMABLE + """
+            returning id, url, public_id, variant_attempts
+            """;
+
+    private static final String CLAIM_BATCH_SQL = """
+            update photos
+               set variant_status = 'PROCESSING',
+                   variant_attempts = variant_attempts + 1,
+                   variant_locked_until = now() + ? * interval '1 second'
+             where id in (
+                   select id
+                     from photos
+                    where """ + CLAIMABLE + """
+                    order by created_at
+                    limit ?
+                    for update skip locked
+             )
+            returning id, url, public_id, variant_attempts
+            """;
+
+    private record Claim(UUID id, String url, String publicId, int attempts) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhotoStorage photoStorage;
+    private final SharedPhotoFiles sharedPhotoFiles;
+    private final PhotoVariantGenerator generator;
+
+    private final boolean enabled;
+    private final boolean async;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+
+    private final ThreadPoolExecutor pool;
+    private final Timer generateTime;
+    private final Counter failed;
+
+    public PhotoVariantService(
+            JdbcTemplate jdbcTemplate,
+            PhotoStorage photoStorage,
+            SharedPhotoFiles sharedPhotoFiles,
+            PhotoVariantGenerator generator,
+            MeterRegistry meterRegistry,
+            @Value("${app.photos.variants.enabled:true}") boolean enabled,
+            @Value("${app.photos.variants.async:true}") boolean async,
+            @Value("${app.photos.variants.workers:2}") int workers,
+            @Value("${app.photos.variants.queue-capacity:200}") int queueCapacity,
+            @Value("${app.photos.variants.batch-size:50}") int batchSize,
+            @Value("${app.photos.variants.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.photos.variants.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.photoStorage = photoStorage;
+        this.sharedPhotoFiles = sharedPhotoFiles;
+        this.generator = generator;
+        this.enabled = enabled;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+
+        AtomicInteger index = new AtomicInteger();
+        int size = Math.max(1, workers);
+        this.pool = new ThreadPoolExecutor(
+                size,
+                size,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "photo-variant-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.generateTime = Timer.builder("shipmate.photos.variants.generate")
+                .description("Time to render and store the variants of one photo")
+                .register(meterRegistry);
+        this.failed = Counter.builder("shipmate.photos.variants.failed")
+                .description("Photos whose variants could not be generated and are served at full size")
+                .register(meterRegistry);
+        Gauge.builder("shipmate.photos.variants.queue.depth", pool, p -> p.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues variant generation for freshly inserted photos. Must be called
+     * after the insert has committed.
+     */
+    public void submit(List<Photo> photos) {
+        if (!enabled) {
+            return;
+        }
+        for (Photo photo : photos) {
+            UUID id = photo.getId();
+            run(() -> claim(id).ifPresent(this::process));
+        }
+    }
+
+    @Scheduled(cron = "${app.photos.variants.backfill-cron:0 */5 * * * ?}")
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+
+        int limit = async ? Math.min(batchSize, pool.getQueue().remainingCapacity()) : batchSize;
+        if (limit <= 0) {
+            return;
+        }
+
+        List<Claim> claims = jdbcTemplate.query(CLAIM_BATCH_SQL, (rs, rowNum) -> toClaim(rs), leaseSeconds, limit);
+        for (Claim claim : claims) {
+            if (!run(() -> process(claim))) {
+                release(claim.id());
+            }
+        }
+
+        if (!claims.isEmpty()) {
+            log.info("[PHOTO] Queued variant generation for {} photos", claims.size());
+        }
+    }
+
+    private boolean run(Runnable task) {
+        if (!async) {
+            task.run();
+            return true;
+        }
+        try {
+            pool.execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            // Left PENDING; the backfill comes back for it
+            log.debug("[PHOTO] Variant queue full, deferring to backfill");
+            return false;
+        }
+    }
+
+    private Optional<Claim> claim(UUID id) {
+        return jdbcTemplate.query(CLAIM_ONE_SQL, (rs, rowNum) -> toClaim(rs), leaseSeconds, id)
+                .stream()
+                .findFirst();
+    }
+
+    private void process(Claim claim) {
+        long started = System.nanoTime();
+        PhotoVariantGenerator.Variants variants;
+
+        try (InputStream source = photoStorage.open(claim.publicId(), claim.url())) {
+            variants = generator.generate(source);
+        } catch (IllegalArgumentException ex) {
+            markFailed(claim.id(), ex);
+            return;
+        } catch (IOException | RuntimeException ex) {
+            if (claim.attempts() >= maxAttempts) {
+                markFailed(claim.id(), ex);
+            } else {
+                log.warn("[PHOTO] Variant generation for {} failed, will retry", claim.id(), ex);
+                release(claim.id());
+            }
+            return;
+        }
+
+        StoredPhoto thumbnail = null;
+        StoredPhoto medium = null;
+        try {
+            String folder = "shipmate/variants/" + claim.id();
+            thumbnail = store(variants.thumbnail(), folder);
+            medium = store(variants.medium(), folder);
+
+            Map<String, SharedPhotoFiles.Source> sources = new LinkedHashMap<>();
+            addSource(sources, thumbnail, variants.thumbnail(), folder);
+            addSource(sources, medium, variants.medium(), folder);
+
+            StoredPhoto storedThumbnail = thumbnail;
+            StoredPhoto storedMedium = medium;
+            int updated = sharedPhotoFiles.reference(sources, () -> jdbcTemplate.update("""
+                    update photos
+                       set thumbnail_url = ?,
+                           thumbnail_public_id = ?,
+                           medium_url = ?,
+                           medium_public_id = ?,
+                           variant_status = 'READY',
+                           variant_locked_until = null,
+                           updated_at = now()
+                     where id = ?
+                       and variant_status = 'PROCESSING'
+                    """,
+                    storedThumbnail != null ? storedThumbnail.url() : claim.url(),
+                    storedThumbnail != null ? storedThumbnail.publicId() : null,
+                    storedMedium != null ? storedMedium.url() : claim.url(),
+                    storedMedium != null ? storedMedium.publicId() : null,
+                    claim.id()
+            ));
+
+            // The photo was deleted while we worked on it
+            if (updated == 0) {
+                deleteUnreferenced(thumbnail);
+                deleteUnreferenced(medium);
+            }
+            generateTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (IOException | RuntimeException ex) {
+            deleteUnreferenced(thumbnail);
+            deleteUnreferenced(medium);
+            log.warn("[PHOTO] Storing variants for {} failed, will retry", claim.id(), ex);
+            release(claim.id());
+        } finally {
+            deleteTemp(variants.thumbnail());
+            deleteTemp(variants.medium());
+        }
+    }
+
+    private StoredPhoto store(PhotoVariantGenerator.Variant variant, String folder) throws IOException {
+        return variant == null ? null : photoStorage.store(variant.file(), variant.contentType(), folder);
+    }
+
+    private static void addSource(Map<String, SharedPhotoFiles.Source> sources, StoredPhoto stored,
+                                  PhotoVariantGenerator.Variant variant, String folder) {
+        if (stored != null) {
+            sources.putIfAbsent(stored.publicId(),
+                    new SharedPhotoFiles.Source(variant.file(), variant.contentType(), folder));
+        }
+    }
+
+    private void release(UUID id) {
+        jdbcTemplate.update("""
+                update photos
+                   set variant_status = 'PENDING',
+                       variant_locked_until = null
+                 where id = ?
+                   and variant_status = 'PROCESSING'
+                """, id);
+    }
+
+    // Clients keep getting the original through the variant URLs' fallback
+    private void markFailed(UUID id, Exception cause) {
+        failed.increment();
+        log.warn("[PHOTO] Giving up on variants for {}", id, cause);
+        jdbcTemplate.update("""
+                update photos
+                   set variant_status = 'FAILED',
+                       variant_locked_until = null
+                 where id = ?
+                """, id);
+    }
+
+    private void deleteUnreferenced(StoredPhoto stored) {
+        if (stored != null) {
+            sharedPhotoFiles.deleteUnreferenced(stored.publicId());
+        }
+    }
+
+    private static void deleteTemp(PhotoVariantGenerator.Variant variant) {
+        if (variant == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(variant.file());
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary variant {}", variant.file(), e);
+        }
+    }
+
+    private static Claim toClaim(ResultSet rs) throws SQLException {
+        return new Claim(
+                rs.getObject("id", UUID.class),
+                rs.getString("url"),
+                rs.getString("public_id"),
+                rs.getInt("variant_attempts")
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Claimed rows fall back to the backfill once their lease runs out
+        pool.shutdownNow();
+    }
+}
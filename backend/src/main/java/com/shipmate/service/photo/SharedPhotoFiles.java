@@ -0,0 +1,123 @@
+package com.shipmate.service.photo;
+
+import com.shipmate.repository.photo.PhotoRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Guards files on a deduplicating {@link PhotoStorage}, where one file can
+ * back several photo rows. Deleting a file and recording a new reference to
+ * it take the same per-publicId advisory lock, so a delete cannot land
+ * between an upload that found the file already stored and the insert of
+ * its row; if one landed just before, the file is written again.
+ */
+@Component
+@Slf4j
+public class SharedPhotoFiles {
+
+    private static final String LOCK_SQL = "select pg_advisory_xact_lock(hashtext(?))";
+
+    /**
+     * What a stored file was written from, kept until its row is recorded
+     */
+    public record Source(Path file, String contentType, String folder) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhotoRepository photoRepository;
+    private final PhotoStorage photoStorage;
+    private final TransactionTemplate required;
+    private final TransactionTemplate requiresNew;
+
+    public SharedPhotoFiles(
+            JdbcTemplate jdbcTemplate,
+            PhotoRepository photoRepository,
+            PhotoStorage photoStorage,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.photoRepository = photoRepository;
+        this.photoStorage = photoStorage;
+        this.required = new TransactionTemplate(transactionManager);
+        // Deletes run from afterCommit callbacks, where the finished transaction is still bound
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Runs {@code insert} in a transaction holding the lock of every file it
+     * is about to reference, after re-storing any that a concurrent delete
+     * removed since the upload.
+     */
+    public <T> T reference(Map<String, Source> files, Supplier<T> insert) {
+        return required.execute(status -> {
+            if (photoStorage.deduplicates()) {
+                lock(files.keySet());
+                files.forEach((publicId, source) -> {
+                    if (!photoStorage.exists(publicId)) {
+                        restore(publicId, source);
+                    }
+                });
+            }
+            return insert.get();
+        });
+    }
+
+    /**
+     * Deletes the file unless, on a deduplicating storage, a photo row still
+     * references it.
+     */
+    public void deleteUnreferenced(String publicId) {
+        if (publicId == null) {
+            return;
+        }
+        if (!photoStorage.deduplicates()) {
+            deleteQuietly(publicId);
+            return;
+        }
+        requiresNew.executeWithoutResult(status -> {
+            lock(List.of(publicId));
+            if (!photoRepository.isReferenced(publicId)) {
+                deleteQuietly(publicId);
+            }
+        });
+    }
+
+    // Always in the same order, so two uploads sharing files cannot deadlock
+    private void lock(Collection<String> publicIds) {
+        publicIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .forEach(publicId -> jdbcTemplate.query(LOCK_SQL, rs -> null, publicId));
+    }
+
+    private void restore(String publicId, Source source) {
+        log.info("[PHOTO] Stored file {} was deleted before its row was recorded, writing it again", publicId);
+        try {
+            photoStorage.store(source.file(), source.contentType(), source.folder());
+        } catch (IOException e) {
+            throw new RuntimeException("Image upload failed", e);
+        }
+    }
+
+    private void deleteQuietly(String publicId) {
+        try {
+            photoStorage.delete(publicId);
+        } catch (IOException e) {
+            log.warn("Failed to delete stored image: {}", publicId, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.shipmate.service.photo;
+
+/**
+ * A file held by a {@link PhotoStorage} that has no photo row yet
+ */
+public record StoredPhoto(String url, String publicId) {}
@@ -0,0 +1,84 @@
+package com.shipmate.service.search;
+
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.dto.response.notification.NotificationResponse;
+import com.shipmate.mapper.message.MessageMapper;
+import com.shipmate.mapper.notification.NotificationMapper;
+import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.repository.notification.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Ranked full-text search over chat messages and notifications.
+ * Backed by the GIN-indexed {@code search_vector} columns (see V30 migration).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchService {
+
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final MessageRepository messageRepository;
+    private final NotificationRepository notificationRepository;
+    private final MessageMapper messageMapper;
+    private final NotificationMapper notificationMapper;
+
+    public Page<MessageResponse> searchMyMessages(UUID userId, String query, Pageable pageable) {
+        return messageRepository
+                .searchForParticipant(normalize(query), userId, ranked(pageable))
+                .map(messageMapper::toResponse);
+    }
+
+    public Page<NotificationResponse> searchMyNotifications(UUID userId, String query, Pageable pageable) {
+        return notificationRepository
+                .searchForUser(normalize(query), userId, ranked(pageable))
+                .map(notificationMapper::toResponse);
+    }
+
+    public Page<MessageResponse> searchAllMessages(String query, Pageable pageable) {
+        return messageRepository
+                .searchAll(normalize(query), ranked(pageable))
+                .map(messageMapper::toResponse);
+    }
+
+    public Page<NotificationResponse> searchAllNotifications(String query, Pageable pageable) {
+        return notificationRepository
+                .searchAll(normalize(query), ranked(pageable))
+                .map(notificationMapper::toResponse);
+    }
+
+    private String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+
+        String trimmed = query.strip();
+
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query must not exceed " + MAX_QUERY_LENGTH + " characters"
+            );
+        }
+
+        return trimmed;
+    }
+
+    // Results are always ordered by rank; client sort params would break the native query.
+    private Pageable ranked(Pageable pageable) {
+        return PageRequest.of(
+                pageable.getPageNumber(),
+                Math.min(pageable.getPageSize(), MAX_PAGE_SIZE)
+        );
+    }
+}
@@ -36,7 +36,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -66,6 +68,7 @@ public class ShipmentService {
     private final DeliveryCodeService deliveryCodeService;
     private final DeliveryCodeEventPublisher deliveryCodeEventPublisher;
     private final AdminActionLogger adminActionLogger;
+    private final TransactionTemplate transactionTemplate;
 
 
 
@@ -240,22 +243,30 @@ public class ShipmentService {
         shipmentRepository.delete(shipment);
     }
 
+    // No transaction across the uploads, so no connection is held while they run
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ShipmentResponse addPhotos(UUID shipmentId, UUID senderId, List<MultipartFile> files) {
 
-        User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Shipment shipment = transactionTemplate.execute(status -> {
+            User sender = userRepository.findById(senderId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        Shipment shipment = shipmentRepository.findByIdAndSender(shipmentId, sender)
-                .orElseThrow(() -> new IllegalArgumentException("Shipment not found"));
+            Shipment found = shipmentRepository.findByIdAndSender(shipmentId, sender)
+                    .orElseThrow(() -> new IllegalArgumentException("Shipment not found"));
 
-        if (shipment.getStatus() != ShipmentStatus.CREATED &&
-                shipment.getStatus() != ShipmentStatus.ASSIGNED) {
-            throw new IllegalStateException("Photos cannot be added in current shipment state");
-        }
+            if (found.getStatus() != ShipmentStatus.CREATED &&
+                    found.getStatus() != ShipmentStatus.ASSIGNED) {
+                throw new IllegalStateException("Photos cannot be added in current shipment state");
+            }
+            return found;
+        });
 
         photoService.uploadShipmentPhotos(shipment, files);
 
-        return shipmentAssembler.toResponse(shipment);
+        return transactionTemplate.execute(status -> shipmentAssembler.toResponse(
+                shipmentRepository.findById(shipmentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Shipment not found"))
+        ));
     }
 
     public ShipmentResponse markInTransit(UUID shipmentId, UUID driverId) {
@@ -0,0 +1,278 @@
+package com.shipmate.service.state;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.config.websocket.SubscriptionOwnershipCache;
+import com.shipmate.config.websocket.WebSocketPublisher;
+import com.shipmate.dto.response.state.LiveStateResponse;
+import com.shipmate.dto.ws.booking.BookingStateDeltaWsDto;
+import com.shipmate.dto.ws.shipment.ShipmentStateDeltaWsDto;
+import com.shipmate.model.booking.Booking;
+import com.shipmate.model.shipment.Shipment;
+import com.shipmate.repository.booking.BookingRepository;
+import com.shipmate.repository.shipment.ShipmentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Versioned live state for bookings and shipments.
+ *
+ * On every transition the current state is flattened into a map, diffed
+ * against the last pushed snapshot (live_state_snapshots) and only the changed
+ * keys are pushed together with the new version. A client that sees a version
+ * gap calls the resync endpoint, which returns the stored snapshot at its
+ * current version. Resync is read-only: it never advances a version or pushes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveStateService {
+
+    private static final String BOOKING = "BOOKING";
+    private static final String SHIPMENT = "SHIPMENT";
+
+    private static final TypeReference<LinkedHashMap<String, Object>> STATE_TYPE = new TypeReference<>() {};
+
+    private final BookingRepository bookingRepository;
+    private final ShipmentRepository shipmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final WebSocketPublisher webSocketPublisher;
+    private final SubscriptionOwnershipCache ownershipCache;
+
+    // ===== PUSH =====
+
+    @Transactional
+    public void publishBooking(UUID bookingId) {
+        bookingRepository.findById(bookingId).ifPresent(this::publish);
+    }
+
+    @Transactional
+    public void publishShipment(UUID shipmentId) {
+        shipmentRepository.findById(shipmentId).ifPresent(shipment -> {
+            publish(shipment);
+
+            // The booking state embeds each shipment's status
+            if (shipment.getBooking() != null) {
+                publish(shipment.getBooking());
+            }
+        });
+    }
+
+    // ===== RESYNC =====
+
+    @Transactional(readOnly = true)
+    public LiveStateResponse getBookingState(UUID bookingId, UUID userId) {
+        if (!ownershipCache.isBookingParticipant(userId, bookingId)) {
+            throw new AccessDeniedException("Not a participant of this booking");
+        }
+
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+
+        Snapshot snapshot = stored(BOOKING, bookingId)
+                .orElseGet(() -> new Snapshot(0, bookingState(booking), Map.of()));
+        return new LiveStateResponse(bookingId, snapshot.version(), snapshot.state());
+    }
+
+    @Transactional(readOnly = true)
+    public LiveStateResponse getShipmentState(UUID shipmentId, UUID userId) {
+        if (!ownershipCache.isShipmentParticipant(userId, shipmentId)) {
+            throw new AccessDeniedException("Not a participant of this shipment");
+        }
+
+        Shipment shipment = shipmentRepository.findById(shipmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Shipment not found"));
+
+        Snapshot snapshot = stored(SHIPMENT, shipmentId)
+                .orElseGet(() -> new Snapshot(0, shipmentState(shipment), Map.of()));
+        return new LiveStateResponse(shipmentId, snapshot.version(), snapshot.state());
+    }
+
+    // ===== INTERNALS =====
+
+    /**
+     * The last pushed snapshot. Without one nothing was pushed yet, so the state
+     * built from the entity is version 0 and the first delta (v1) carries every key.
+     */
+    private Optional<Snapshot> stored(String type, UUID id) {
+        return jdbcTemplate.query("""
+                select version, state::text
+                from live_state_snapshots
+                where aggregate_type = ? and aggregate_id = ?
+                """,
+                (rs, rowNum) -> new Snapshot(rs.getLong(1), read(rs.getString(2)), Map.of()),
+                type, id
+        ).stream().findFirst();
+    }
+
+    private Snapshot publish(Booking booking) {
+        Snapshot snapshot = advance(BOOKING, booking.getId(), bookingState(booking));
+
+        if (!snapshot.changes().isEmpty()) {
+            BookingStateDeltaWsDto delta = new BookingStateDeltaWsDto(
+                    booking.getId(), booking.getStatus(), snapshot.version(), snapshot.changes()
+            );
+            afterCommit(() -> webSocketPublisher.send("/topic/bookings/" + booking.getId(), delta));
+        }
+
+        return snapshot;
+    }
+
+    private Snapshot publish(Shipment shipment) {
+        Snapshot snapshot = advance(SHIPMENT, shipment.getId(), shipmentState(shipment));
+
+        if (!snapshot.changes().isEmpty()) {
+            ShipmentStateDeltaWsDto delta = new ShipmentStateDeltaWsDto(
+                    shipment.getId(), shipment.getStatus(), shipment.isDeliveryLocked(),
+                    snapshot.version(), snapshot.changes()
+            );
+            afterCommit(() -> webSocketPublisher.send("/topic/shipments/" + shipment.getId(), delta));
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Diffs the current state against the stored snapshot under a row lock and
+     * bumps the version when anything changed.
+     */
+    private Snapshot advance(String type, UUID id, Map<String, Object> current) {
+        jdbcTemplate.update("""
+                insert into live_state_snapshots (aggregate_type, aggregate_id, version, state)
+                values (?, ?, 0, '{}'::jsonb)
+                on conflict do nothing
+                """, type, id);
+
+        Snapshot stored = jdbcTemplate.queryForObject("""
+                select version, state::text
+                from live_state_snapshots
+                where aggregate_type = ? and aggregate_id = ?
+                for update
+                """,
+                (rs, rowNum) -> new Snapshot(rs.getLong(1), read(rs.getString(2)), Map.of()),
+                type, id
+        );
+
+        Map<String, Object> changes = diff(stored.state(), current);
+        if (changes.isEmpty()) {
+            return stored;
+        }
+
+        long version = stored.version() + 1;
+        jdbcTemplate.update("""
+                update live_state_snapshots
+                set version = ?, state = ?::jsonb, updated_at = now()
+                where aggregate_type = ? and aggregate_id = ?
+                """, version, write(current), type, id);
+
+        log.debug("[LIVE-STATE] {} {} -> v{} changed={}", type, id, version, changes.keySet());
+
+        return new Snapshot(version, current, changes);
+    }
+
+    private static Map<String, Object> diff(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+
+        current.forEach((key, value) -> {
+            if (!previous.containsKey(key) || !Objects.equals(previous.get(key), value)) {
+                changes.put(key, value);
+            }
+        });
+
+        previous.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> changes.put(key, null));
+
+        return changes;
+    }
+
+    // Values are kept as JSON scalars (strings, booleans, ints) so a stored snapshot compares equal after a round trip
+    private static Map<String, Object> bookingState(Booking booking) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("status", booking.getStatus().name());
+        state.put("totalPrice", decimal(booking.getTotalPrice()));
+        state.put("currentWeight", decimal(booking.getCurrentWeight()));
+        state.put("estimatedPickupDate", text(booking.getEstimatedPickupDate()));
+        state.put("estimatedDeliveryDate", text(booking.getEstimatedDeliveryDate()));
+
+        if (booking.getShipments() != null) {
+            booking.getShipments().stream()
+                    .sorted(Comparator.comparing(Shipment::getId))
+                    .forEach(shipment -> {
+                        String prefix = "shipments." + shipment.getId() + ".";
+                        state.put(prefix + "status", shipment.getStatus().name());
+                        state.put(prefix + "deliveryLocked", shipment.isDeliveryLocked());
+                    });
+        }
+
+        return state;
+    }
+
+    private static Map<String, Object> shipmentState(Shipment shipment) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("status", shipment.getStatus().name());
+        state.put("deliveryLocked", shipment.isDeliveryLocked());
+        state.put("bookingId", shipment.getBooking() != null ? shipment.getBooking().getId().toString() : null);
+        state.put("pickupOrder", shipment.getPickupOrder());
+        state.put("deliveryOrder", shipment.getDeliveryOrder());
+        state.put("deliveredAt", text(shipment.getDeliveredAt()));
+        return state;
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private Map<String, Object> read(String json) {
+        try {
+            return objectMapper.readValue(json, STATE_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Corrupt live state snapshot", ex);
+        }
+    }
+
+    private String write(Map<String, Object> state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize live state snapshot", ex);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Snapshot(long version, Map<String, Object> state, Map<String, Object> changes) {}
+}
@@ -7,6 +7,7 @@ import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.shipmate.dto.request.user.UpdateUserProfileRequest;
@@ -15,6 +16,7 @@ import com.shipmate.mapper.user.UserProfileMapper;
 import com.shipmate.model.photo.Photo;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.UserDetailsCache;
 import com.shipmate.service.photo.PhotoService;
 
 import jakarta.transaction.Transactional;
@@ -28,6 +30,8 @@ public class UserProfileService {
     private final UserRepository userRepository;
     private final UserProfileMapper mapper;
     private final PhotoService photoService;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     public UserProfileResponse getMyProfile(UUID userId) {
         User user = userRepository.findById(userId)
@@ -47,19 +51,32 @@ public class UserProfileService {
     }
 
 
+    // Uploads outside any transaction; the previous avatar is only removed once the new one is stored
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public UserProfileResponse updateAvatar(UUID userId, MultipartFile file) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        if (user.getAvatar() != null) {
-            photoService.deletePhoto(user.getAvatar());
-        }
+        User user = transactionTemplate.execute(status -> userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found")));
 
         Photo photo = photoService.uploadAvatar(user, file);
-        user.setAvatar(photo);
 
-        userRepository.save(user);
-        return mapper.toResponse(user);
+        try {
+            return transactionTemplate.execute(status -> {
+                User current = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+                Photo previous = current.getAvatar();
+
+                current.setAvatar(photo);
+                userRepository.save(current);
+
+                if (previous != null) {
+                    photoService.deletePhoto(previous);
+                }
+                return mapper.toResponse(current);
+            });
+        } catch (RuntimeException ex) {
+            photoService.deletePhoto(photo);
+            throw ex;
+        }
     }
 
     public void deleteAvatar(UUID userId) {
@@ -88,5 +105,6 @@ public class UserProfileService {
         user.setLastName("User");
 
         userRepository.save(user);
+        userDetailsCache.evict(userId);
     }
 }
@@ -0,0 +1,21 @@
+-- Full-text search over chat messages and notifications.
+-- The vectors are STORED generated columns so they are maintained at write time
+-- by PostgreSQL itself, whatever code path inserts or updates the row.
+-- The 'simple' configuration is used because content is mixed French/English.
+
+ALTER TABLE messages
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(message_content, ''))) STORED;
+
+CREATE INDEX idx_messages_search_vector
+ON messages USING GIN (search_vector);
+
+ALTER TABLE notifications
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(message, '')), 'B')
+        ) STORED;
+
+CREATE INDEX idx_notifications_search_vector
+ON notifications USING GIN (search_vector);
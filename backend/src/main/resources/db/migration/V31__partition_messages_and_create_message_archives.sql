@@ -0,0 +1,147 @@
+-- ============================================================================
+-- Range-partition messages by sent_at (one partition per month)
+-- ============================================================================
+
+-- A partitioned table can only be referenced through a unique key that contains
+-- the partition column, so photos.message_id becomes a plain (indexed) column.
+ALTER TABLE photos DROP CONSTRAINT IF EXISTS photos_message_id_fkey;
+
+ALTER TABLE messages RENAME TO messages_legacy;
+ALTER TABLE messages_legacy RENAME CONSTRAINT messages_pkey TO messages_legacy_pkey;
+
+CREATE TABLE messages (
+    id UUID NOT NULL,
+    shipment_id UUID NOT NULL,
+    CONSTRAINT fk_messages_shipment
+        FOREIGN KEY (shipment_id)
+        REFERENCES shipments(id)
+        ON DELETE CASCADE,
+    sender_id UUID NOT NULL,
+    CONSTRAINT fk_messages_sender
+        FOREIGN KEY (sender_id)
+        REFERENCES users(id)
+        ON DELETE RESTRICT,
+    receiver_id UUID NOT NULL,
+    CONSTRAINT fk_messages_receiver
+        FOREIGN KEY (receiver_id)
+        REFERENCES users(id)
+        ON DELETE RESTRICT,
+    message_content TEXT NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT false,
+    message_type message_type NOT NULL,
+    sent_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(message_content, ''))) STORED,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+-- Safety net for rows outside any monthly partition. ensure_messages_partition
+-- moves such rows out again when their month's partition is created.
+CREATE TABLE messages_default PARTITION OF messages DEFAULT;
+
+-- Creates the monthly partition containing p_month if it does not exist yet.
+-- Called by the migration below and ahead of time by MessagePartitionMaintenance.
+-- NOTE: the column list must follow the messages table when columns are added.
+CREATE OR REPLACE FUNCTION ensure_messages_partition(p_month DATE)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'messages_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    IF NOT EXISTS (
+        SELECT 1 FROM messages_default
+        WHERE sent_at >= v_start AND sent_at < v_end
+    ) THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF messages FOR VALUES FROM (%L) TO (%L)',
+            v_name, v_start, v_end
+        );
+        RETURN;
+    END IF;
+
+    -- Rows for this month already landed in the default partition: build the
+    -- partition standalone, move the rows into it, then attach it.
+    EXECUTE format(
+        'CREATE TABLE %I (LIKE messages INCLUDING DEFAULTS INCLUDING GENERATED)',
+        v_name
+    );
+
+    EXECUTE format(
+        'WITH moved AS (
+             DELETE FROM messages_default
+             WHERE sent_at >= %L AND sent_at < %L
+             RETURNING id, shipment_id, sender_id, receiver_id,
+                       message_content, is_read, message_type, sent_at
+         )
+         INSERT INTO %I (id, shipment_id, sender_id, receiver_id,
+                         message_content, is_read, message_type, sent_at)
+         SELECT * FROM moved',
+        v_start, v_end, v_name
+    );
+
+    EXECUTE format(
+        'ALTER TABLE messages ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        v_name, v_start, v_end
+    );
+END;
+$$;
+
+-- Partitions from the oldest existing message up to three months ahead.
+DO $$
+DECLARE
+    v_month DATE := date_trunc('month', coalesce((SELECT min(sent_at) FROM messages_legacy), now()))::date;
+    v_last  DATE := date_trunc('month', now() + INTERVAL '3 months')::date;
+BEGIN
+    WHILE v_month <= v_last LOOP
+        PERFORM ensure_messages_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO messages (id, shipment_id, sender_id, receiver_id,
+                      message_content, is_read, message_type, sent_at)
+SELECT id, shipment_id, sender_id, receiver_id,
+       message_content, is_read, message_type, sent_at
+FROM messages_legacy;
+
+DROP TABLE messages_legacy;
+
+CREATE INDEX idx_messages_shipment_id ON messages(shipment_id, sent_at);
+CREATE INDEX idx_messages_sender_id ON messages(sender_id);
+CREATE INDEX idx_messages_receiver_id ON messages(receiver_id);
+CREATE INDEX idx_messages_search_vector ON messages USING GIN (search_vector);
+
+-- Replaces the low-selectivity idx_messages_is_read: only unread rows are indexed,
+-- keyed the way the unread-count queries filter.
+CREATE INDEX idx_messages_unread
+ON messages(shipment_id, receiver_id)
+WHERE is_read = false;
+
+-- ============================================================================
+-- Archive of closed (DELIVERED / CANCELLED) conversations
+-- ============================================================================
+
+CREATE TABLE message_archives (
+    shipment_id UUID PRIMARY KEY,
+    CONSTRAINT fk_message_archives_shipment
+        FOREIGN KEY (shipment_id)
+        REFERENCES shipments(id)
+        ON DELETE CASCADE,
+    message_count INT NOT NULL,
+    last_message_content TEXT,
+    last_sent_at TIMESTAMPTZ,
+    -- gzip-compressed JSON array of the archived messages
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- payload is already compressed by the application; skip TOAST compression.
+ALTER TABLE message_archives ALTER COLUMN payload SET STORAGE EXTERNAL;
@@ -0,0 +1,97 @@
+-- Per-user unread notification counter, kept in sync by statement-level triggers
+-- in the same transaction as the notification writes.
+
+CREATE TABLE notification_unread_counters (
+    user_id UUID PRIMARY KEY,
+    CONSTRAINT fk_notification_unread_counters_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Unread lookups (list + reconciliation) without scanning read rows
+CREATE INDEX idx_notifications_user_unread
+ON notifications(user_id, created_at DESC)
+WHERE is_read = false;
+
+INSERT INTO notification_unread_counters (user_id, unread_count)
+SELECT user_id, count(*)
+FROM notifications
+WHERE is_read = false
+GROUP BY user_id;
+
+-- Rows are applied in user_id order so concurrent bulk writes lock counters consistently
+CREATE FUNCTION notification_unread_counters_on_insert() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO notification_unread_counters AS c (user_id, unread_count, updated_at)
+    SELECT user_id, count(*), now()
+    FROM new_rows
+    WHERE is_read = false
+    GROUP BY user_id
+    ORDER BY user_id
+    ON CONFLICT (user_id) DO UPDATE
+        SET unread_count = c.unread_count + EXCLUDED.unread_count,
+            updated_at = now();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION notification_unread_counters_on_update() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO notification_unread_counters (user_id, unread_count)
+    SELECT DISTINCT user_id, 0
+    FROM new_rows
+    WHERE is_read = false
+    ORDER BY user_id
+    ON CONFLICT (user_id) DO NOTHING;
+
+    UPDATE notification_unread_counters c
+    SET unread_count = GREATEST(c.unread_count + d.delta, 0),
+        updated_at = now()
+    FROM (
+        SELECT x.user_id, sum(x.delta) AS delta
+        FROM (
+            SELECT user_id, 1 AS delta FROM new_rows WHERE is_read = false
+            UNION ALL
+            SELECT user_id, -1 AS delta FROM old_rows WHERE is_read = false
+        ) x
+        GROUP BY x.user_id
+        HAVING sum(x.delta) <> 0
+    ) d
+    WHERE c.user_id = d.user_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION notification_unread_counters_on_delete() RETURNS trigger AS $$
+BEGIN
+    UPDATE notification_unread_counters c
+    SET unread_count = GREATEST(c.unread_count - d.removed, 0),
+        updated_at = now()
+    FROM (
+        SELECT user_id, count(*) AS removed
+        FROM old_rows
+        WHERE is_read = false
+        GROUP BY user_id
+    ) d
+    WHERE c.user_id = d.user_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_notifications_unread_insert
+AFTER INSERT ON notifications
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT EXECUTE FUNCTION notification_unread_counters_on_insert();
+
+CREATE TRIGGER trg_notifications_unread_update
+AFTER UPDATE ON notifications
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT EXECUTE FUNCTION notification_unread_counters_on_update();
+
+CREATE TRIGGER trg_notifications_unread_delete
+AFTER DELETE ON notifications
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT EXECUTE FUNCTION notification_unread_counters_on_delete();
@@ -0,0 +1,37 @@
+-- Registry of side effects already performed for an event, claimed with
+-- INSERT ... ON CONFLICT DO NOTHING by event listeners.
+
+CREATE TABLE processed_events (
+    event_type VARCHAR(100) NOT NULL,
+    reference_id UUID NOT NULL,
+    recipient_id UUID NOT NULL,
+    processed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT pk_processed_events
+        PRIMARY KEY (event_type, reference_id, recipient_id)
+);
+
+CREATE INDEX idx_processed_events_processed_at
+ON processed_events(processed_at);
+
+-- Backfill from notifications already sent, so replayed events stay deduplicated
+INSERT INTO processed_events (event_type, reference_id, recipient_id, processed_at)
+SELECT k.event_type, n.reference_id, n.user_id, min(n.created_at)
+FROM notifications n
+JOIN (
+    VALUES
+        ('PAYMENT_REQUIRED', 'SHIPMENT', 'Payment Required', NULL),
+        ('PAYMENT_CAPTURED', 'SHIPMENT', 'Payment Completed', NULL),
+        ('PAYMENT_REFUNDED', 'SHIPMENT', 'Payment Refunded', NULL),
+        ('SHIPMENT_IN_TRANSIT', 'SHIPMENT', 'Shipment in transit', NULL),
+        ('SHIPMENT_DELIVERED', 'SHIPMENT', 'Shipment delivered', NULL),
+        ('SHIPMENT_CANCELLED', 'SHIPMENT', 'Shipment cancelled', NULL),
+        ('SHIPMENT_LOST', 'SHIPMENT', 'Shipment declared lost', NULL),
+        ('BOOKING_CONFIRMED', 'BOOKING', 'Trip update', 'The trip has been confirmed by the driver.'),
+        ('BOOKING_CANCELLED', 'BOOKING', 'Trip update', 'The trip was cancelled.')
+) AS k(event_type, reference_type, title, message)
+    ON n.reference_type::text = k.reference_type
+   AND n.title = k.title
+   AND (k.message IS NULL OR n.message = k.message)
+WHERE n.reference_id IS NOT NULL
+GROUP BY k.event_type, n.reference_id, n.user_id
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,39 @@
+-- Transactional outbox: domain events are written in the same transaction as the
+-- state change and dispatched to listeners by OutboxRelay.
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    locked_until TIMESTAMPTZ,
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    processed_at TIMESTAMPTZ,
+    CONSTRAINT chk_outbox_events_status
+        CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'FAILED'))
+);
+
+-- Claim scan and per-aggregate "earlier open event" check only touch open rows
+CREATE INDEX idx_outbox_events_open
+ON outbox_events(id)
+WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX idx_outbox_events_open_aggregate
+ON outbox_events(aggregate_id, id)
+WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX idx_outbox_events_done
+ON outbox_events(processed_at)
+WHERE status = 'DONE';
+
+-- Listeners that already handled an event; a retry only re-runs the ones that failed
+CREATE TABLE outbox_deliveries (
+    event_id BIGINT NOT NULL REFERENCES outbox_events(id) ON DELETE CASCADE,
+    listener VARCHAR(255) NOT NULL,
+    delivered_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (event_id, listener)
+);
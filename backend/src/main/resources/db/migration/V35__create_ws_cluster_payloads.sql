@@ -0,0 +1,11 @@
+-- WebSocket cluster fan-out: batches too large for a NOTIFY payload (8000 bytes)
+-- are stored here and only their id is sent on the channel. Rows are short-lived.
+
+CREATE TABLE ws_cluster_payloads (
+    id BIGSERIAL PRIMARY KEY,
+    body TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_ws_cluster_payloads_created_at
+ON ws_cluster_payloads(created_at);
@@ -0,0 +1,12 @@
+-- Last state pushed over WebSocket for each booking / shipment.
+-- Deltas are computed against this row and carry its version, so clients can
+-- detect gaps and resync from the same snapshot.
+
+CREATE TABLE live_state_snapshots (
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id   UUID        NOT NULL,
+    version        BIGINT      NOT NULL,
+    state          JSONB       NOT NULL,
+    updated_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (aggregate_type, aggregate_id)
+);
@@ -0,0 +1,25 @@
+-- Outgoing mail, written in the caller's transaction and delivered by MailRelay.
+
+CREATE TABLE mail_queue (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    html TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    locked_until TIMESTAMPTZ,
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    sent_at TIMESTAMPTZ,
+    CONSTRAINT chk_mail_queue_status
+        CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED'))
+);
+
+CREATE INDEX idx_mail_queue_open
+ON mail_queue(id)
+WHERE status IN ('PENDING', 'SENDING');
+
+CREATE INDEX idx_mail_queue_sent
+ON mail_queue(sent_at)
+WHERE status = 'SENT';
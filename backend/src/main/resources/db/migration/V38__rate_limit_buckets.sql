@@ -0,0 +1,10 @@
+-- Shared token buckets for RateLimitFilter (app.rate-limit.store=jdbc), managed by bucket4j.
+
+CREATE TABLE rate_limit_buckets (
+    id VARCHAR(255) PRIMARY KEY,
+    state BYTEA,
+    expires_at BIGINT
+);
+
+CREATE INDEX idx_rate_limit_buckets_expires_at
+ON rate_limit_buckets(expires_at);
@@ -0,0 +1,22 @@
+-- Refresh tokens are looked up by their SHA-256 digest; the raw JWT is no longer stored.
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash VARCHAR(64);
+
+UPDATE refresh_tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex');
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+
+ALTER TABLE refresh_tokens
+ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+DROP INDEX idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP CONSTRAINT uk_refresh_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+-- Candidates for RefreshTokenPurgeJob
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+
+CREATE INDEX idx_refresh_tokens_revoked
+ON refresh_tokens(id)
+WHERE revoked;
@@ -0,0 +1,2 @@
+-- Reference checks before a shared (deduplicated) file is deleted
+CREATE INDEX idx_photos_public_id ON photos(public_id);
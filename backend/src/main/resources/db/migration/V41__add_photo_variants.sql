@@ -0,0 +1,20 @@
+-- Downscaled copies of each photo, generated in the background by PhotoVariantService.
+-- Existing rows start as PENDING and are picked up by the backfill.
+
+ALTER TABLE photos
+    ADD COLUMN thumbnail_url TEXT,
+    ADD COLUMN thumbnail_public_id VARCHAR(255),
+    ADD COLUMN medium_url TEXT,
+    ADD COLUMN medium_public_id VARCHAR(255),
+    ADD COLUMN variant_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN variant_attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN variant_locked_until TIMESTAMPTZ;
+
+-- Claim queue for the generator and its backfill
+CREATE INDEX idx_photos_variant_pending
+ON photos(created_at)
+WHERE variant_status IN ('PENDING', 'PROCESSING');
+
+-- Reference checks on the variant ids, alongside idx_photos_public_id from V40
+CREATE INDEX idx_photos_thumbnail_public_id ON photos(thumbnail_public_id) WHERE thumbnail_public_id IS NOT NULL;
+CREATE INDEX idx_photos_medium_public_id ON photos(medium_public_id) WHERE medium_public_id IS NOT NULL;
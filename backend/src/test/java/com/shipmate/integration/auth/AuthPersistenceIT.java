@@ -21,6 +21,7 @@ import com.shipmate.model.user.UserType;
 import com.shipmate.repository.auth.RefreshTokenRepository;
 import com.shipmate.repository.auth.VerificationTokenRepository;
 import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.TokenDigests;
 import com.shipmate.service.auth.AuthService;
 import com.shipmate.service.auth.VerificationTokenService;
 
@@ -95,7 +96,7 @@ class AuthPersistenceIT extends AbstractIntegrationTest {
         authService.logout(refreshTokenValue);
 
         RefreshToken token = refreshTokenRepository
-                .findByToken(refreshTokenValue)
+                .findByTokenHash(TokenDigests.sha256Hex(refreshTokenValue))
                 .orElseThrow();
 
         assertThat(token.isRevoked()).isTrue();
@@ -0,0 +1,136 @@
+package com.shipmate.integration.auth;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.JwtAuthFilter;
+import com.shipmate.security.JwtUtil;
+import com.shipmate.security.UserDetailsCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bearer-token requests through {@link JwtAuthFilter} backed by the real
+ * user store, first with the principal cached, then with it reloaded from the
+ * database on every request as before the cache. The test profile turns the
+ * shared cache off, so the filter gets its own. Defaults to a CI-friendly
+ * request count; run with -Djwt.load.requests=50000 for a full local sample.
+ */
+@Slf4j
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JwtAuthLoadIT extends AbstractIntegrationTest {
+
+    private static final int REQUESTS = Integer.getInteger("jwt.load.requests", 500);
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private UserDetailsService userDetailsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserDetailsCache userDetailsCache;
+    private JwtAuthFilter jwtAuthFilter;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(userDetailsService, meterRegistry, 60_000, 1_000);
+        jwtAuthFilter = new JwtAuthFilter(jwtUtil, userDetailsCache);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedPrincipal_shouldAuthenticateWithoutDatabaseFasterThanReloading() throws Exception {
+        User user = userRepository.save(
+                User.builder()
+                        .email("jwt-load-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Load")
+                        .lastName("Test")
+                        .role(Role.USER)
+                        .userType(UserType.SENDER)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+        String token = jwtUtil.generateAccessToken(user.getId(), user.getEmail(), user.getRole().name());
+        String userId = user.getId().toString();
+
+        // Warm-up both paths
+        for (int i = 0; i < Math.min(REQUESTS, 200); i++) {
+            userDetailsCache.evict(userId);
+            authenticate(token);
+        }
+        authenticate(token);
+
+        double missesBefore = misses();
+        long cachedNanos = time(() -> authenticate(token));
+        assertThat(misses()).as("steady-state requests load no principal").isEqualTo(missesBefore);
+
+        long reloadedNanos = time(() -> {
+            userDetailsCache.evict(userId);
+            authenticate(token);
+        });
+        assertThat(misses() - missesBefore).isEqualTo(REQUESTS);
+
+        long cachedPerRequest = cachedNanos / REQUESTS;
+        long reloadedPerRequest = reloadedNanos / REQUESTS;
+        log.info("[JWT-AUTH] requests={} cached avgNs={} reloaded avgNs={}",
+                REQUESTS, cachedPerRequest, reloadedPerRequest);
+
+        assertThat(cachedPerRequest)
+                .as("cached %d ns/request vs reloaded %d ns/request", cachedPerRequest, reloadedPerRequest)
+                .isLessThan(reloadedPerRequest);
+    }
+
+    private long time(ThrowingRunnable request) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            request.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+    }
+
+    private double misses() {
+        return meterRegistry.get("shipmate.security.principal.cache.requests")
+                .tag("result", "miss")
+                .counter()
+                .count();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
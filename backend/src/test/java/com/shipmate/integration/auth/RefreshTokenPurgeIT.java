@@ -0,0 +1,69 @@
+package com.shipmate.integration.auth;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.model.refreshToken.RefreshToken;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.auth.RefreshTokenRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.TokenDigests;
+import com.shipmate.service.auth.RefreshTokenPurgeJob;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RefreshTokenPurgeIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenPurgeJob refreshTokenPurgeJob;
+
+    @Test
+    void purge_shouldDeleteExpiredAndRevokedTokensAcrossBatches() {
+        User user = userRepository.save(User.builder()
+                .email("purge-" + UUID.randomUUID() + "@shipmate.com")
+                .password("hashed-password")
+                .firstName("Purge")
+                .lastName("User")
+                .userType(UserType.SENDER)
+                .role(Role.USER)
+                .verified(true)
+                .build());
+
+        RefreshToken active = save(user, "active", Instant.now().plusSeconds(3600), false);
+        for (int i = 0; i < 5; i++) {
+            save(user, "expired-" + i, Instant.now().minusSeconds(60), false);
+            save(user, "revoked-" + i, Instant.now().plusSeconds(3600), true);
+        }
+
+        ReflectionTestUtils.setField(refreshTokenPurgeJob, "batchSize", 3);
+        refreshTokenPurgeJob.purge();
+
+        assertThat(refreshTokenRepository.findAllByUser(user))
+                .extracting(RefreshToken::getId)
+                .containsExactly(active.getId());
+    }
+
+    private RefreshToken save(User user, String session, Instant expiresAt, boolean revoked) {
+        return refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .deviceId("device-1")
+                .sessionId(session)
+                .tokenHash(TokenDigests.sha256Hex(UUID.randomUUID().toString()))
+                .expiresAt(expiresAt)
+                .revoked(revoked)
+                .build());
+    }
+}
@@ -7,6 +7,7 @@ import com.shipmate.model.user.User;
 import com.shipmate.model.user.UserType;
 import com.shipmate.repository.auth.RefreshTokenRepository;
 import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.TokenDigests;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,7 +50,7 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
                 .user(user)
                 .deviceId("device-1")
                 .sessionId("session-1")
-                .token(UUID.randomUUID().toString())
+                .tokenHash(TokenDigests.sha256Hex(UUID.randomUUID().toString()))
                 .expiresAt(Instant.now().plusSeconds(3600))
                 .revoked(false)
                 .build();
@@ -61,7 +62,7 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
     }
 
     @Test
-    void shouldFindByToken() {
+    void shouldFindByTokenHash() {
         User user = createUser();
 
         String tokenValue = UUID.randomUUID().toString();
@@ -71,13 +72,13 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
                         .user(user)
                         .deviceId("device-1")
                         .sessionId("session-1")
-                        .token(tokenValue)
+                        .tokenHash(TokenDigests.sha256Hex(tokenValue))
                         .expiresAt(Instant.now().plusSeconds(3600))
                         .revoked(false)
                         .build()
         );
 
-        Optional<RefreshToken> found = refreshTokenRepository.findByToken(tokenValue);
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex(tokenValue));
 
         assertThat(found).isPresent();
         assertThat(found.get().getUser().getId()).isEqualTo(user.getId());
@@ -92,7 +93,7 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
                         .user(user)
                         .deviceId("device-1")
                         .sessionId("session-1")
-                        .token(UUID.randomUUID().toString())
+                        .tokenHash(TokenDigests.sha256Hex(UUID.randomUUID().toString()))
                         .expiresAt(Instant.now().plusSeconds(3600))
                         .revoked(false)
                         .build()
@@ -102,7 +103,7 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
                 .user(user)
                 .deviceId("device-1")
                 .sessionId("session-1")
-                .token(UUID.randomUUID().toString())
+                .tokenHash(TokenDigests.sha256Hex(UUID.randomUUID().toString()))
                 .expiresAt(Instant.now().plusSeconds(3600))
                 .revoked(false)
                 .build();
@@ -120,7 +121,7 @@ class RefreshTokenRepositoryIT extends AbstractIntegrationTest {
                         .user(user)
                         .deviceId("device-1")
                         .sessionId("session-1")
-                        .token(UUID.randomUUID().toString())
+                        .tokenHash(TokenDigests.sha256Hex(UUID.randomUUID().toString()))
                         .expiresAt(Instant.now().plusSeconds(3600))
                         .revoked(false)
                         .build()
@@ -0,0 +1,47 @@
+package com.shipmate.integration.event;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.service.event.ProcessedEventRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+class ProcessedEventRegistryIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private ProcessedEventRegistry processedEventRegistry;
+
+    @Test
+    void claim_shouldSucceedOnlyOnce() {
+        UUID referenceId = UUID.randomUUID();
+        UUID recipientId = UUID.randomUUID();
+
+        assertThat(processedEventRegistry.claim("PAYMENT_REFUNDED", referenceId, recipientId)).isTrue();
+        assertThat(processedEventRegistry.claim("PAYMENT_REFUNDED", referenceId, recipientId)).isFalse();
+    }
+
+    @Test
+    void claim_shouldBeScopedByEventTypeAndRecipient() {
+        UUID referenceId = UUID.randomUUID();
+        UUID recipientId = UUID.randomUUID();
+
+        assertThat(processedEventRegistry.claim("BOOKING_CONFIRMED", referenceId, recipientId)).isTrue();
+        assertThat(processedEventRegistry.claim("BOOKING_CANCELLED", referenceId, recipientId)).isTrue();
+        assertThat(processedEventRegistry.claim("BOOKING_CONFIRMED", referenceId, UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void release_shouldAllowClaimAgain() {
+        UUID referenceId = UUID.randomUUID();
+        UUID recipientId = UUID.randomUUID();
+
+        processedEventRegistry.claim("PAYMENT_CAPTURED", referenceId, recipientId);
+        processedEventRegistry.release("PAYMENT_CAPTURED", referenceId, recipientId);
+
+        assertThat(processedEventRegistry.claim("PAYMENT_CAPTURED", referenceId, recipientId)).isTrue();
+    }
+}
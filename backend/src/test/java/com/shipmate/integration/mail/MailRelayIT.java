@@ -0,0 +1,123 @@
+package com.shipmate.integration.mail;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.service.mail.MailQueue;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Runs the mail queue against an in-process SMTP server on the port configured
+ * in application-test.properties. Run with -Dmail.load.count=5000 for a larger
+ * throughput sample.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MailRelayIT extends AbstractIntegrationTest {
+
+    private static final int LOAD_COUNT = Integer.getInteger("mail.load.count", 200);
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(new ServerSetup(1025, null, ServerSetup.PROTOCOL_SMTP));
+
+    @Autowired private MailQueue mailQueue;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void enqueue_shouldDeliverOnlyAfterCommit() throws Exception {
+        String recipient = "queued-" + UUID.randomUUID() + "@shipmate.test";
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            mailQueue.enqueue(recipient, "Welcome", "<p>Hello</p>");
+            assertThat(smtp.getReceivedMessages()).isEmpty();
+        });
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Welcome");
+        assertThat(status(recipient).get("status")).isEqualTo("SENT");
+    }
+
+    @Test
+    void enqueue_shouldNotDeliverWhenCallerRollsBack() {
+        String recipient = "rolled-back-" + UUID.randomUUID() + "@shipmate.test";
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            mailQueue.enqueue(recipient, "Never", "<p>Never</p>");
+            status.setRollbackOnly();
+        });
+
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from mail_queue where recipient = ?", Long.class, recipient
+        )).isZero();
+    }
+
+    @Test
+    void enqueue_shouldScheduleRetryWhenSmtpIsDown() {
+        String recipient = "retry-" + UUID.randomUUID() + "@shipmate.test";
+        smtp.stop();
+
+        mailQueue.enqueue(recipient, "Retry", "<p>Retry</p>");
+
+        Map<String, Object> row = status(recipient);
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(row.get("last_error")).isNotNull();
+        assertThat(((Timestamp) row.get("available_at")).toInstant()).isAfter(Instant.now());
+    }
+
+    @Test
+    void drain_shouldDeliverBatchesOverReusedConnections() {
+        String batchId = UUID.randomUUID().toString();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < LOAD_COUNT; i++) {
+                mailQueue.enqueue("load-" + i + "-" + batchId + "@shipmate.test", "Load " + i, "<p>" + i + "</p>");
+            }
+        });
+
+        assertThat(smtp.getReceivedMessages()).hasSize(LOAD_COUNT);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from mail_queue where recipient like ? and status = 'SENT'",
+                Long.class, "%" + batchId + "%"
+        )).isEqualTo(LOAD_COUNT);
+    }
+
+    @Test
+    void enqueue_shouldParkUnparseableAddressWithoutRetrying() {
+        String recipient = "<broken-" + UUID.randomUUID() + "@shipmate.test";
+
+        mailQueue.enqueue(recipient, "Broken", "<p>Broken</p>");
+
+        Map<String, Object> row = status(recipient);
+        assertThat(row.get("status")).isEqualTo("FAILED");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat((String) row.get("last_error")).startsWith("AddressException");
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+    }
+
+    private Map<String, Object> status(String recipient) {
+        return jdbcTemplate.queryForMap(
+                "select status, attempts, last_error, available_at from mail_queue where recipient = ?",
+                recipient
+        );
+    }
+}
@@ -0,0 +1,165 @@
+package com.shipmate.integration.message;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.model.booking.Booking;
+import com.shipmate.model.booking.BookingStatus;
+import com.shipmate.model.message.Message;
+import com.shipmate.model.message.MessageType;
+import com.shipmate.model.shipment.Shipment;
+import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.booking.BookingRepository;
+import com.shipmate.repository.message.MessageArchiveRepository;
+import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.conversation.ConversationService;
+import com.shipmate.service.message.MessageArchiveService;
+import com.shipmate.service.message.MessageService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+class MessageArchiveIT extends AbstractIntegrationTest {
+
+    @Autowired private MessageArchiveService messageArchiveService;
+    @Autowired private MessageService messageService;
+    @Autowired private ConversationService conversationService;
+    @Autowired private MessageRepository messageRepository;
+    @Autowired private MessageArchiveRepository messageArchiveRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShipmentRepository shipmentRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void archiveShipment_shouldMoveMessagesOutOfLiveTable() {
+        TestContext ctx = prepareDeliveredShipment();
+
+        messageArchiveService.archiveShipment(ctx.shipment().getId());
+
+        assertThat(messageRepository.findByShipment_Id(ctx.shipment().getId())).isEmpty();
+        assertThat(messageArchiveRepository.findById(ctx.shipment().getId()))
+                .hasValueSatisfying(archive -> {
+                    assertThat(archive.getMessageCount()).isEqualTo(3);
+                    assertThat(archive.getLastMessageContent()).isEqualTo("Third");
+                });
+    }
+
+    @Test
+    void getShipmentMessages_shouldTransparentlyReadArchivedConversation() {
+        TestContext ctx = prepareDeliveredShipment();
+
+        messageArchiveService.archiveShipment(ctx.shipment().getId());
+
+        var firstPage = messageService.getShipmentMessages(
+                ctx.shipment().getId(),
+                ctx.sender().getId(),
+                PageRequest.of(0, 2)
+        );
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getContent())
+                .extracting(MessageResponse::messageContent)
+                .containsExactly("First", "Second");
+
+        var secondPage = messageService.getShipmentMessages(
+                ctx.shipment().getId(),
+                ctx.driver().getId(),
+                PageRequest.of(1, 2)
+        );
+
+        assertThat(secondPage.getContent())
+                .extracting(MessageResponse::messageContent)
+                .containsExactly("Third");
+    }
+
+    @Test
+    void conversations_shouldKeepLastMessagePreviewAfterArchiving() {
+        TestContext ctx = prepareDeliveredShipment();
+
+        messageArchiveService.archiveShipment(ctx.shipment().getId());
+
+        var conversations = conversationService.getMyConversations(ctx.sender().getId());
+
+        assertThat(conversations)
+                .singleElement()
+                .satisfies(c -> assertThat(c.lastMessagePreview()).isEqualTo("Third"));
+    }
+
+    private TestContext prepareDeliveredShipment() {
+        User sender = createUser(UserType.SENDER);
+        User driver = createUser(UserType.DRIVER);
+
+        Booking booking = bookingRepository.save(
+                Booking.builder()
+                        .driver(driver)
+                        .status(BookingStatus.COMPLETED)
+                        .build()
+        );
+
+        Shipment shipment = shipmentRepository.save(
+                Shipment.builder()
+                        .booking(booking)
+                        .sender(sender)
+                        .status(ShipmentStatus.DELIVERED)
+                        .pickupAddress("Paris")
+                        .pickupLatitude(BigDecimal.valueOf(48.8566))
+                        .pickupLongitude(BigDecimal.valueOf(2.3522))
+                        .deliveryAddress("Lyon")
+                        .deliveryLatitude(BigDecimal.valueOf(45.7640))
+                        .deliveryLongitude(BigDecimal.valueOf(4.8357))
+                        .packageWeight(BigDecimal.valueOf(2.5))
+                        .packageValue(BigDecimal.valueOf(100))
+                        .requestedPickupDate(LocalDate.now())
+                        .requestedDeliveryDate(LocalDate.now().plusDays(1))
+                        .basePrice(BigDecimal.valueOf(20))
+                        .build()
+        );
+
+        createMessage(shipment, driver, sender, "First");
+        createMessage(shipment, sender, driver, "Second");
+        createMessage(shipment, driver, sender, "Third");
+
+        return new TestContext(sender, driver, shipment);
+    }
+
+    private void createMessage(Shipment shipment, User from, User to, String content) {
+        messageRepository.saveAndFlush(
+                Message.builder()
+                        .shipment(shipment)
+                        .sender(from)
+                        .receiver(to)
+                        .messageType(MessageType.TEXT)
+                        .messageContent(content)
+                        .isRead(true)
+                        .build()
+        );
+    }
+
+    private User createUser(UserType type) {
+        return userRepository.save(
+                User.builder()
+                        .email(type.name().toLowerCase() + "-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Test")
+                        .lastName("User")
+                        .role(Role.USER)
+                        .userType(type)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+
+    private record TestContext(User sender, User driver, Shipment shipment) {}
+}
@@ -0,0 +1,124 @@
+package com.shipmate.integration.notification;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.dto.request.notification.BroadcastNotificationRequest;
+import com.shipmate.dto.response.notification.BroadcastProgressResponse;
+import com.shipmate.model.notification.Notification;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.notification.NotificationRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.notification.NotificationBroadcastService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+class NotificationBroadcastIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private NotificationBroadcastService broadcastService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void broadcast_shouldReachActiveUsersInSegmentOnly() {
+        User driver = createUser(UserType.DRIVER, true);
+        User both = createUser(UserType.BOTH, true);
+        User sender = createUser(UserType.SENDER, true);
+        User inactiveDriver = createUser(UserType.DRIVER, false);
+
+        BroadcastProgressResponse progress = broadcastService.start(
+                new BroadcastNotificationRequest(
+                        "Scheduled maintenance",
+                        "The app will be unavailable tonight",
+                        null,
+                        null,
+                        UserType.DRIVER,
+                        null
+                )
+        );
+
+        assertThat(progress.status()).isEqualTo("COMPLETED");
+        assertThat(progress.written()).isEqualTo(progress.totalRecipients());
+        assertThat(progress.pushed()).isEqualTo(progress.totalRecipients());
+
+        assertThat(notificationsOf(driver)).singleElement().satisfies(n -> {
+            assertThat(n.getTitle()).isEqualTo("Scheduled maintenance");
+            assertThat(n.getNotificationType()).isEqualTo(NotificationType.SYSTEM_ALERT);
+            assertThat(n.getReferenceType()).isEqualTo(ReferenceType.SYSTEM);
+            assertThat(n.isRead()).isFalse();
+        });
+        assertThat(notificationsOf(both)).hasSize(1);
+        assertThat(notificationsOf(sender)).isEmpty();
+        assertThat(notificationsOf(inactiveDriver)).isEmpty();
+
+        assertThat(broadcastService.getProgress(progress.broadcastId()).status())
+                .isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void getProgress_shouldRejectUnknownBroadcast() {
+        assertThatThrownBy(() -> broadcastService.getProgress(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void purgeFinished_shouldEvictBroadcastOnceRetentionHasPassed() {
+        createUser(UserType.SENDER, true);
+        BroadcastProgressResponse progress = broadcastService.start(
+                new BroadcastNotificationRequest("Hello", "Welcome", null, null, UserType.SENDER, null)
+        );
+
+        broadcastService.purgeFinished();
+        assertThat(broadcastService.getProgress(progress.broadcastId()).status()).isEqualTo("COMPLETED");
+
+        ReflectionTestUtils.setField(broadcastService, "retentionMs", 0L);
+        try {
+            broadcastService.purgeFinished();
+        } finally {
+            ReflectionTestUtils.setField(broadcastService, "retentionMs", 3_600_000L);
+        }
+
+        assertThatThrownBy(() -> broadcastService.getProgress(progress.broadcastId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Notification> notificationsOf(User user) {
+        return notificationRepository
+                .findByUserOrderByCreatedAtDesc(user, PageRequest.of(0, 10))
+                .getContent();
+    }
+
+    private User createUser(UserType userType, boolean active) {
+        return userRepository.saveAndFlush(
+                User.builder()
+                        .email("user-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Test")
+                        .lastName("User")
+                        .role(Role.USER)
+                        .userType(userType)
+                        .verified(true)
+                        .active(active)
+                        .build()
+        );
+    }
+}
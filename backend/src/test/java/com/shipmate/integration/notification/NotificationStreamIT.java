@@ -0,0 +1,146 @@
+package com.shipmate.integration.notification;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.notification.NotificationService;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationStreamIT extends AbstractIntegrationTest {
+
+    private static final String PASSWORD = "Password123!";
+    private static final Pattern READY_ID = Pattern.compile("id:(\\S+)\\nevent:ready");
+
+    @Autowired private NotificationService notificationService;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void stream_shouldPushNotificationsAndUnreadCount() throws Exception {
+        User user = createUser();
+        MvcResult stream = open(obtainAccessToken(user.getEmail(), PASSWORD), null);
+
+        awaitContent(stream, "event:ready");
+        notify(user, "Parcel picked up");
+
+        String content = awaitContent(stream, "event:unread-count");
+        assertThat(content)
+                .contains("event:notification")
+                .contains("Parcel picked up")
+                .contains("{\"unreadCount\":1}");
+    }
+
+    @Test
+    void stream_shouldReplayMissedEventsAfterLastEventId() throws Exception {
+        User user = createUser();
+        String token = obtainAccessToken(user.getEmail(), PASSWORD);
+
+        MvcResult first = open(token, null);
+        String lastEventId = readyId(awaitContent(first, "event:ready"));
+
+        notify(user, "Missed while reconnecting");
+
+        MvcResult resumed = open(token, lastEventId);
+        String content = awaitContent(resumed, "event:ready");
+
+        assertThat(content)
+                .contains("Missed while reconnecting")
+                .doesNotContain("event:resync");
+        assertThat(content.indexOf("Missed while reconnecting"))
+                .isLessThan(content.indexOf("event:ready"));
+    }
+
+    @Test
+    void stream_shouldAskForResyncWhenHistoryIsUnavailable() throws Exception {
+        User user = createUser();
+
+        MvcResult stream = open(obtainAccessToken(user.getEmail(), PASSWORD), "unknown-node-42");
+
+        assertThat(awaitContent(stream, "event:ready")).contains("event:resync");
+    }
+
+    @Test
+    void stream_shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/notifications/me/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isIn(401, 403));
+    }
+
+    // ===================== HELPERS =====================
+
+    private MvcResult open(String token, String lastEventId) throws Exception {
+        var builder = get("/api/notifications/me/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Authorization", "Bearer " + token);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+
+        while (System.currentTimeMillis() < deadline) {
+            String content = result.getResponse().getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+
+        return fail("Stream never contained %s, got: %s", expected, result.getResponse().getContentAsString());
+    }
+
+    private static String readyId(String content) {
+        Matcher matcher = READY_ID.matcher(content);
+        assertThat(matcher.find()).as("ready event carries an id").isTrue();
+        return matcher.group(1);
+    }
+
+    private void notify(User user, String title) {
+        notificationService.createAndDispatch(
+                user.getId(),
+                title,
+                "Stream test",
+                NotificationType.DELIVERY_STATUS,
+                UUID.randomUUID(),
+                ReferenceType.SHIPMENT
+        );
+    }
+
+    private User createUser() {
+        return userRepository.saveAndFlush(
+                User.builder()
+                        .email("sse-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode(PASSWORD))
+                        .firstName("Stream")
+                        .lastName("Test")
+                        .role(Role.USER)
+                        .userType(UserType.SENDER)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package com.shipmate.integration.notification;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.model.notification.Notification;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.notification.NotificationRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.notification.NotificationService;
+import com.shipmate.service.notification.NotificationUnreadCounterService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+class NotificationUnreadCounterIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private NotificationUnreadCounterService unreadCounterService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void counter_shouldFollowInsertsReadsAndDeletes() {
+        User user = createUser();
+
+        Notification first = createNotification(user, false);
+        createNotification(user, false);
+        createNotification(user, true);
+
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(2);
+
+        notificationService.markOneAsRead(user.getId(), first.getId());
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(1);
+
+        createNotification(user, false);
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(2);
+
+        notificationService.markAllAsRead(user.getId());
+        assertThat(unreadCounterService.refresh(user.getId())).isZero();
+    }
+
+    @Test
+    void counter_shouldDropWhenUnreadNotificationDeleted() {
+        User user = createUser();
+
+        Notification notification = createNotification(user, false);
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(1);
+
+        notificationRepository.delete(notification);
+        notificationRepository.flush();
+
+        assertThat(unreadCounterService.refresh(user.getId())).isZero();
+    }
+
+    @Test
+    void reconcile_shouldRepairDriftedCounter() {
+        User user = createUser();
+
+        createNotification(user, false);
+        createNotification(user, false);
+
+        jdbcTemplate.update(
+                "update notification_unread_counters set unread_count = 42, updated_at = now() - interval '1 hour' where user_id = ?",
+                user.getId()
+        );
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(42);
+
+        unreadCounterService.reconcile();
+
+        assertThat(unreadCounterService.refresh(user.getId())).isEqualTo(2);
+    }
+
+    private User createUser() {
+        return userRepository.save(
+                User.builder()
+                        .email("user-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Test")
+                        .lastName("User")
+                        .role(Role.USER)
+                        .userType(UserType.SENDER)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+
+    private Notification createNotification(User user, boolean read) {
+        return notificationRepository.saveAndFlush(
+                Notification.builder()
+                        .user(user)
+                        .title("Test notification")
+                        .message("Test message")
+                        .notificationType(NotificationType.BOOKING_UPDATE)
+                        .isRead(read)
+                        .createdAt(Instant.now())
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,339 @@
+package com.shipmate.integration.outbox;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.dto.request.message.SendMessageRequest;
+import com.shipmate.listener.outbox.OutboxEvent;
+import com.shipmate.listener.outbox.OutboxListener;
+import com.shipmate.model.booking.Booking;
+import com.shipmate.model.booking.BookingStatus;
+import com.shipmate.model.shipment.Shipment;
+import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.booking.BookingRepository;
+import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.message.MessageService;
+import com.shipmate.service.outbox.OutboxListenerRegistry;
+import com.shipmate.service.outbox.OutboxRelay;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OutboxRelayIT.ProbeConfig.class)
+class OutboxRelayIT extends AbstractIntegrationTest {
+
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private OutboxRelay outboxRelay;
+    @Autowired private ProbeListener probe;
+    @Autowired private OutboxListenerRegistry listenerRegistry;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private MessageService messageService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    private final List<Message<?>> pushed = new CopyOnWriteArrayList<>();
+    private final MessageHandler capture = pushed::add;
+
+    @BeforeEach
+    void reset() {
+        probe.received.clear();
+        probe.failuresLeft = 0;
+        probe.sideEffects.clear();
+        probe.siblingHandled.clear();
+        probe.siblingFailuresLeft = 0;
+        brokerChannel.subscribe(capture);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        brokerChannel.unsubscribe(capture);
+    }
+
+    @Test
+    void committedEvent_shouldBeDispatchedOnceAfterCommit() {
+        UUID aggregateId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProbeEvent(aggregateId, 1));
+            assertThat(probe.received).isEmpty();
+        });
+
+        assertThat(probe.received).containsExactly(new ProbeEvent(aggregateId, 1));
+        assertThat(statusOf(aggregateId)).containsExactly("DONE");
+    }
+
+    @Test
+    void rolledBackEvent_shouldNeverBeDispatched() {
+        UUID aggregateId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProbeEvent(aggregateId, 1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(probe.received).isEmpty();
+        assertThat(statusOf(aggregateId)).isEmpty();
+    }
+
+    @Test
+    void failedEvent_shouldBeRetriedAndHoldBackLaterEventsOfSameAggregate() {
+        UUID aggregateId = UUID.randomUUID();
+        UUID otherAggregateId = UUID.randomUUID();
+        probe.failuresLeft = 1;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ProbeEvent(aggregateId, 1));
+            eventPublisher.publishEvent(new ProbeEvent(aggregateId, 2));
+            eventPublisher.publishEvent(new ProbeEvent(otherAggregateId, 1));
+        });
+
+        assertThat(probe.received).containsExactly(new ProbeEvent(otherAggregateId, 1));
+        assertThat(statusOf(aggregateId)).containsExactly("PENDING", "PENDING");
+        assertThat(jdbcTemplate.queryForObject(
+                "select last_error from outbox_events where aggregate_id = ? order by id limit 1",
+                String.class, aggregateId
+        )).contains("probe failure");
+
+        // Skip the backoff
+        jdbcTemplate.update("update outbox_events set available_at = now() where aggregate_id = ?", aggregateId);
+        outboxRelay.drain();
+
+        assertThat(probe.received).containsExactly(
+                new ProbeEvent(otherAggregateId, 1),
+                new ProbeEvent(aggregateId, 1),
+                new ProbeEvent(aggregateId, 2)
+        );
+        assertThat(statusOf(aggregateId)).containsExactly("DONE", "DONE");
+    }
+
+    @Test
+    void retry_shouldOnlyCallListenersThatHaveNotHandledTheEvent() {
+        UUID aggregateId = UUID.randomUUID();
+        probe.siblingFailuresLeft = 1;
+
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(new SiblingEvent(aggregateId)));
+
+        // The failing sibling does not stop the other listener from running
+        assertThat(probe.sideEffects).containsExactly(new SiblingEvent(aggregateId));
+        assertThat(probe.siblingHandled).isEmpty();
+        assertThat(statusOf(aggregateId)).containsExactly("PENDING");
+
+        jdbcTemplate.update("update outbox_events set available_at = now() where aggregate_id = ?", aggregateId);
+        outboxRelay.drain();
+
+        assertThat(probe.sideEffects).containsExactly(new SiblingEvent(aggregateId));
+        assertThat(probe.siblingHandled).containsExactly(new SiblingEvent(aggregateId));
+        assertThat(statusOf(aggregateId)).containsExactly("DONE");
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from outbox_deliveries d
+                join outbox_events e on e.id = d.event_id
+                where e.aggregate_id = ?
+                """, Integer.class, aggregateId)).isEqualTo(2);
+    }
+
+    @Test
+    void asyncRelay_shouldPushConversationUpdatesFromWorkerThreads() throws Exception {
+        User sender = createUser(UserType.SENDER);
+        User driver = createUser(UserType.DRIVER);
+        Shipment shipment = createShipment(sender, driver);
+
+        messageService.sendMessage(shipment.getId(), sender.getId(), new SendMessageRequest("Hello"));
+
+        // The inline test relay already delivered it; hand it to the worker threads instead
+        jdbcTemplate.update("""
+                delete from outbox_deliveries
+                where event_id in (select id from outbox_events where aggregate_id = ?)
+                """, shipment.getId());
+        jdbcTemplate.update("""
+                update outbox_events
+                   set status = 'PENDING', available_at = now(), processed_at = null
+                 where aggregate_id = ?
+                """, shipment.getId());
+        pushed.clear();
+
+        OutboxRelay asyncRelay = new OutboxRelay(
+                jdbcTemplate, objectMapper, listenerRegistry, transactionManager, new SimpleMeterRegistry(),
+                true, 2, 100, 50, 60, 1000, 300_000, 10, 7
+        );
+        asyncRelay.start();
+        try {
+            awaitStatus(shipment.getId(), "DONE");
+        } finally {
+            asyncRelay.stop();
+        }
+
+        assertThat(jdbcTemplate.queryForList(
+                "select last_error from outbox_events where aggregate_id = ?", String.class, shipment.getId()
+        )).containsOnlyNulls();
+        assertThat(pushedTo("/topic/shipments/" + shipment.getId() + "/messages")).isEqualTo(1);
+        assertThat(pushedTo("/topic/users/" + sender.getId() + "/conversation-updates")).isEqualTo(1);
+        assertThat(pushedTo("/topic/users/" + driver.getId() + "/conversation-updates")).isEqualTo(1);
+    }
+
+    private void awaitStatus(UUID aggregateId, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (statusOf(aggregateId).equals(List.of(expected))) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+
+        fail("Outbox events of %s ended as %s, last error: %s", aggregateId, statusOf(aggregateId),
+                jdbcTemplate.queryForList(
+                        "select last_error from outbox_events where aggregate_id = ?", String.class, aggregateId
+                ));
+    }
+
+    private long pushedTo(String destination) {
+        return pushed.stream()
+                .filter(m -> destination.equals(SimpMessageHeaderAccessor.getDestination(m.getHeaders())))
+                .count();
+    }
+
+    private User createUser(UserType type) {
+        return userRepository.save(
+                User.builder()
+                        .email("outbox-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Outbox")
+                        .lastName("Relay")
+                        .role(Role.USER)
+                        .userType(type)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+
+    private Shipment createShipment(User sender, User driver) {
+        Booking booking = bookingRepository.save(
+                Booking.builder()
+                        .driver(driver)
+                        .status(BookingStatus.CONFIRMED)
+                        .build()
+        );
+
+        return shipmentRepository.save(
+                Shipment.builder()
+                        .booking(booking)
+                        .sender(sender)
+                        .status(ShipmentStatus.ASSIGNED)
+                        .pickupAddress("Paris")
+                        .pickupLatitude(BigDecimal.valueOf(48.8566))
+                        .pickupLongitude(BigDecimal.valueOf(2.3522))
+                        .deliveryAddress("Lyon")
+                        .deliveryLatitude(BigDecimal.valueOf(45.7640))
+                        .deliveryLongitude(BigDecimal.valueOf(4.8357))
+                        .packageWeight(BigDecimal.valueOf(2.5))
+                        .packageValue(BigDecimal.valueOf(100))
+                        .requestedPickupDate(LocalDate.now())
+                        .requestedDeliveryDate(LocalDate.now().plusDays(1))
+                        .basePrice(BigDecimal.valueOf(20))
+                        .build()
+        );
+    }
+
+    private List<String> statusOf(UUID aggregateId) {
+        return jdbcTemplate.queryForList(
+                "select status from outbox_events where aggregate_id = ? order by id",
+                String.class, aggregateId
+        );
+    }
+
+    public record ProbeEvent(UUID id, int sequence) implements OutboxEvent {
+
+        @Override
+        public UUID aggregateId() {
+            return id;
+        }
+    }
+
+    public record SiblingEvent(UUID id) implements OutboxEvent {
+
+        @Override
+        public UUID aggregateId() {
+            return id;
+        }
+    }
+
+    static class ProbeListener {
+
+        final List<ProbeEvent> received = new CopyOnWriteArrayList<>();
+        volatile int failuresLeft;
+
+        final List<SiblingEvent> sideEffects = new CopyOnWriteArrayList<>();
+        final List<SiblingEvent> siblingHandled = new CopyOnWriteArrayList<>();
+        volatile int siblingFailuresLeft;
+
+        @OutboxListener
+        public void onSiblingSideEffect(SiblingEvent event) {
+            sideEffects.add(event);
+        }
+
+        @OutboxListener
+        public void onSiblingFlaky(SiblingEvent event) {
+            if (siblingFailuresLeft > 0) {
+                siblingFailuresLeft--;
+                throw new IllegalStateException("sibling failure");
+            }
+            siblingHandled.add(event);
+        }
+
+        @OutboxListener
+        public void onProbe(ProbeEvent event) {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("probe failure");
+            }
+            received.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        ProbeListener probeListener() {
+            return new ProbeListener();
+        }
+    }
+}
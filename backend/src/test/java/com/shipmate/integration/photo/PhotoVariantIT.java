@@ -0,0 +1,136 @@
+package com.shipmate.integration.photo;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.model.photo.Photo;
+import com.shipmate.model.photo.PhotoVariantStatus;
+import com.shipmate.repository.photo.PhotoRepository;
+import com.shipmate.service.photo.PhotoStorage;
+import com.shipmate.service.photo.PhotoVariantService;
+import com.shipmate.service.photo.StoredPhoto;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Import(PhotoVariantIT.FakeStorageConfig.class)
+class PhotoVariantIT extends AbstractIntegrationTest {
+
+    @Autowired private PhotoVariantService photoVariantService;
+    @Autowired private PhotoRepository photoRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private InMemoryPhotoStorage storage;
+
+    @Test
+    void submit_shouldRecordThumbnailAndMediumVariants() {
+        Photo photo = photoRepository.saveAndFlush(Photo.builder()
+                .url("https://img.test/original.png")
+                .publicId("original-" + UUID.randomUUID())
+                .photoType("SHIPMENT_PACKAGE")
+                .build());
+
+        photoVariantService.submit(List.of(photo));
+
+        entityManager.refresh(photo);
+        assertThat(photo.getVariantStatus()).isEqualTo(PhotoVariantStatus.READY);
+        assertThat(photo.getThumbnailPublicId()).isNotNull();
+        assertThat(photo.getMediumPublicId()).isNotNull();
+        assertThat(storage.files).containsKeys(photo.getThumbnailPublicId(), photo.getMediumPublicId());
+        assertThat(photo.getThumbnailUrl()).isEqualTo("https://img.test/" + photo.getThumbnailPublicId());
+    }
+
+    @Test
+    void backfill_shouldPickUpPendingPhotos() {
+        Photo photo = photoRepository.saveAndFlush(Photo.builder()
+                .url("https://img.test/original.png")
+                .publicId("original-" + UUID.randomUUID())
+                .photoType("AVATAR")
+                .build());
+
+        photoVariantService.backfill();
+
+        entityManager.refresh(photo);
+        assertThat(photo.getVariantStatus()).isEqualTo(PhotoVariantStatus.READY);
+        assertThat(photo.getThumbnailUrl()).isNotNull();
+    }
+
+    @Test
+    void submit_shouldMarkUndecodablePhotoFailed() {
+        Photo photo = photoRepository.saveAndFlush(Photo.builder()
+                .url("https://img.test/broken.jpg")
+                .publicId("broken-" + UUID.randomUUID())
+                .photoType("CLAIM_PROOF")
+                .build());
+
+        photoVariantService.submit(List.of(photo));
+
+        entityManager.refresh(photo);
+        assertThat(photo.getVariantStatus()).isEqualTo(PhotoVariantStatus.FAILED);
+        assertThat(photo.getThumbnailUrl()).isNull();
+    }
+
+    static class InMemoryPhotoStorage implements PhotoStorage {
+
+        final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+        @Override
+        public StoredPhoto store(Path file, String contentType, String folder) throws IOException {
+            String publicId = folder + "/" + UUID.randomUUID();
+            files.put(publicId, Files.readAllBytes(file));
+            return new StoredPhoto("https://img.test/" + publicId, publicId);
+        }
+
+        @Override
+        public InputStream open(String publicId, String url) {
+            if (publicId.startsWith("broken-")) {
+                return new ByteArrayInputStream("not an image".getBytes());
+            }
+            return new ByteArrayInputStream(files.computeIfAbsent(publicId, id -> png(1600, 1200)));
+        }
+
+        @Override
+        public void delete(String publicId) {
+            files.remove(publicId);
+        }
+
+        private static byte[] png(int width, int height) {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class FakeStorageConfig {
+
+        @Bean
+        @Primary
+        InMemoryPhotoStorage inMemoryPhotoStorage() {
+            return new InMemoryPhotoStorage();
+        }
+    }
+}
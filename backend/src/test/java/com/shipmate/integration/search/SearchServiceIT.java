@@ -0,0 +1,188 @@
+package com.shipmate.integration.search;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.dto.response.message.MessageResponse;
+import com.shipmate.dto.response.notification.NotificationResponse;
+import com.shipmate.model.booking.Booking;
+import com.shipmate.model.booking.BookingStatus;
+import com.shipmate.model.message.Message;
+import com.shipmate.model.message.MessageType;
+import com.shipmate.model.notification.Notification;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.shipment.Shipment;
+import com.shipmate.model.shipment.ShipmentStatus;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.booking.BookingRepository;
+import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.repository.notification.NotificationRepository;
+import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.search.SearchService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+class SearchServiceIT extends AbstractIntegrationTest {
+
+    @Autowired private SearchService searchService;
+    @Autowired private MessageRepository messageRepository;
+    @Autowired private NotificationRepository notificationRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ShipmentRepository shipmentRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void searchMyMessages_shouldOnlyReturnMessagesFromOwnShipments() {
+        String keyword = uniqueWord();
+
+        User sender = createUser(UserType.SENDER);
+        User driver = createUser(UserType.DRIVER);
+        User otherSender = createUser(UserType.SENDER);
+
+        Shipment mine = createShipment(sender, driver);
+        Shipment theirs = createShipment(otherSender, driver);
+
+        createMessage(mine, driver, sender, "The parcel " + keyword + " is damaged");
+        createMessage(theirs, driver, otherSender, "Another parcel " + keyword + " is damaged");
+
+        var page = searchService.searchMyMessages(sender.getId(), keyword, PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent())
+                .extracting(MessageResponse::shipmentId)
+                .containsExactly(mine.getId());
+
+        var driverPage = searchService.searchMyMessages(driver.getId(), keyword, PageRequest.of(0, 10));
+
+        assertThat(driverPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void searchAllMessages_shouldRankDenserMatchesFirst() {
+        String keyword = uniqueWord();
+
+        User sender = createUser(UserType.SENDER);
+        User driver = createUser(UserType.DRIVER);
+        Shipment shipment = createShipment(sender, driver);
+
+        createMessage(shipment, driver, sender, "Mentioning " + keyword + " once among many other unrelated words here");
+        createMessage(shipment, driver, sender, keyword + " " + keyword + " " + keyword);
+
+        var page = searchService.searchAllMessages(keyword, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent().get(0).messageContent())
+                .isEqualTo(keyword + " " + keyword + " " + keyword);
+    }
+
+    @Test
+    void searchMyNotifications_shouldMatchTitleAndMessage_forOwnerOnly() {
+        String keyword = uniqueWord();
+
+        User owner = createUser(UserType.SENDER);
+        User other = createUser(UserType.SENDER);
+
+        createNotification(owner, "Claim " + keyword, "Your claim was received");
+        createNotification(owner, "Claim update", "Claim " + keyword + " approved");
+        createNotification(other, "Claim " + keyword, "Not yours");
+
+        var page = searchService.searchMyNotifications(owner.getId(), keyword, PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent())
+                .extracting(NotificationResponse::getTitle)
+                .first()
+                .isEqualTo("Claim " + keyword);
+    }
+
+    @Test
+    void blankQuery_shouldFail() {
+        User user = createUser(UserType.SENDER);
+
+        assertThatThrownBy(() ->
+                searchService.searchMyMessages(user.getId(), "   ", PageRequest.of(0, 10))
+        ).isInstanceOf(IllegalArgumentException.class)
+         .hasMessageContaining("must not be empty");
+    }
+
+    private String uniqueWord() {
+        return "kw" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    private User createUser(UserType type) {
+        return userRepository.save(
+                User.builder()
+                        .email(type.name().toLowerCase() + "-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Test")
+                        .lastName("User")
+                        .role(Role.USER)
+                        .userType(type)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+
+    private Shipment createShipment(User sender, User driver) {
+        Booking booking = bookingRepository.save(
+                Booking.builder()
+                        .driver(driver)
+                        .status(BookingStatus.CONFIRMED)
+                        .build()
+        );
+
+        return shipmentRepository.save(
+                Shipment.builder()
+                        .booking(booking)
+                        .sender(sender)
+                        .status(ShipmentStatus.ASSIGNED)
+                        .pickupAddress("Paris")
+                        .pickupLatitude(BigDecimal.valueOf(48.8566))
+                        .pickupLongitude(BigDecimal.valueOf(2.3522))
+                        .deliveryAddress("Lyon")
+                        .deliveryLatitude(BigDecimal.valueOf(45.7640))
+                        .deliveryLongitude(BigDecimal.valueOf(4.8357))
+                        .packageWeight(BigDecimal.valueOf(2.5))
+                        .packageValue(BigDecimal.valueOf(100))
+                        .requestedPickupDate(LocalDate.now())
+                        .requestedDeliveryDate(LocalDate.now().plusDays(1))
+                        .basePrice(BigDecimal.valueOf(20))
+                        .build()
+        );
+    }
+
+    private void createMessage(Shipment shipment, User from, User to, String content) {
+        messageRepository.saveAndFlush(
+                Message.builder()
+                        .shipment(shipment)
+                        .sender(from)
+                        .receiver(to)
+                        .messageType(MessageType.TEXT)
+                        .messageContent(content)
+                        .isRead(false)
+                        .build()
+        );
+    }
+
+    private void createNotification(User user, String title, String message) {
+        notificationRepository.saveAndFlush(
+                Notification.builder()
+                        .user(user)
+                        .title(title)
+                        .message(message)
+                        .notificationType(NotificationType.SYSTEM_ALERT)
+                        .isRead(false)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,250 @@
+package com.shipmate.integration.state;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.dto.request.booking.CreateBookingRequest;
+import com.shipmate.dto.request.shipment.CreateShipmentRequest;
+import com.shipmate.model.DriverProfile.DriverProfile;
+import com.shipmate.model.DriverProfile.DriverStatus;
+import com.shipmate.model.booking.Booking;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.model.user.VehicleType;
+import com.shipmate.model.vehicle.Vehicle;
+import com.shipmate.model.vehicle.VehicleStatus;
+import com.shipmate.repository.driver.DriverProfileRepository;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.service.booking.BookingService;
+import com.shipmate.service.shipment.ShipmentService;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LiveStateIT extends AbstractIntegrationTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Autowired private BookingService bookingService;
+    @Autowired private ShipmentService shipmentService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private DriverProfileRepository driverProfileRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    private final List<Message<?>> pushed = new CopyOnWriteArrayList<>();
+    private final MessageHandler capture = pushed::add;
+
+    @BeforeEach
+    void subscribe() {
+        brokerChannel.subscribe(capture);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        brokerChannel.unsubscribe(capture);
+    }
+
+    @Test
+    void bookingTransition_shouldPushOnlyChangedFieldsWithNextVersion() throws Exception {
+        User sender = createUser(UserType.SENDER);
+        User driver = createDriver();
+        Booking booking = createBooking(sender, driver);
+        long versionAfterCreate = storedVersion("BOOKING", booking.getId());
+
+        assertThat(versionAfterCreate).isPositive();
+
+        pushed.clear();
+        bookingService.confirm(booking.getId(), driver.getId());
+
+        JsonNode delta = lastPush("/topic/bookings/" + booking.getId());
+
+        assertThat(delta.get("version").asLong()).isEqualTo(versionAfterCreate + 1);
+        assertThat(delta.get("status").asText()).isEqualTo("CONFIRMED");
+        assertThat(fieldNames(delta.get("changes"))).containsExactly("status");
+        assertThat(storedVersion("BOOKING", booking.getId())).isEqualTo(versionAfterCreate + 1);
+    }
+
+    @Test
+    void resync_shouldReturnCurrentSnapshotForParticipants() throws Exception {
+        User sender = createUser(UserType.SENDER);
+        User driver = createDriver();
+        Booking booking = createBooking(sender, driver);
+        bookingService.confirm(booking.getId(), driver.getId());
+
+        long version = storedVersion("BOOKING", booking.getId());
+        UUID shipmentId = jdbcTemplate.queryForObject(
+                "select id from shipments where booking_id = ?", UUID.class, booking.getId()
+        );
+
+        mockMvc.perform(get("/api/bookings/{id}/state", booking.getId())
+                        .header("Authorization", "Bearer " + obtainAccessToken(driver.getEmail(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version))
+                .andExpect(jsonPath("$.state.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.state['shipments." + shipmentId + ".status']").exists());
+
+        mockMvc.perform(get("/api/shipments/{id}/state", shipmentId)
+                        .header("Authorization", "Bearer " + obtainAccessToken(sender.getEmail(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state.bookingId").value(booking.getId().toString()));
+    }
+
+    @Test
+    void resync_shouldNotWriteOrPush() throws Exception {
+        User sender = createUser(UserType.SENDER);
+        User driver = createDriver();
+        Booking booking = createBooking(sender, driver);
+        long version = storedVersion("BOOKING", booking.getId());
+        String token = obtainAccessToken(driver.getEmail(), PASSWORD);
+
+        pushed.clear();
+        mockMvc.perform(get("/api/bookings/{id}/state", booking.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version));
+
+        assertThat(pushed).isEmpty();
+        assertThat(storedVersion("BOOKING", booking.getId())).isEqualTo(version);
+
+        // Nothing pushed yet: the state is built on the fly at version 0, and stays unstored
+        jdbcTemplate.update("delete from live_state_snapshots where aggregate_id = ?", booking.getId());
+
+        mockMvc.perform(get("/api/bookings/{id}/state", booking.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0))
+                .andExpect(jsonPath("$.state.status").value("PENDING"));
+
+        assertThat(pushed).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from live_state_snapshots where aggregate_id = ?", Integer.class, booking.getId()
+        )).isZero();
+    }
+
+    @Test
+    void resync_shouldRejectNonParticipants() throws Exception {
+        Booking booking = createBooking(createUser(UserType.SENDER), createDriver());
+        User stranger = createUser(UserType.SENDER);
+
+        mockMvc.perform(get("/api/bookings/{id}/state", booking.getId())
+                        .header("Authorization", "Bearer " + obtainAccessToken(stranger.getEmail(), PASSWORD)))
+                .andExpect(status().isForbidden());
+    }
+
+    // ===================== HELPERS =====================
+
+    private long storedVersion(String type, UUID id) {
+        return jdbcTemplate.queryForObject(
+                "select version from live_state_snapshots where aggregate_type = ? and aggregate_id = ?",
+                Long.class, type, id
+        );
+    }
+
+    private JsonNode lastPush(String destination) throws Exception {
+        Message<?> message = pushed.stream()
+                .filter(m -> destination.equals(SimpMessageHeaderAccessor.getDestination(m.getHeaders())))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("Nothing pushed to " + destination));
+
+        return objectMapper.readTree((byte[]) message.getPayload());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private Booking createBooking(User sender, User driver) {
+        var shipment = shipmentService.create(sender.getId(), createShipmentRequest());
+
+        return bookingService.createBooking(
+                driver.getId(),
+                new CreateBookingRequest(List.of(shipment.getId()))
+        );
+    }
+
+    private User createUser(UserType type) {
+        return userRepository.saveAndFlush(
+                User.builder()
+                        .email("live-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode(PASSWORD))
+                        .firstName("Live")
+                        .lastName("State")
+                        .role(Role.USER)
+                        .userType(type)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+    }
+
+    private User createDriver() {
+        User driver = createUser(UserType.DRIVER);
+
+        DriverProfile profile = DriverProfile.builder()
+                .user(driver)
+                .licenseNumber("TEST-" + UUID.randomUUID())
+                .status(DriverStatus.APPROVED)
+                .lastLatitude(BigDecimal.valueOf(48.8566))
+                .lastLongitude(BigDecimal.valueOf(2.3522))
+                .lastLocationUpdatedAt(Instant.now())
+                .build();
+
+        Vehicle vehicle = Vehicle.builder()
+                .driverProfile(profile)
+                .vehicleType(VehicleType.CAR)
+                .maxWeightCapacity(BigDecimal.valueOf(50))
+                .status(VehicleStatus.APPROVED)
+                .active(true)
+                .build();
+
+        profile.getVehicles().add(vehicle);
+        driverProfileRepository.saveAndFlush(profile);
+
+        return driver;
+    }
+
+    private CreateShipmentRequest createShipmentRequest() {
+        CreateShipmentRequest req = new CreateShipmentRequest();
+        req.setPickupAddress("Paris");
+        req.setPickupLatitude(BigDecimal.valueOf(48.8566));
+        req.setPickupLongitude(BigDecimal.valueOf(2.3522));
+        req.setDeliveryAddress("Lyon");
+        req.setDeliveryLatitude(BigDecimal.valueOf(48.8049));
+        req.setDeliveryLongitude(BigDecimal.valueOf(2.1204));
+        req.setPackageWeight(BigDecimal.valueOf(2.5));
+        req.setPackageValue(BigDecimal.valueOf(100));
+        req.setRequestedPickupDate(LocalDate.now());
+        req.setRequestedDeliveryDate(LocalDate.now().plusDays(1));
+        return req;
+    }
+}
@@ -0,0 +1,148 @@
+package com.shipmate.integration.ws;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.config.websocket.WebSocketPublisher;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.JwtUtil;
+
+/**
+ * Speaks raw STOMP over a plain WebSocket, so the test sees whether a frame
+ * arrives as binary or text rather than what a STOMP client makes of it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebSocketCborIT extends AbstractIntegrationTest {
+
+    @LocalServerPort private int port;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private WebSocketPublisher webSocketPublisher;
+    @Autowired private SimpUserRegistry simpUserRegistry;
+
+    private final BlockingQueue<WebSocketMessage<?>> frames = new LinkedBlockingQueue<>();
+
+    @Test
+    void cborSession_shouldReceiveBinaryFrameThatDecodesToPayload() throws Exception {
+        User user = userRepository.save(
+                User.builder()
+                        .email("ws-cbor-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Cbor")
+                        .lastName("Test")
+                        .role(Role.USER)
+                        .userType(UserType.SENDER)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+        String token = jwtUtil.generateAccessToken(user.getId(), user.getEmail(), user.getRole().name());
+        String topic = "/topic/users/" + user.getId() + "/cbor-test";
+
+        WebSocketSession session = new StandardWebSocketClient()
+                .execute(new AbstractWebSocketHandler() {
+                    @Override
+                    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
+                        frames.add(message);
+                    }
+                }, "ws://localhost:" + port + "/ws")
+                .get(10, TimeUnit.SECONDS);
+
+        try {
+            Map<String, String> connect = new LinkedHashMap<>();
+            connect.put("accept-version", "1.2");
+            connect.put("host", "localhost");
+            connect.put("Authorization", "Bearer " + token);
+            connect.put("payload-format", "cbor");
+            session.sendMessage(frame("CONNECT", connect));
+            assertThat(StompHeaderAccessor.wrap(nextFrame()).getCommand()).isEqualTo(StompCommand.CONNECTED);
+
+            session.sendMessage(frame("SUBSCRIBE", Map.of("id", "sub-0", "destination", topic)));
+            awaitSubscription(topic);
+
+            Map<String, Object> payload = Map.of("status", "IN_TRANSIT", "count", 3);
+            webSocketPublisher.send(topic, payload);
+
+            WebSocketMessage<?> raw = frames.poll(10, TimeUnit.SECONDS);
+            assertThat(raw).isInstanceOf(BinaryMessage.class);
+
+            Message<byte[]> message = decode(raw);
+            StompHeaderAccessor headers = StompHeaderAccessor.wrap(message);
+            assertThat(headers.getCommand()).isEqualTo(StompCommand.MESSAGE);
+            assertThat(headers.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            assertThat(headers.getFirstNativeHeader("payload-format")).isEqualTo("cbor");
+            assertThat(new CBORMapper().readTree(message.getPayload()))
+                    .isEqualTo(objectMapper.valueToTree(payload));
+        } finally {
+            session.close();
+        }
+    }
+
+    private Message<byte[]> nextFrame() throws InterruptedException {
+        WebSocketMessage<?> raw = frames.poll(10, TimeUnit.SECONDS);
+        assertThat(raw).as("frame from server").isNotNull();
+        return decode(raw);
+    }
+
+    private static Message<byte[]> decode(WebSocketMessage<?> raw) {
+        ByteBuffer buffer = raw instanceof TextMessage text
+                ? ByteBuffer.wrap(text.asBytes())
+                : ((BinaryMessage) raw).getPayload();
+        List<Message<byte[]>> decoded = new StompDecoder().decode(buffer);
+        assertThat(decoded).hasSize(1);
+        return decoded.get(0);
+    }
+
+    private static TextMessage frame(String command, Map<String, String> headers) {
+        StringBuilder frame = new StringBuilder(command).append('\n');
+        headers.forEach((name, value) -> frame.append(name).append(':').append(value).append('\n'));
+        return new TextMessage(frame.append('\n').append('\0').toString());
+    }
+
+    private void awaitSubscription(String topic) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (!simpUserRegistry.findSubscriptions(s -> topic.equals(s.getDestination())).isEmpty()) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+
+        fail("Subscription to %s was never registered", topic);
+    }
+}
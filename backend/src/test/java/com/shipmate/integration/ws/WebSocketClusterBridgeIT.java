@@ -0,0 +1,152 @@
+package com.shipmate.integration.ws;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.shipmate.ShipmateApplication;
+import com.shipmate.config.AbstractIntegrationTest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.websocket.cluster.enabled=true")
+class WebSocketClusterBridgeIT extends AbstractIntegrationTest {
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    private final BlockingQueue<Message<?>> receivedOnOtherNode = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Message<?>> receivedLocally = new LinkedBlockingQueue<>();
+    private final MessageHandler otherNodeHandler = receivedOnOtherNode::add;
+    private final MessageHandler localHandler = receivedLocally::add;
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(ShipmateApplication.class)
+                .profiles("test")
+                .properties(Map.of(
+                        "spring.datasource.url", postgres.getJdbcUrl(),
+                        "spring.datasource.username", postgres.getUsername(),
+                        "spring.datasource.password", postgres.getPassword(),
+                        "server.port", "0",
+                        "app.websocket.cluster.enabled", "true"
+                ))
+                .run();
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+        }
+    }
+
+    @BeforeEach
+    void subscribe() {
+        otherNode.getBean("brokerChannel", SubscribableChannel.class).subscribe(otherNodeHandler);
+        brokerChannel.subscribe(localHandler);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        otherNode.getBean("brokerChannel", SubscribableChannel.class).unsubscribe(otherNodeHandler);
+        brokerChannel.unsubscribe(localHandler);
+    }
+
+    @Test
+    void topicMessage_shouldBeDeliveredToOtherNode() throws Exception {
+        messagingTemplate.convertAndSend("/topic/shipments/cluster-test", Map.of("status", "IN_TRANSIT"));
+
+        Message<?> relayed = awaitMessage(receivedOnOtherNode, "/topic/shipments/cluster-test");
+
+        assertThat(relayed).isNotNull();
+        assertThat(new String((byte[]) relayed.getPayload(), StandardCharsets.UTF_8))
+                .contains("IN_TRANSIT");
+    }
+
+    @Test
+    void largeBurst_shouldBeDeliveredCompletelyInOrder() throws Exception {
+        String filler = "x".repeat(2_000);
+
+        for (int i = 0; i < 20; i++) {
+            messagingTemplate.convertAndSend("/topic/burst", Map.of("seq", i, "filler", filler));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            Message<?> relayed = awaitMessage(receivedOnOtherNode, "/topic/burst");
+            assertThat(relayed).isNotNull();
+            assertThat(objectMapper.readTree((byte[]) relayed.getPayload()).get("seq").asInt()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void oversizedMessage_shouldBeSpilledAndStillDelivered() throws Exception {
+        String body = "y".repeat(20_000);
+
+        messagingTemplate.convertAndSend("/topic/oversized", Map.of("body", body));
+
+        Message<?> relayed = awaitMessage(receivedOnOtherNode, "/topic/oversized");
+
+        assertThat(relayed).isNotNull();
+        assertThat(new String((byte[]) relayed.getPayload(), StandardCharsets.UTF_8)).contains(body);
+    }
+
+    @Test
+    void relayedMessage_shouldNotEchoBackToOrigin() throws Exception {
+        messagingTemplate.convertAndSend("/topic/echo-check", Map.of("ping", true));
+
+        assertThat(awaitMessage(receivedOnOtherNode, "/topic/echo-check")).isNotNull();
+
+        // The original send is seen locally once, and no relayed copy comes back
+        assertThat(awaitMessage(receivedLocally, "/topic/echo-check")).isNotNull();
+        assertThat(awaitMessage(receivedLocally, "/topic/echo-check", 500)).isNull();
+    }
+
+    private Message<?> awaitMessage(BlockingQueue<Message<?>> queue, String destination) throws InterruptedException {
+        return awaitMessage(queue, destination, 10_000);
+    }
+
+    private Message<?> awaitMessage(BlockingQueue<Message<?>> queue, String destination, long timeoutMs)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+
+            Message<?> message = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (message != null
+                    && destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                return message;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.shipmate.integration.ws;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.shipmate.config.AbstractIntegrationTest;
+import com.shipmate.config.websocket.WebSocketPublisher;
+import com.shipmate.model.user.Role;
+import com.shipmate.model.user.User;
+import com.shipmate.model.user.UserType;
+import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opens many concurrent STOMP sessions against the running server and fans a
+ * message out to all of them. Defaults to a CI-friendly session count; run with
+ * -Dws.load.sessions=5000 for a full local load test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebSocketLoadIT extends AbstractIntegrationTest {
+
+    private static final int SESSIONS = Integer.getInteger("ws.load.sessions", 300);
+
+    @LocalServerPort private int port;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private WebSocketPublisher webSocketPublisher;
+    @Autowired private SimpUserRegistry simpUserRegistry;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    @AfterEach
+    void disconnect() {
+        sessions.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+    }
+
+    @Test
+    void fanOut_shouldReachEverySubscribedSession() throws Exception {
+        User user = userRepository.save(
+                User.builder()
+                        .email("ws-load-" + UUID.randomUUID() + "@shipmate.com")
+                        .password(passwordEncoder.encode("Password123!"))
+                        .firstName("Load")
+                        .lastName("Test")
+                        .role(Role.USER)
+                        .userType(UserType.SENDER)
+                        .verified(true)
+                        .active(true)
+                        .build()
+        );
+        String token = jwtUtil.generateAccessToken(user.getId(), user.getEmail(), user.getRole().name());
+        String topic = "/topic/users/" + user.getId() + "/load-test";
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        CountDownLatch received = new CountDownLatch(SESSIONS);
+
+        List<CompletableFuture<StompSession>> pending = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            pending.add(client.connectAsync(
+                    "ws://localhost:" + port + "/ws",
+                    new WebSocketHttpHeaders(),
+                    connectHeaders,
+                    new StompSessionHandlerAdapter() {}
+            ));
+        }
+
+        for (CompletableFuture<StompSession> future : pending) {
+            StompSession session = future.get(30, TimeUnit.SECONDS);
+            sessions.add(session);
+            session.subscribe(topic, new CountingHandler(received));
+        }
+
+        awaitSubscriptions(topic, SESSIONS);
+
+        assertThat(meterRegistry.get("shipmate.ws.sessions.active").gauge().value())
+                .isGreaterThanOrEqualTo(SESSIONS);
+
+        webSocketPublisher.send(topic, Map.of("ping", "load"));
+
+        assertThat(received.await(30, TimeUnit.SECONDS))
+                .as("all %d sessions receive the broadcast", SESSIONS)
+                .isTrue();
+
+        assertThat(meterRegistry.get("shipmate.ws.frames.dropped").counter().count()).isZero();
+    }
+
+    private void awaitSubscriptions(String topic, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (simpUserRegistry.findSubscriptions(s -> topic.equals(s.getDestination())).size() >= expected) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+
+        fail("Only %d of %d subscriptions registered",
+                simpUserRegistry.findSubscriptions(s -> topic.equals(s.getDestination())).size(), expected);
+    }
+
+    private record CountingHandler(CountDownLatch latch) implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            latch.countDown();
+        }
+    }
+}
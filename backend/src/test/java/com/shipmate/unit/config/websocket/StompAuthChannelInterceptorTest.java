@@ -23,6 +23,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import com.shipmate.config.websocket.StompAuthChannelInterceptor;
 import com.shipmate.security.JwtUtil;
+import com.shipmate.security.UserDetailsCache;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.impl.DefaultClaims;
@@ -34,7 +35,7 @@ class StompAuthChannelInterceptorTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
 
     @Mock
     private MessageChannel channel;
@@ -68,7 +69,7 @@ class StompAuthChannelInterceptorTest {
         claims.setSubject(userId.toString());
 
         when(jwtUtil.extractClaims(token)).thenReturn(claims);
-        when(jwtUtil.isTokenValid(token, userId)).thenReturn(false);
+        when(jwtUtil.isTokenValid(claims, userId)).thenReturn(false);
 
         Message<?> result = interceptor.preSend(stompMessage(StompCommand.CONNECT, "Bearer " + token), channel);
 
@@ -100,14 +101,36 @@ class StompAuthChannelInterceptorTest {
         Message<byte[]> message = stompMessage(StompCommand.CONNECT, "Bearer " + token);
 
         when(jwtUtil.extractClaims(token)).thenReturn(claims);
-        when(jwtUtil.isTokenValid(token, userId)).thenReturn(true);
-        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(userDetails);
+        when(jwtUtil.isTokenValid(claims, userId)).thenReturn(true);
+        when(userDetailsCache.get(userId.toString())).thenReturn(userDetails);
 
         Message<?> result = interceptor.preSend(message, channel);
 
         assertThat(result).isSameAs(message);
 
-        verify(userDetailsService).loadUserByUsername(userId.toString());
+        verify(userDetailsCache).get(userId.toString());
+        verify(jwtUtil).extractClaims(token);
+    }
+
+    @Test
+    void preSend_shouldRejectDisabledUser() {
+        UUID userId = UUID.randomUUID();
+        String token = "good-token";
+        Claims claims = new DefaultClaims();
+        claims.setSubject(userId.toString());
+        UserDetails userDetails = User.withUsername(userId.toString())
+                .password("secret")
+                .authorities("ROLE_USER")
+                .disabled(true)
+                .build();
+
+        when(jwtUtil.extractClaims(token)).thenReturn(claims);
+        when(jwtUtil.isTokenValid(claims, userId)).thenReturn(true);
+        when(userDetailsCache.get(userId.toString())).thenReturn(userDetails);
+
+        Message<?> result = interceptor.preSend(stompMessage(StompCommand.CONNECT, "Bearer " + token), channel);
+
+        assertThat(result).isNull();
     }
 
     private Message<byte[]> stompMessage(StompCommand command, String authorizationHeader) {
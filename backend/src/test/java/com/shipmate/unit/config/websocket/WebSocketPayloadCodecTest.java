@@ -0,0 +1,94 @@
+package com.shipmate.unit.config.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.shipmate.config.websocket.WebSocketPayloadCodec;
+
+import static org.mockito.Mockito.mock;
+
+class WebSocketPayloadCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebSocketPayloadCodec codec = new WebSocketPayloadCodec(objectMapper);
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    private final byte[] json = "{\"status\":\"IN_TRANSIT\",\"count\":3}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void preSend_shouldLeaveJsonSessionsUntouched() {
+        codec.preSend(connect("json-session", null), channel);
+        Message<byte[]> message = brokerMessage("json-session", json);
+
+        Message<?> result = codec.preSend(message, channel);
+
+        assertThat(result).isSameAs(message);
+    }
+
+    @Test
+    void preSend_shouldEncodeCborForNegotiatedSession() throws Exception {
+        codec.preSend(connect("cbor-session", "cbor"), channel);
+
+        Message<?> result = codec.preSend(brokerMessage("cbor-session", json), channel);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(result);
+        assertThat(headers.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        assertThat(headers.getFirstNativeHeader("payload-format")).isEqualTo("cbor");
+        JsonNode decoded = new CBORMapper().readTree((byte[]) result.getPayload());
+        assertThat(decoded).isEqualTo(objectMapper.readTree(json));
+    }
+
+    @Test
+    void preSend_shouldEncodeSharedPayloadOnlyOnce() {
+        codec.preSend(connect("a", "cbor"), channel);
+        codec.preSend(connect("b", "cbor"), channel);
+
+        Message<?> first = codec.preSend(brokerMessage("a", json), channel);
+        Message<?> second = codec.preSend(brokerMessage("b", json), channel);
+
+        assertThat(second.getPayload()).isSameAs(first.getPayload());
+    }
+
+    @Test
+    void preSend_shouldStopEncodingAfterDisconnect() {
+        codec.preSend(connect("gone", "cbor"), channel);
+
+        SimpMessageHeaderAccessor disconnect = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        disconnect.setSessionId("gone");
+        codec.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), channel);
+
+        Message<byte[]> message = brokerMessage("gone", json);
+        assertThat(codec.preSend(message, channel)).isSameAs(message);
+    }
+
+    private Message<byte[]> connect(String sessionId, String format) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (format != null) {
+            accessor.setNativeHeader("payload-format", format);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<byte[]> brokerMessage(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/topic/shipments/1");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,120 @@
+package com.shipmate.unit.config.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.shipmate.config.websocket.SubscriptionOwnershipCache;
+import com.shipmate.config.websocket.WebSocketSubscriptionAuthorizer;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketSubscriptionAuthorizerTest {
+
+    @Mock
+    private SubscriptionOwnershipCache ownershipCache;
+
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private WebSocketSubscriptionAuthorizer authorizer;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void preSend_shouldAllowOwnUserTopic() {
+        Message<byte[]> message = subscribe("/topic/users/" + userId + "/notifications", "ROLE_USER");
+
+        assertThat(authorizer.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void preSend_shouldRejectOtherUsersTopic() {
+        Message<byte[]> message = subscribe("/topic/users/" + UUID.randomUUID() + "/notifications", "ROLE_USER");
+
+        assertThatThrownBy(() -> authorizer.preSend(message, channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void preSend_shouldAllowShipmentTopicForParticipant() {
+        UUID shipmentId = UUID.randomUUID();
+        when(ownershipCache.isShipmentParticipant(userId, shipmentId)).thenReturn(true);
+
+        Message<byte[]> message = subscribe("/topic/shipments/" + shipmentId + "/messages", "ROLE_USER");
+
+        assertThat(authorizer.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void preSend_shouldRejectBookingTopicForNonParticipant() {
+        UUID bookingId = UUID.randomUUID();
+        when(ownershipCache.isBookingParticipant(userId, bookingId)).thenReturn(false);
+
+        Message<byte[]> message = subscribe("/topic/bookings/" + bookingId, "ROLE_USER");
+
+        assertThatThrownBy(() -> authorizer.preSend(message, channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectUnknownTopics() {
+        Message<byte[]> message = subscribe("/topic/everything", "ROLE_USER");
+
+        assertThatThrownBy(() -> authorizer.preSend(message, channel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void preSend_shouldAllowAdminsAnywhere() {
+        Message<byte[]> message = subscribe("/topic/shipments/" + UUID.randomUUID(), "ROLE_ADMIN");
+
+        assertThat(authorizer.preSend(message, channel)).isSameAs(message);
+        verify(ownershipCache, never()).isShipmentParticipant(any(), any());
+    }
+
+    @Test
+    void preSend_shouldAllowUserDestinations() {
+        Message<byte[]> message = subscribe("/user/queue/delivery-code", "ROLE_USER");
+
+        assertThat(authorizer.preSend(message, channel)).isSameAs(message);
+    }
+
+    @Test
+    void preSend_shouldPassThroughNonSubscribeFrames() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/typing");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        assertThat(authorizer.preSend(message, channel)).isSameAs(message);
+    }
+
+    private Message<byte[]> subscribe(String destination, String role) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                userId.toString(), null, List.of(new SimpleGrantedAuthority(role))
+        ));
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,116 @@
+package com.shipmate.unit.controller.photo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.shipmate.controller.photo.PhotoContentController;
+import com.shipmate.service.photo.LocalPhotoStorage;
+
+class PhotoContentControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PhotoContentController controller;
+    private String publicId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LocalPhotoStorage storage = new LocalPhotoStorage(tempDir.resolve("photos").toString(), "/api/photos");
+        publicId = storage.store(Files.writeString(tempDir.resolve("upload"), "0123456789"), "image/jpeg", "f").publicId();
+        controller = new PhotoContentController(storage);
+    }
+
+    @Test
+    void getPhoto_shouldServeWholeFileWithCachingHeaders() throws Exception {
+        MockHttpServletResponse response = get(new MockHttpServletRequest("GET", "/api/photos/" + publicId));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + publicId.replace(".jpg", "") + "\"");
+        assertThat(response.getHeader("Cache-Control")).contains("immutable");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void getPhoto_shouldReturnNotModifiedForMatchingEtag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/" + publicId);
+        request.addHeader("If-None-Match", "\"" + publicId.replace(".jpg", "") + "\"");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void getPhoto_shouldServeRequestedRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/" + publicId);
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+    }
+
+    @Test
+    void getPhoto_shouldServeSuffixRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/" + publicId);
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void getPhoto_shouldRejectUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/" + publicId);
+        request.addHeader("Range", "bytes=20-");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void getPhoto_shouldHandOffToSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/photos/" + publicId);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(4L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+        assertThat(response.getContentLengthLong()).isEqualTo(6);
+    }
+
+    @Test
+    void getPhoto_shouldReturnNotFoundForUnknownId() throws Exception {
+        MockHttpServletResponse response = get(new MockHttpServletRequest("GET", "/api/photos/missing.jpg"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String id = request.getRequestURI().substring("/api/photos/".length());
+        controller.getPhoto(id, request, response);
+        return response;
+    }
+}
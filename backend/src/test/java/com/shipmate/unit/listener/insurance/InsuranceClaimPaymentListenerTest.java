@@ -34,6 +34,7 @@ import com.shipmate.model.user.User;
 import com.shipmate.repository.driver.DriverProfileRepository;
 import com.shipmate.repository.insurance.InsuranceClaimRepository;
 import com.shipmate.service.mail.MailService;
+import com.shipmate.security.UserDetailsCache;
 
 @ExtendWith(MockitoExtension.class)
 class InsuranceClaimPaymentListenerTest {
@@ -50,6 +51,9 @@ class InsuranceClaimPaymentListenerTest {
     @Mock
     private MailService mailService;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private InsuranceClaimPaymentListener listener;
 
@@ -123,6 +127,7 @@ class InsuranceClaimPaymentListenerTest {
         assertThat(profile.getStatus()).isEqualTo(DriverStatus.SUSPENDED);
         verify(driverProfileRepository, org.mockito.Mockito.times(2)).save(profile);
         verify(mailService).sendDriverSuspendedEmail(profile.getUser().getEmail());
+        verify(userDetailsCache).evict(profile.getUser().getId());
 
         ArgumentCaptor<NotificationRequestedEvent> captor = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
         verify(eventPublisher, org.mockito.Mockito.atLeast(2)).publishEvent(captor.capture());
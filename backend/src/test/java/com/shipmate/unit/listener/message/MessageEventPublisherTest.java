@@ -18,8 +18,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import com.shipmate.config.websocket.WebSocketPublisher;
 import com.shipmate.dto.response.conversation.ConversationResponse;
 import com.shipmate.dto.response.message.MessageResponse;
 import com.shipmate.dto.response.photo.PhotoResponse;
@@ -39,7 +39,7 @@ import com.shipmate.repository.message.MessageRepository;
 class MessageEventPublisherTest {
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketPublisher webSocketPublisher;
 
     @Mock
     private MessageMapper messageMapper;
@@ -79,9 +79,9 @@ class MessageEventPublisherTest {
 
         publisher.messageSent(message);
 
-        verify(messagingTemplate).convertAndSend("/topic/shipments/" + message.getShipment().getId() + "/messages", messageResponse);
-        verify(messagingTemplate).convertAndSend(eq("/topic/users/" + message.getSender().getId() + "/conversation-updates"), any(ConversationResponse.class));
-        verify(messagingTemplate).convertAndSend(eq("/topic/users/" + message.getReceiver().getId() + "/conversation-updates"), any(ConversationResponse.class));
+        verify(webSocketPublisher).send("/topic/shipments/" + message.getShipment().getId() + "/messages", messageResponse);
+        verify(webSocketPublisher).send(eq("/topic/users/" + message.getSender().getId() + "/conversation-updates"), any(ConversationResponse.class));
+        verify(webSocketPublisher).send(eq("/topic/users/" + message.getReceiver().getId() + "/conversation-updates"), any(ConversationResponse.class));
     }
 
     @Test
@@ -94,7 +94,7 @@ class MessageEventPublisherTest {
 
         publisher.publishConversationUpdate(shipmentId, userId);
 
-        verify(messagingTemplate, never()).convertAndSend(eq("/topic/users/" + userId + "/conversation-updates"), any(ConversationResponse.class));
+        verify(webSocketPublisher, never()).send(eq("/topic/users/" + userId + "/conversation-updates"), any(ConversationResponse.class));
     }
 
     @Test
@@ -111,7 +111,7 @@ class MessageEventPublisherTest {
         publisher.publishConversationUpdate(message.getShipment().getId(), senderId);
 
         ArgumentCaptor<ConversationResponse> payloadCaptor = ArgumentCaptor.forClass(ConversationResponse.class);
-        verify(messagingTemplate).convertAndSend(eq("/topic/users/" + senderId + "/conversation-updates"), payloadCaptor.capture());
+        verify(webSocketPublisher).send(eq("/topic/users/" + senderId + "/conversation-updates"), payloadCaptor.capture());
 
         ConversationResponse payload = payloadCaptor.getValue();
         assertThat(payload.shipmentId()).isEqualTo(message.getShipment().getId());
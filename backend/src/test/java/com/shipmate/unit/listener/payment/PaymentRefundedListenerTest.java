@@ -1,6 +1,8 @@
 package com.shipmate.unit.listener.payment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,11 +22,10 @@ import org.springframework.context.ApplicationEventPublisher;
 import com.shipmate.listener.notification.NotificationRequestedEvent;
 import com.shipmate.listener.payment.PaymentRefundedEvent;
 import com.shipmate.listener.payment.PaymentRefundedListener;
-import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.user.User;
-import com.shipmate.repository.notification.NotificationRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
 import com.shipmate.service.mail.MailService;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +35,7 @@ class PaymentRefundedListenerTest {
     private ShipmentRepository shipmentRepository;
 
     @Mock
-    private NotificationRepository notificationRepository;
+    private ProcessedEventRegistry processedEventRegistry;
 
     @Mock
     private MailService mailService;
@@ -51,12 +52,11 @@ class PaymentRefundedListenerTest {
         PaymentRefundedEvent event = new PaymentRefundedEvent(shipment.getId(), shipment.getSender().getId(), new BigDecimal("42.00"));
 
         when(shipmentRepository.findById(shipment.getId())).thenReturn(Optional.of(shipment));
-        when(notificationRepository.existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                shipment.getSender().getId(),
+        when(processedEventRegistry.claim(
+                "PAYMENT_REFUNDED",
                 shipment.getId(),
-                ReferenceType.SHIPMENT,
-                "Payment Refunded"
-        )).thenReturn(true);
+                shipment.getSender().getId()
+        )).thenReturn(false);
 
         listener.onPaymentRefunded(event);
 
@@ -71,12 +71,11 @@ class PaymentRefundedListenerTest {
         PaymentRefundedEvent event = new PaymentRefundedEvent(shipment.getId(), shipment.getSender().getId(), amount);
 
         when(shipmentRepository.findById(shipment.getId())).thenReturn(Optional.of(shipment));
-        when(notificationRepository.existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                shipment.getSender().getId(),
+        when(processedEventRegistry.claim(
+                "PAYMENT_REFUNDED",
                 shipment.getId(),
-                ReferenceType.SHIPMENT,
-                "Payment Refunded"
-        )).thenReturn(false);
+                shipment.getSender().getId()
+        )).thenReturn(true);
 
         listener.onPaymentRefunded(event);
 
@@ -90,6 +89,27 @@ class PaymentRefundedListenerTest {
         verify(mailService).sendPaymentRefundedEmail(shipment.getSender().getEmail(), shipment.getId(), amount);
     }
 
+    @Test
+    void onPaymentRefunded_shouldReleaseClaimWhenMailFails() {
+        Shipment shipment = shipment();
+        BigDecimal amount = new BigDecimal("42.00");
+        PaymentRefundedEvent event = new PaymentRefundedEvent(shipment.getId(), shipment.getSender().getId(), amount);
+
+        when(shipmentRepository.findById(shipment.getId())).thenReturn(Optional.of(shipment));
+        when(processedEventRegistry.claim(
+                "PAYMENT_REFUNDED",
+                shipment.getId(),
+                shipment.getSender().getId()
+        )).thenReturn(true);
+        doThrow(new IllegalStateException("SMTP down"))
+                .when(mailService).sendPaymentRefundedEmail(shipment.getSender().getEmail(), shipment.getId(), amount);
+
+        assertThatThrownBy(() -> listener.onPaymentRefunded(event))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(processedEventRegistry).release("PAYMENT_REFUNDED", shipment.getId(), shipment.getSender().getId());
+    }
+
     private Shipment shipment() {
         User sender = User.builder()
                 .id(UUID.randomUUID())
@@ -23,8 +23,8 @@ import com.shipmate.model.notification.ReferenceType;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.shipment.ShipmentStatus;
 import com.shipmate.model.user.User;
-import com.shipmate.repository.notification.NotificationRepository;
 import com.shipmate.repository.shipment.ShipmentRepository;
+import com.shipmate.service.event.ProcessedEventRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ShipmentNotificationListenerTest {
@@ -33,7 +33,7 @@ class ShipmentNotificationListenerTest {
     private ShipmentRepository shipmentRepository;
 
     @Mock
-    private NotificationRepository notificationRepository;
+    private ProcessedEventRegistry processedEventRegistry;
 
     @Mock
     private ApplicationEventPublisher eventPublisher;
@@ -49,8 +49,8 @@ class ShipmentNotificationListenerTest {
 
         listener.onShipmentStatusChanged(new ShipmentStatusChangedEvent(shipmentId, ShipmentStatus.ASSIGNED));
 
-        verify(notificationRepository, never())
-                .existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any());
+        verify(processedEventRegistry, never())
+                .claim(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any());
         verify(eventPublisher, never()).publishEvent(org.mockito.ArgumentMatchers.any());
     }
 
@@ -59,12 +59,11 @@ class ShipmentNotificationListenerTest {
         UUID shipmentId = UUID.randomUUID();
         Shipment shipment = shipment(shipmentId);
         when(shipmentRepository.findById(shipmentId)).thenReturn(Optional.of(shipment));
-        when(notificationRepository.existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                shipment.getSender().getId(),
+        when(processedEventRegistry.claim(
+                "SHIPMENT_IN_TRANSIT",
                 shipmentId,
-                ReferenceType.SHIPMENT,
-                "Shipment in transit"
-        )).thenReturn(true);
+                shipment.getSender().getId()
+        )).thenReturn(false);
 
         listener.onShipmentStatusChanged(new ShipmentStatusChangedEvent(shipmentId, ShipmentStatus.IN_TRANSIT));
 
@@ -76,12 +75,11 @@ class ShipmentNotificationListenerTest {
         UUID shipmentId = UUID.randomUUID();
         Shipment shipment = shipment(shipmentId);
         when(shipmentRepository.findById(shipmentId)).thenReturn(Optional.of(shipment));
-        when(notificationRepository.existsByUser_IdAndReferenceIdAndReferenceTypeAndTitle(
-                shipment.getSender().getId(),
+        when(processedEventRegistry.claim(
+                "SHIPMENT_LOST",
                 shipmentId,
-                ReferenceType.SHIPMENT,
-                "Shipment declared lost"
-        )).thenReturn(false);
+                shipment.getSender().getId()
+        )).thenReturn(true);
 
         listener.onShipmentStatusChanged(new ShipmentStatusChangedEvent(shipmentId, ShipmentStatus.LOST));
 
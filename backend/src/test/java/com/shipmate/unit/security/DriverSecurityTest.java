@@ -0,0 +1,55 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.shipmate.security.DriverSecurity;
+
+class DriverSecurityTest {
+
+    private final DriverSecurity driverSecurity = new DriverSecurity();
+
+    @Test
+    void approvedDriver_shouldPassBothChecks() {
+        Authentication auth = authentication("ROLE_USER", "DRIVER_APPROVED");
+
+        assertThat(driverSecurity.hasDriverProfile(auth)).isTrue();
+        assertThat(driverSecurity.isApprovedDriver(auth)).isTrue();
+    }
+
+    @Test
+    void suspendedDriver_shouldHaveProfileButNotBeApproved() {
+        Authentication auth = authentication("ROLE_USER", "DRIVER_SUSPENDED");
+
+        assertThat(driverSecurity.hasDriverProfile(auth)).isTrue();
+        assertThat(driverSecurity.isApprovedDriver(auth)).isFalse();
+    }
+
+    @Test
+    void userWithoutProfile_shouldFailBothChecks() {
+        Authentication auth = authentication("ROLE_USER");
+
+        assertThat(driverSecurity.hasDriverProfile(auth)).isFalse();
+        assertThat(driverSecurity.isApprovedDriver(auth)).isFalse();
+    }
+
+    @Test
+    void missingAuthentication_shouldFailBothChecks() {
+        assertThat(driverSecurity.hasDriverProfile(null)).isFalse();
+        assertThat(driverSecurity.isApprovedDriver(null)).isFalse();
+    }
+
+    private Authentication authentication(String... authorities) {
+        return new UsernamePasswordAuthenticationToken(
+                UUID.randomUUID().toString(),
+                null,
+                AuthorityUtils.createAuthorityList(authorities)
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.shipmate.security.JwtAuthFilter;
+import com.shipmate.security.JwtKeyRing;
+import com.shipmate.security.JwtUtil;
+import com.shipmate.security.UserDetailsCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final JwtUtil jwtUtil = new JwtUtil(
+            new JwtKeyRing("HS256", "k1", "0123456789ABCDEF0123456789ABCDEF", "", "", "", ""), 900, 1209600);
+    private final UUID userId = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserDetailsCache userDetailsCache;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(userDetailsService, meterRegistry, 60_000, 1_000);
+        filter = new JwtAuthFilter(jwtUtil, userDetailsCache);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldAuthenticateWithoutReloadingThePrincipal() throws Exception {
+        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(principal(true));
+        String token = jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        Authentication first = authenticate(token);
+        assertThat(first).isNotNull();
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(first.getCredentials()).isNull();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(authenticate(token)).isNotNull();
+        }
+
+        verify(userDetailsService, times(1)).loadUserByUsername(userId.toString());
+        assertThat(cacheRequests("hit")).isEqualTo(5);
+        assertThat(cacheRequests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldNotKeepPasswordHashInCachedPrincipal() throws Exception {
+        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(principal(true));
+
+        assertThat(userDetailsCache.get(userId.toString()).getPassword()).isNull();
+    }
+
+    @Test
+    void doFilter_shouldRejectDisabledUsers() throws Exception {
+        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(principal(false));
+
+        assertThat(authenticate(jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER"))).isNull();
+    }
+
+    @Test
+    void doFilter_shouldReloadPrincipalAfterEviction() throws Exception {
+        when(userDetailsService.loadUserByUsername(userId.toString()))
+                .thenReturn(principal(true))
+                .thenReturn(principal(false));
+        String token = jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        assertThat(authenticate(token)).isNotNull();
+
+        userDetailsCache.evict(userId);
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void doFilter_shouldIgnoreTamperedTokens() throws Exception {
+        String token = jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        assertThat(authenticate(token.substring(0, token.length() - 2) + "xx")).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.get("shipmate.security.principal.cache.requests").tag("result", result).counter().count();
+    }
+
+    private User principal(boolean enabled) {
+        return (User) User.withUsername(userId.toString())
+                .password("$argon2id$hash")
+                .authorities("ROLE_USER")
+                .disabled(!enabled)
+                .build();
+    }
+}
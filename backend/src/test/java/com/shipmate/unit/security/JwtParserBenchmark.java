@@ -0,0 +1,78 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.security.JwtKeyRing;
+import com.shipmate.security.JwtUtil;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the parser JwtUtil builds once at startup with building one per
+ * call, as before, for throughput and allocation per parse. Not picked up by
+ * the default test run (the name matches none of the surefire includes); run
+ * with -Dtest=JwtParserBenchmark, and -Djwt.bench.iterations=200000 for a
+ * longer sample.
+ */
+@Slf4j
+class JwtParserBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("jwt.bench.iterations", 20_000);
+    private static final String SECRET = "0123456789ABCDEF0123456789ABCDEF";
+
+    @Test
+    void sharedParser_shouldAllocateLessAndParseFasterThanPerCallParser() {
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing("HS256", "k1", SECRET, "", "", "", ""), 900, 1209600);
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String token = jwtUtil.generateAccessToken(UUID.randomUUID(), "user@shipmate.com", "USER");
+
+        Runnable perCallParser = () -> Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        Runnable sharedParser = () -> jwtUtil.extractClaims(token);
+
+        // Warm-up both paths
+        measure(ITERATIONS / 10, perCallParser);
+        measure(ITERATIONS / 10, sharedParser);
+
+        Sample perCall = measure(ITERATIONS, perCallParser);
+        Sample shared = measure(ITERATIONS, sharedParser);
+
+        log.info("[JWT-PARSE] iterations={} perCall ops/s={} bytes/op={} | shared ops/s={} bytes/op={}",
+                ITERATIONS, perCall.opsPerSecond(), perCall.bytesPerOp(), shared.opsPerSecond(), shared.bytesPerOp());
+
+        assertThat(shared.opsPerSecond())
+                .as("shared %d ops/s vs per-call %d ops/s", shared.opsPerSecond(), perCall.opsPerSecond())
+                .isGreaterThan(perCall.opsPerSecond());
+        if (perCall.bytesPerOp() > 0) {
+            assertThat(shared.bytesPerOp())
+                    .as("shared %d bytes/op vs per-call %d bytes/op", shared.bytesPerOp(), perCall.bytesPerOp())
+                    .isLessThan(perCall.bytesPerOp());
+        }
+    }
+
+    // Allocation is read from the JVM's per-thread counter, 0 where it is unsupported
+    private static Sample measure(int iterations, Runnable parse) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parse.run();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Sample(iterations * 1_000_000_000L / elapsed, Math.max(0, bytes) / iterations);
+    }
+
+    private record Sample(long opsPerSecond, long bytesPerOp) {}
+}
@@ -0,0 +1,138 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.security.JwtKeyRing;
+import com.shipmate.security.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "0123456789ABCDEF0123456789ABCDEF";
+    private static final String NEW_SECRET = "FEDCBA9876543210FEDCBA9876543210";
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void rotation_shouldAcceptTokensSignedWithPreviousKey() {
+        JwtUtil before = util(new JwtKeyRing("HS256", "k1", OLD_SECRET, "", "", "", ""));
+        String issuedBeforeRotation = before.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        JwtUtil after = util(new JwtKeyRing("HS256", "k2", NEW_SECRET, "", "", "k1:" + OLD_SECRET, ""));
+
+        assertThat(after.extractClaims(issuedBeforeRotation).getSubject()).isEqualTo(userId.toString());
+        assertThat(after.extractClaims(after.generateAccessToken(userId, "user@shipmate.com", "USER")).getSubject())
+                .isEqualTo(userId.toString());
+    }
+
+    @Test
+    void rotation_shouldRejectTokensOnceOldKeyIsRemoved() {
+        String token = util(new JwtKeyRing("HS256", "k1", OLD_SECRET, "", "", "", ""))
+                .generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        JwtUtil rotated = util(new JwtKeyRing("HS256", "k2", NEW_SECRET, "", "", "", ""));
+
+        assertThatThrownBy(() -> rotated.extractClaims(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void legacyTokensWithoutKid_shouldVerifyAgainstLegacyKey() {
+        String legacy = Jwts.builder()
+                .setSubject(userId.toString())
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(OLD_SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        JwtUtil rotated = util(new JwtKeyRing("HS256", "k2", NEW_SECRET, "", "", "k1:" + OLD_SECRET, "k1"));
+
+        assertThat(rotated.extractClaims(legacy).getSubject()).isEqualTo(userId.toString());
+    }
+
+    @Test
+    void es256_shouldSignWithPrivateKeyAndPublishPublicKey() throws Exception {
+        KeyPair pair = ecKeyPair();
+        JwtKeyRing ring = new JwtKeyRing(
+                "ES256", "ec-1", "",
+                base64(pair.getPrivate()), base64(pair.getPublic()),
+                "", ""
+        );
+        JwtUtil jwtUtil = util(ring);
+
+        String token = jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        // Any service holding only the public key can verify
+        assertThat(Jwts.parserBuilder().setSigningKey(pair.getPublic()).build()
+                .parseClaimsJws(token).getBody().getSubject())
+                .isEqualTo(userId.toString());
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) ring.jwks().get("keys");
+        assertThat(keys).singleElement()
+                .satisfies(jwk -> assertThat(jwk)
+                        .containsEntry("kid", "ec-1")
+                        .containsEntry("kty", "EC")
+                        .containsKeys("x", "y"));
+    }
+
+    @Test
+    void hmacTokens_shouldNotVerifyInEs256Mode() throws Exception {
+        KeyPair pair = ecKeyPair();
+        JwtUtil ecUtil = util(new JwtKeyRing(
+                "ES256", "k1", "", base64(pair.getPrivate()), base64(pair.getPublic()), "", ""
+        ));
+        String hmacToken = util(hmacRing(OLD_SECRET)).generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        assertThatThrownBy(() -> ecUtil.extractClaims(hmacToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void extractClaims_shouldReuseTheKeyDecodedAtStartup() {
+        JwtKeyRing ring = spy(hmacRing(OLD_SECRET));
+        JwtUtil jwtUtil = util(ring);
+        String token = jwtUtil.generateAccessToken(userId, "user@shipmate.com", "USER");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(jwtUtil.extractClaims(token).getSubject()).isEqualTo(userId.toString());
+        }
+
+        // The parser resolves the key by kid on every call, and always gets the same decoded instance
+        verify(ring, times(3)).verificationKey("k1");
+        assertThat(ring.verificationKey("k1")).isSameAs(ring.verificationKey("k1"));
+    }
+
+    private static JwtUtil util(JwtKeyRing ring) {
+        return new JwtUtil(ring, 900, 1209600);
+    }
+
+    private static JwtKeyRing hmacRing(String secret) {
+        return new JwtKeyRing("HS256", "k1", secret, "", "", "", "");
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String base64(Key key) {
+        return Base64.getEncoder().encodeToString(key.getEncoded());
+    }
+}
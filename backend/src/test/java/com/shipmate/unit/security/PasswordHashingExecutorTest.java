@@ -0,0 +1,81 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.exception.PasswordHashingOverloadedException;
+import com.shipmate.security.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_shouldRunTaskOffCallerThreadAndRecordMetrics() {
+        executor = new PasswordHashingExecutor(meterRegistry, 2, 4, 2000, 2);
+
+        String thread = executor.execute("encode", () -> Thread.currentThread().getName());
+
+        assertThat(thread).startsWith("password-hash-");
+        assertThat(meterRegistry.get("shipmate.security.password.hash").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("shipmate.security.password.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldShedWhenQueueIsFull() throws Exception {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000, 3);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // One task holds the only thread, a second fills the queue
+        CompletableFuture.runAsync(() -> executor.execute("matches", () -> {
+            started.countDown();
+            await(release);
+            return true;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> executor.execute("matches", () -> true));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> executor.execute("matches", () -> true))
+                .isInstanceOf(PasswordHashingOverloadedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(3L);
+        assertThat(meterRegistry.get("shipmate.security.password.shed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_shouldShedWhenResultTakesLongerThanMaxWait() {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 4, 100, 2);
+
+        assertThatThrownBy(() -> executor.execute("encode", () -> {
+            await(release);
+            return "hash";
+        })).isInstanceOf(PasswordHashingOverloadedException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.shipmate.unit.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.shipmate.security.RateLimitBuckets;
+import com.shipmate.security.RateLimitFilter;
+import com.shipmate.security.RateLimitPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void login_shouldRejectOnceCapacityIsSpent() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitBuckets(null, meterRegistry, "local", 1000, 0, 1000));
+
+        assertThat(call(filter, "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = call(filter, "/api/auth/login", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(meterRegistry.get("shipmate.ratelimit.rejected").tag("policy", "login").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void buckets_shouldBeSeparatePerClientAndPolicy() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitBuckets(null, meterRegistry, "local", 1000, 0, 1000));
+
+        call(filter, "/api/auth/login", "10.0.0.1");
+        call(filter, "/api/auth/login", "10.0.0.1");
+
+        assertThat(call(filter, "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/auth/forgot-password", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unmatchedPath_shouldNotBeLimited() throws Exception {
+        RateLimitFilter filter = filter(new RateLimitBuckets(null, meterRegistry, "local", 1000, 0, 1000));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(call(filter, "/api/bookings/me", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void localStore_shouldStayWithinMaxKeys() {
+        RateLimitBuckets buckets = new RateLimitBuckets(null, meterRegistry, "local", 100, 0, 1000);
+        RateLimitPolicy policy = new RateLimitPolicy("login", List.of("/api/auth/login"), 5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10_000; i++) {
+            buckets.resolve(policy, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertThat(meterRegistry.get("shipmate.ratelimit.local.keys").gauge().value()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void localStore_shouldTrimAtMostOncePerInterval() {
+        RateLimitBuckets buckets = new RateLimitBuckets(null, meterRegistry, "local", 100, 60_000, 1000);
+        RateLimitPolicy policy = new RateLimitPolicy("login", List.of("/api/auth/login"), 5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10_000; i++) {
+            buckets.resolve(policy, "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        // Trimmed once when the bound was first crossed, then left alone until the interval passes
+        assertThat(meterRegistry.get("shipmate.ratelimit.local.keys").gauge().value()).isEqualTo(9_999);
+    }
+
+    private RateLimitFilter filter(RateLimitBuckets buckets) {
+        return new RateLimitFilter(buckets, meterRegistry, true,
+                2, 60,
+                2, 60,
+                30, 60,
+                30, 60,
+                60, 60);
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String path, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        return response;
+    }
+}
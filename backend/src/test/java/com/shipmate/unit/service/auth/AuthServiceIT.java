@@ -9,6 +9,7 @@ import com.shipmate.model.user.User;
 import com.shipmate.model.user.UserType;
 import com.shipmate.repository.auth.RefreshTokenRepository;
 import com.shipmate.repository.user.UserRepository;
+import com.shipmate.security.TokenDigests;
 import com.shipmate.service.auth.AuthService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -130,7 +131,7 @@ class AuthServiceIT extends AbstractIntegrationTest {
         assertThat(tokens).hasSize(1);
         assertThat(tokens.get(0).isRevoked()).isFalse();
         
-        assertThat(tokens.get(0).getToken()).isEqualTo(refreshResponse.getRefreshToken());
+        assertThat(tokens.get(0).getTokenHash()).isEqualTo(TokenDigests.sha256Hex(refreshResponse.getRefreshToken()));
         
         // Old token should no longer work
         assertThatThrownBy(() -> authService.refresh(oldRefreshToken))
@@ -153,7 +154,7 @@ class AuthServiceIT extends AbstractIntegrationTest {
         authService.logout(response.getRefreshToken());
 
         RefreshToken token = refreshTokenRepository
-                .findByToken(response.getRefreshToken())
+                .findByTokenHash(TokenDigests.sha256Hex(response.getRefreshToken()))
                 .orElseThrow();
 
         assertThat(token.isRevoked()).isTrue();
@@ -21,6 +21,8 @@ import com.shipmate.model.user.User;
 import com.shipmate.repository.auth.RefreshTokenRepository;
 import com.shipmate.repository.user.UserRepository;
 import com.shipmate.security.JwtUtil;
+import com.shipmate.security.TokenDigests;
+import com.shipmate.security.UserDetailsCache;
 import com.shipmate.service.auth.AuthService;
 import com.shipmate.service.auth.VerificationTokenService;
 import com.shipmate.service.mail.MailService;
@@ -54,6 +56,9 @@ class AuthServiceTest {
     @Mock
     private VerificationTokenService verificationTokenService;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -138,12 +143,12 @@ class AuthServiceTest {
     @Test
     void refresh_shouldReject_whenTokenIsRevoked() {
         RefreshToken refreshToken = RefreshToken.builder()
-                .token("revoked-token")
+                .tokenHash(TokenDigests.sha256Hex("revoked-token"))
                 .revoked(true)
                 .expiresAt(Instant.now().plusSeconds(3600))
                 .build();
 
-        when(refreshTokenRepository.findByToken("revoked-token"))
+        when(refreshTokenRepository.findByTokenHash(TokenDigests.sha256Hex("revoked-token")))
                 .thenReturn(Optional.of(refreshToken));
 
         assertThatThrownBy(() -> authService.refresh("revoked-token"))
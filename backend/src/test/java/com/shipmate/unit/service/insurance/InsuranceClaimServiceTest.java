@@ -21,11 +21,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.shipmate.dto.request.insurance.AdminClaimDecisionRequest;
@@ -83,6 +86,10 @@ class InsuranceClaimServiceTest {
     @Mock
     private AdminClaimMapper adminClaimMapper;
 
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(org.mockito.Mockito.mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private InsuranceClaimService service;
 
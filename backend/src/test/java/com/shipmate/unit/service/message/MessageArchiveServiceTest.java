@@ -0,0 +1,81 @@
+package com.shipmate.unit.service.message;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipmate.mapper.message.MessageMapper;
+import com.shipmate.repository.message.MessageArchiveRepository;
+import com.shipmate.repository.message.MessageRepository;
+import com.shipmate.service.message.MessageArchiveService;
+
+@ExtendWith(MockitoExtension.class)
+class MessageArchiveServiceTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageArchiveRepository messageArchiveRepository;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private MessageArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "archiveAfterDays", 30);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+    }
+
+    @Test
+    void archiveClosedConversations_shouldSkipFailingShipmentAndContinue() {
+        UUID broken = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // The broken shipment stays archivable, so it comes back in the next batch
+        when(messageRepository.findArchivableShipmentIds(anyCollection(), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(broken, first));
+        when(messageRepository.findArchivableShipmentIds(anyCollection(), any(), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(broken, second));
+        when(messageRepository.findByShipment_IdOrderBySentAtAsc(broken))
+                .thenThrow(new IllegalStateException("corrupt conversation"));
+        when(messageRepository.findByShipment_IdOrderBySentAtAsc(first)).thenReturn(List.of());
+        when(messageRepository.findByShipment_IdOrderBySentAtAsc(second)).thenReturn(List.of());
+
+        service.archiveClosedConversations();
+
+        verify(messageRepository, times(1)).findByShipment_IdOrderBySentAtAsc(broken);
+        verify(messageRepository).findByShipment_IdOrderBySentAtAsc(first);
+        verify(messageRepository).findByShipment_IdOrderBySentAtAsc(second);
+    }
+}
@@ -0,0 +1,120 @@
+package com.shipmate.unit.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.shipmate.listener.notification.NotificationRequestedEvent;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.service.notification.NotificationCoalescer;
+import com.shipmate.service.notification.NotificationDispatcher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerTest {
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    @Test
+    void burstWithSameKey_shouldCollapseIntoLatestNotification() {
+        NotificationCoalescer coalescer = coalescer(60_000, false);
+        UUID userId = UUID.randomUUID();
+        UUID bookingId = UUID.randomUUID();
+
+        coalescer.start();
+        coalescer.submit(event(userId, bookingId, NotificationType.BOOKING_UPDATE, "Trip confirmed"));
+        coalescer.submit(event(userId, bookingId, NotificationType.BOOKING_UPDATE, "Trip started"));
+        coalescer.submit(event(userId, bookingId, NotificationType.BOOKING_UPDATE, "Trip cancelled"));
+        coalescer.stop();
+
+        ArgumentCaptor<NotificationRequestedEvent> captor =
+                ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(dispatcher).submit(captor.capture());
+        assertThat(captor.getValue().title()).isEqualTo("Trip cancelled");
+    }
+
+    @Test
+    void differentKeys_shouldNotBeMerged() {
+        NotificationCoalescer coalescer = coalescer(60_000, false);
+        UUID userId = UUID.randomUUID();
+
+        coalescer.start();
+        coalescer.submit(event(userId, UUID.randomUUID(), NotificationType.DELIVERY_STATUS, "Shipment in transit"));
+        coalescer.submit(event(userId, UUID.randomUUID(), NotificationType.DELIVERY_STATUS, "Shipment in transit"));
+        coalescer.submit(event(UUID.randomUUID(), null, NotificationType.SYSTEM_ALERT, "Account Suspended"));
+        coalescer.stop();
+
+        verify(dispatcher, times(3)).submit(org.mockito.ArgumentMatchers.any());
+    }
+
+    @Test
+    void zeroWindow_shouldPassThroughImmediately() {
+        NotificationCoalescer coalescer = coalescer(0, false);
+        UUID bookingId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        coalescer.start();
+        coalescer.submit(event(userId, bookingId, NotificationType.BOOKING_UPDATE, "Trip confirmed"));
+        coalescer.submit(event(userId, bookingId, NotificationType.BOOKING_UPDATE, "Trip started"));
+
+        verify(dispatcher, times(2)).submit(org.mockito.ArgumentMatchers.any());
+        coalescer.stop();
+    }
+
+    @Test
+    void digestMode_shouldBatchLowPriorityTypesIntoOneSummary() {
+        NotificationCoalescer coalescer = coalescer(60_000, true);
+        UUID userId = UUID.randomUUID();
+
+        coalescer.start();
+        coalescer.submit(event(userId, UUID.randomUUID(), NotificationType.BOOKING_UPDATE, "Trip confirmed"));
+        coalescer.submit(event(userId, UUID.randomUUID(), NotificationType.BOOKING_UPDATE, "Trip started"));
+        coalescer.submit(event(userId, UUID.randomUUID(), NotificationType.BOOKING_UPDATE, "Trip completed"));
+        coalescer.stop();
+
+        ArgumentCaptor<NotificationRequestedEvent> captor =
+                ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(dispatcher).submit(captor.capture());
+
+        NotificationRequestedEvent digest = captor.getValue();
+        assertThat(digest.recipientUserId()).isEqualTo(userId);
+        assertThat(digest.title()).isEqualTo("3 new updates");
+        assertThat(digest.message()).contains("Trip confirmed", "Trip started", "Trip completed");
+        assertThat(digest.type()).isEqualTo(NotificationType.BOOKING_UPDATE);
+        assertThat(digest.referenceType()).isEqualTo(ReferenceType.SYSTEM);
+    }
+
+    private NotificationCoalescer coalescer(long windowMs, boolean digest) {
+        return new NotificationCoalescer(
+                dispatcher,
+                new SimpleMeterRegistry(),
+                windowMs,
+                digest,
+                Set.of(NotificationType.BOOKING_UPDATE),
+                3_600_000
+        );
+    }
+
+    private NotificationRequestedEvent event(UUID userId, UUID referenceId, NotificationType type, String title) {
+        return new NotificationRequestedEvent(
+                userId,
+                title,
+                title + " message",
+                type,
+                referenceId,
+                ReferenceType.BOOKING
+        );
+    }
+}
@@ -0,0 +1,114 @@
+package com.shipmate.unit.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.shipmate.listener.notification.NotificationRequestedEvent;
+import com.shipmate.model.notification.NotificationType;
+import com.shipmate.model.notification.ReferenceType;
+import com.shipmate.service.notification.NotificationDispatcher;
+import com.shipmate.service.notification.NotificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Test
+    void submit_whenAsyncDisabled_shouldDispatchInline() {
+        NotificationDispatcher dispatcher = dispatcher(false);
+        NotificationRequestedEvent event = event();
+
+        dispatcher.submit(event);
+
+        verify(notificationService).createAndDispatch(
+                event.recipientUserId(),
+                event.title(),
+                event.message(),
+                event.type(),
+                event.referenceId(),
+                event.referenceType()
+        );
+    }
+
+    @Test
+    void submit_whenAsyncDisabled_shouldPropagateFailures() {
+        NotificationDispatcher dispatcher = dispatcher(false);
+        when(notificationService.createAndDispatch(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("User not found"));
+
+        assertThatThrownBy(() -> dispatcher.submit(event()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void stop_shouldDrainQueuedNotifications() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationDispatcher dispatcher =
+                new NotificationDispatcher(notificationService, registry, true, 2, 100, 5);
+
+        dispatcher.start();
+        assertThat(dispatcher.isRunning()).isTrue();
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.submit(event());
+        }
+
+        dispatcher.stop();
+
+        assertThat(dispatcher.isRunning()).isFalse();
+        verify(notificationService, times(20))
+                .createAndDispatch(any(), any(), any(), any(), any(), any());
+        assertThat(registry.get("shipmate.notifications.dispatch.duration").timer().count())
+                .isEqualTo(20);
+    }
+
+    @Test
+    void workerFailure_shouldBeCountedAndNotStopTheWorker() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        NotificationDispatcher dispatcher =
+                new NotificationDispatcher(notificationService, registry, true, 1, 100, 5);
+        when(notificationService.createAndDispatch(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("User not found"))
+                .thenReturn(null);
+
+        dispatcher.start();
+        dispatcher.submit(event());
+        dispatcher.submit(event());
+        dispatcher.stop();
+
+        verify(notificationService, times(2))
+                .createAndDispatch(any(), any(), any(), any(), any(), any());
+        assertThat(registry.get("shipmate.notifications.dispatch.failed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private NotificationDispatcher dispatcher(boolean async) {
+        return new NotificationDispatcher(notificationService, new SimpleMeterRegistry(), async, 1, 10, 1);
+    }
+
+    private NotificationRequestedEvent event() {
+        return new NotificationRequestedEvent(
+                UUID.randomUUID(),
+                "Trip update",
+                "The trip has been confirmed by the driver.",
+                NotificationType.BOOKING_UPDATE,
+                UUID.randomUUID(),
+                ReferenceType.BOOKING
+        );
+    }
+}
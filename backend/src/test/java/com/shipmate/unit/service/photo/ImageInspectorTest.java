@@ -0,0 +1,89 @@
+package com.shipmate.unit.service.photo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.service.photo.ImageInspector;
+import com.shipmate.service.photo.ImageInspector.ImageFormat;
+import com.shipmate.service.photo.ImageInspector.ImageInfo;
+
+class ImageInspectorTest {
+
+    private final ImageInspector inspector = new ImageInspector(1_000_000);
+
+    @Test
+    void inspect_shouldIdentifyJpegAndPngByContent() throws Exception {
+        ImageInfo jpeg = inspector.inspect(image("jpeg", 64, 48));
+        ImageInfo png = inspector.inspect(image("png", 30, 20));
+
+        assertThat(jpeg).isEqualTo(new ImageInfo(ImageFormat.JPEG, 64, 48));
+        assertThat(png).isEqualTo(new ImageInfo(ImageFormat.PNG, 30, 20));
+    }
+
+    @Test
+    void inspect_shouldReadWebpDimensionsFromHeader() throws Exception {
+        // VP8X canvas of 320x200, stored minus one as 24-bit little-endian
+        byte[] webp = riff("VP8X", new byte[] {0, 0, 0, 0, 0x3F, 0x01, 0, (byte) 0xC7, 0, 0});
+
+        ImageInfo info = inspector.inspect(new ByteArrayInputStream(webp));
+
+        assertThat(info).isEqualTo(new ImageInfo(ImageFormat.WEBP, 320, 200));
+    }
+
+    @Test
+    void inspect_shouldRejectOtherFormats() {
+        byte[] gif = {'G', 'I', 'F', '8', '9', 'a', 1, 0, 1, 0};
+
+        assertThatThrownBy(() -> inspector.inspect(new ByteArrayInputStream(gif)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid image type");
+    }
+
+    @Test
+    void inspect_shouldRejectTruncatedHeader() {
+        byte[] truncated = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+
+        assertThatThrownBy(() -> inspector.inspect(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Image could not be read");
+    }
+
+    @Test
+    void inspect_shouldRejectTooManyPixels() {
+        assertThatThrownBy(() -> inspector.inspect(image("png", 2000, 1000)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Image dimensions exceed maximum limit");
+    }
+
+    private static ByteArrayInputStream image(String format, int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static byte[] riff(String chunk, byte[] payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("RIFF".getBytes());
+        writeLe(out, 4 + 8 + payload.length);
+        out.writeBytes("WEBP".getBytes());
+        out.writeBytes(chunk.getBytes());
+        writeLe(out, payload.length);
+        out.writeBytes(payload);
+        return out.toByteArray();
+    }
+
+    private static void writeLe(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+}
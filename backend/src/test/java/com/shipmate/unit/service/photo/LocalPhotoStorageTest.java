@@ -0,0 +1,80 @@
+package com.shipmate.unit.service.photo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.shipmate.service.photo.LocalPhotoStorage;
+import com.shipmate.service.photo.StoredPhoto;
+
+class LocalPhotoStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalPhotoStorage storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalPhotoStorage(tempDir.resolve("photos").toString(), "https://cdn.test/api/photos/");
+    }
+
+    @Test
+    void store_shouldAddressFileBySha256() throws Exception {
+        Path upload = Files.writeString(tempDir.resolve("upload"), "abc");
+
+        StoredPhoto stored = storage.store(upload, "image/png", "shipmate/users/1/avatar");
+
+        String sha256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertThat(stored.publicId()).isEqualTo(sha256 + ".png");
+        assertThat(stored.url()).isEqualTo("https://cdn.test/api/photos/" + sha256 + ".png");
+        assertThat(storage.resolve(stored.publicId())).hasValueSatisfying(path -> {
+            assertThat(path).endsWith(Path.of("ba", "78", sha256 + ".png"));
+            assertThat(path).hasContent("abc");
+        });
+        assertThat(upload).exists();
+    }
+
+    @Test
+    void store_shouldShareOneFileForIdenticalContent() throws Exception {
+        Path first = Files.writeString(tempDir.resolve("first"), "same bytes");
+        Path second = Files.writeString(tempDir.resolve("second"), "same bytes");
+
+        StoredPhoto a = storage.store(first, "image/jpeg", "shipmate/shipments/1");
+        StoredPhoto b = storage.store(second, "image/jpeg", "shipmate/shipments/2");
+
+        assertThat(a).isEqualTo(b);
+        try (var files = Files.walk(tempDir.resolve("photos"))) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void delete_shouldRemoveFile() throws Exception {
+        StoredPhoto stored = storage.store(Files.writeString(tempDir.resolve("upload"), "x"), "image/webp", "f");
+
+        storage.delete(stored.publicId());
+
+        assertThat(storage.resolve(stored.publicId())).isEmpty();
+    }
+
+    @Test
+    void resolve_shouldRejectIdsOutsideTheStore() {
+        assertThat(storage.resolve("../../etc/passwd")).isEmpty();
+        assertThat(storage.resolve("shipmate/test/1")).isEmpty();
+    }
+
+    @Test
+    void store_shouldRejectUnsupportedType() throws Exception {
+        Path upload = Files.writeString(tempDir.resolve("upload"), "GIF89a");
+
+        assertThatThrownBy(() -> storage.store(upload, "image/gif", "f"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
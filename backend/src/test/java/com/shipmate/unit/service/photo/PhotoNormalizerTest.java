@@ -0,0 +1,234 @@
+package com.shipmate.unit.service.photo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.service.photo.ImageInspector;
+import com.shipmate.service.photo.PhotoNormalizer;
+import com.shipmate.service.photo.PhotoNormalizer.NormalizedImage;
+
+class PhotoNormalizerTest {
+
+    private final PhotoNormalizer normalizer = new PhotoNormalizer(new ImageInspector(50_000_000), 1024, 0.85f, 1);
+
+    private Path source;
+    private NormalizedImage result;
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        if (source != null) {
+            Files.deleteIfExists(source);
+        }
+        if (result != null) {
+            Files.deleteIfExists(result.file());
+        }
+    }
+
+    @Test
+    void normalize_shouldDownscaleToMaxEdge() throws Exception {
+        source = write(encode(new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_RGB), "jpeg"));
+
+        result = normalizer.normalize(source);
+
+        BufferedImage image = ImageIO.read(result.file().toFile());
+        assertThat(result.contentType()).isEqualTo("image/jpeg");
+        assertThat(image.getWidth()).isEqualTo(1024);
+        assertThat(image.getHeight()).isEqualTo(512);
+    }
+
+    @Test
+    void normalize_shouldApplyExifOrientationAndDropExif() throws Exception {
+        // Left half red, right half blue; orientation 6 means "rotate 90° clockwise to display"
+        BufferedImage original = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = original.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 20, 20);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(20, 0, 20, 20);
+        graphics.dispose();
+        source = write(withExifOrientation(encode(original, "jpeg"), 6));
+
+        result = normalizer.normalize(source);
+
+        BufferedImage image = ImageIO.read(result.file().toFile());
+        assertThat(image.getWidth()).isEqualTo(20);
+        assertThat(image.getHeight()).isEqualTo(40);
+        assertThat(new Color(image.getRGB(10, 5)).getRed()).isGreaterThan(200);
+        assertThat(new Color(image.getRGB(10, 35)).getBlue()).isGreaterThan(200);
+        assertThat(contains(Files.readAllBytes(result.file()), "Exif")).isFalse();
+    }
+
+    @Test
+    void normalize_shouldKeepPngTransparency() throws Exception {
+        source = write(encode(new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB), "png"));
+
+        result = normalizer.normalize(source);
+
+        BufferedImage image = ImageIO.read(result.file().toFile());
+        assertThat(result.contentType()).isEqualTo("image/png");
+        assertThat(image.getColorModel().hasAlpha()).isTrue();
+        assertThat(image.getWidth()).isEqualTo(200);
+    }
+
+    @Test
+    void normalize_shouldStripWebpMetadataChunks() throws Exception {
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        // VP8X with the EXIF (0x08) flag set, canvas 320x200
+        chunk(chunks, "VP8X", new byte[] {0x08, 0, 0, 0, 0x3F, 0x01, 0, (byte) 0xC7, 0, 0});
+        chunk(chunks, "VP8L", new byte[] {0x2F, 1, 2, 3, 4});
+        chunk(chunks, "EXIF", "GPS data".getBytes(StandardCharsets.US_ASCII));
+        source = write(riff(chunks.toByteArray()));
+
+        result = normalizer.normalize(source);
+
+        byte[] stripped = Files.readAllBytes(result.file());
+        assertThat(result.contentType()).isEqualTo("image/webp");
+        assertThat(contains(stripped, "EXIF")).isFalse();
+        assertThat(contains(stripped, "VP8L")).isTrue();
+        assertThat(stripped[20] & 0x08).isZero();
+        assertThat(littleEndian(stripped, 4)).isEqualTo(stripped.length - 8);
+    }
+
+    @Test
+    void normalize_shouldKeepUndecodableFourChannelJpegAndDropExif() throws Exception {
+        byte[] cmyk = withExifOrientation(fourChannelJpeg(64, 32), 6);
+        source = write(cmyk);
+
+        result = normalizer.normalize(source);
+
+        byte[] stripped = Files.readAllBytes(result.file());
+        assertThat(result.contentType()).isEqualTo("image/jpeg");
+        assertThat(contains(stripped, "Exif")).isFalse();
+        assertThat(readRaster(stripped).getNumBands()).isEqualTo(4);
+        assertThat(stripped.length).isLessThan(cmyk.length);
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    // Four channels tagged by an Adobe segment as YCbCr, a combination ImageIO refuses to decode
+    private static byte[] fourChannelJpeg(int width, int height) throws Exception {
+        WritableRaster raster = Raster.createBandedRaster(DataBuffer.TYPE_BYTE, width, height, 4, null);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(new IIOImage(raster, null, null));
+        } finally {
+            writer.dispose();
+        }
+        byte[] jpeg = out.toByteArray();
+
+        ByteArrayOutputStream tagged = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(tagged);
+        data.write(jpeg, 0, 2);
+        data.writeShort(0xFFEE);
+        data.writeShort(14);
+        data.writeBytes("Adobe");
+        data.writeShort(100);
+        data.writeInt(0);
+        data.writeByte(1);
+        data.write(jpeg, 2, jpeg.length - 2);
+        return tagged.toByteArray();
+    }
+
+    private static Raster readRaster(byte[] jpeg) throws Exception {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("jpeg").next();
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg))) {
+            reader.setInput(stream);
+            return reader.readRaster(0, null);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // Inserts a minimal big-endian EXIF APP1 segment holding only the orientation tag
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) throws Exception {
+        ByteArrayOutputStream exif = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(exif);
+        data.writeBytes("Exif");
+        data.writeShort(0);
+        data.writeBytes("MM");
+        data.writeShort(42);
+        data.writeInt(8);
+        data.writeShort(1);
+        data.writeShort(0x0112);
+        data.writeShort(3);
+        data.writeInt(1);
+        data.writeShort(orientation);
+        data.writeShort(0);
+        data.writeInt(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream result = new DataOutputStream(out);
+        result.write(jpeg, 0, 2);
+        result.writeShort(0xFFE1);
+        result.writeShort(exif.size() + 2);
+        result.write(exif.toByteArray());
+        result.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static byte[] riff(byte[] chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("RIFF".getBytes(StandardCharsets.US_ASCII));
+        writeLe(out, 4 + chunks.length);
+        out.writeBytes("WEBP".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(chunks);
+        return out.toByteArray();
+    }
+
+    private static void chunk(ByteArrayOutputStream out, String fourCc, byte[] payload) {
+        out.writeBytes(fourCc.getBytes(StandardCharsets.US_ASCII));
+        writeLe(out, payload.length);
+        out.writeBytes(payload);
+        if (payload.length % 2 == 1) {
+            out.write(0);
+        }
+    }
+
+    private static void writeLe(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+
+    private static int littleEndian(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8
+                | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+    }
+
+    private static boolean contains(byte[] data, String marker) {
+        return new String(data, StandardCharsets.ISO_8859_1).contains(marker);
+    }
+
+    private static Path write(byte[] bytes) throws Exception {
+        return Files.write(Files.createTempFile("normalizer-test-", ".img"), bytes);
+    }
+}
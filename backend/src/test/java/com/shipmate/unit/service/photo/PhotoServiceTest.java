@@ -3,33 +3,50 @@ package com.shipmate.unit.service.photo;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import javax.imageio.ImageIO;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.Uploader;
 import com.shipmate.model.DriverProfile.DriverProfile;
 import com.shipmate.model.photo.Photo;
 import com.shipmate.model.shipment.Shipment;
 import com.shipmate.model.user.User;
 import com.shipmate.repository.photo.PhotoRepository;
+import com.shipmate.service.photo.ImageInspector;
+import com.shipmate.service.photo.PhotoNormalizer;
 import com.shipmate.service.photo.PhotoService;
+import com.shipmate.service.photo.PhotoStorage;
+import com.shipmate.service.photo.PhotoUploadExecutor;
+import com.shipmate.service.photo.PhotoVariantService;
+import com.shipmate.service.photo.SharedPhotoFiles;
+import com.shipmate.service.photo.StoredPhoto;
 
 @ExtendWith(MockitoExtension.class)
 class PhotoServiceTest {
@@ -38,10 +55,22 @@ class PhotoServiceTest {
     private PhotoRepository photoRepository;
 
     @Mock
-    private Cloudinary cloudinary;
+    private PhotoStorage photoStorage;
+
+    @Mock
+    private PhotoVariantService variantService;
 
     @Mock
-    private Uploader uploader;
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private PhotoUploadExecutor uploadExecutor = new PhotoUploadExecutor(4);
+
+    @Spy
+    private ImageInspector imageInspector = new ImageInspector(50_000_000);
+
+    @Spy
+    private PhotoNormalizer photoNormalizer = new PhotoNormalizer(new ImageInspector(50_000_000), 2048, 0.85f, 2);
 
     @InjectMocks
     private PhotoService service;
@@ -49,33 +78,34 @@ class PhotoServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(service, "maxFileSize", 1024L * 1024);
+        ReflectionTestUtils.setField(service, "sharedPhotoFiles", new SharedPhotoFiles(
+                jdbcTemplate, photoRepository, photoStorage, mock(PlatformTransactionManager.class)));
     }
 
     @Test
     void uploadShipmentPhotos_shouldUploadAndPersistPhotos() throws Exception {
         Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
-        MockMultipartFile file = new MockMultipartFile("file", "box.jpg", "image/jpeg", new byte[] {1, 2, 3});
-        when(cloudinary.uploader()).thenReturn(uploader);
-        when(uploader.upload(any(byte[].class), any(Map.class)))
-                .thenReturn(Map.of("secure_url", "https://img.test/1.jpg", "public_id", "shipmate/test/1"));
-        when(photoRepository.save(any(Photo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MockMultipartFile file = new MockMultipartFile("file", "box.jpg", "image/jpeg", image("jpeg"));
+        when(photoStorage.store(any(Path.class), eq("image/jpeg"), eq("shipmate/shipments/" + shipment.getId())))
+                .thenReturn(new StoredPhoto("https://img.test/1.jpg", "shipmate/test/1"));
+        when(photoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<Photo> photos = service.uploadShipmentPhotos(shipment, List.of(file));
 
         assertThat(photos).hasSize(1);
         assertThat(photos.get(0).getPhotoType()).isEqualTo("SHIPMENT_PACKAGE");
         assertThat(photos.get(0).getShipment()).isEqualTo(shipment);
+        verify(variantService).submit(photos);
     }
 
     @Test
     void uploadDriverLicensePhotos_shouldAttachDriverAndUser() throws Exception {
         User user = User.builder().id(UUID.randomUUID()).build();
         DriverProfile profile = DriverProfile.builder().id(UUID.randomUUID()).user(user).build();
-        MockMultipartFile file = new MockMultipartFile("file", "license.png", "image/png", new byte[] {1});
-        when(cloudinary.uploader()).thenReturn(uploader);
-        when(uploader.upload(any(byte[].class), any(Map.class)))
-                .thenReturn(Map.of("secure_url", "https://img.test/license.png", "public_id", "shipmate/test/license"));
-        when(photoRepository.save(any(Photo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MockMultipartFile file = new MockMultipartFile("file", "license.png", "image/png", image("png"));
+        when(photoStorage.store(any(Path.class), eq("image/png"), any()))
+                .thenReturn(new StoredPhoto("https://img.test/license.png", "shipmate/test/license"));
+        when(photoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<Photo> photos = service.uploadDriverLicensePhotos(profile, List.of(file));
 
@@ -85,6 +115,78 @@ class PhotoServiceTest {
         assertThat(photos.get(0).getPhotoType()).isEqualTo("DRIVER_LICENSE");
     }
 
+    @Test
+    void uploadPendingDriverLicensePhotos_shouldReuseRowForIdenticalUpload() throws Exception {
+        DriverProfile profile = DriverProfile.builder().id(UUID.randomUUID()).build();
+        Photo existing = Photo.builder()
+                .id(UUID.randomUUID())
+                .publicId("shipmate/test/license")
+                .photoType("PENDING_DRIVER_LICENSE")
+                .driverProfile(profile)
+                .build();
+        byte[] license = image("png");
+        when(photoRepository.findByDriverProfile_IdAndPhotoType(profile.getId(), "PENDING_DRIVER_LICENSE"))
+                .thenReturn(List.of(existing));
+        when(photoStorage.store(any(Path.class), eq("image/png"), any()))
+                .thenReturn(new StoredPhoto("https://img.test/license.png", "shipmate/test/license"));
+        when(photoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Photo> photos = service.uploadPendingDriverLicensePhotos(profile, List.of(
+                new MockMultipartFile("file", "front.png", "image/png", license),
+                new MockMultipartFile("file", "again.png", "image/png", license)
+        ));
+
+        assertThat(photos).containsExactly(existing);
+        verify(photoRepository).saveAll(List.of());
+    }
+
+    @Test
+    void uploadShipmentPhotos_shouldRewriteSharedFileDeletedBeforeInsert() throws Exception {
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile file = new MockMultipartFile("file", "box.png", "image/png", image("png"));
+        when(photoStorage.deduplicates()).thenReturn(true);
+        when(photoStorage.store(any(Path.class), eq("image/png"), any()))
+                .thenReturn(new StoredPhoto("/api/photos/abc.png", "abc.png"));
+        // Another request deleted the shared file after this upload found it already stored
+        when(photoStorage.exists("abc.png")).thenReturn(false);
+        when(photoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.uploadShipmentPhotos(shipment, List.of(file));
+
+        verify(jdbcTemplate).query(eq("select pg_advisory_xact_lock(hashtext(?))"),
+                any(ResultSetExtractor.class), eq("abc.png"));
+        verify(photoStorage, times(2)).store(any(Path.class), eq("image/png"), any());
+    }
+
+    @Test
+    void uploadShipmentPhotos_shouldDeleteUploadsWhenInsertFails() throws Exception {
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile first = new MockMultipartFile("file", "a.jpg", "image/jpeg", image("jpeg"));
+        MockMultipartFile second = new MockMultipartFile("file", "b.jpg", "image/jpeg", image("jpeg"));
+        when(photoStorage.store(any(Path.class), eq("image/jpeg"), any()))
+                .thenReturn(new StoredPhoto("https://img.test/a.jpg", "shipmate/test/a"));
+        when(photoRepository.saveAll(anyList())).thenThrow(new IllegalStateException("insert failed"));
+
+        assertThatThrownBy(() -> service.uploadShipmentPhotos(shipment, List.of(first, second)))
+                .hasMessage("insert failed");
+
+        verify(photoStorage, times(2)).delete("shipmate/test/a");
+        verify(variantService, never()).submit(anyList());
+    }
+
+    @Test
+    void uploadShipmentPhotos_shouldNotUploadAnythingWhenOneFileIsInvalid() throws Exception {
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile valid = new MockMultipartFile("file", "a.jpg", "image/jpeg", image("jpeg"));
+        MockMultipartFile invalid = new MockMultipartFile("file", "bad.gif", "image/gif", new byte[] {1});
+
+        assertThatThrownBy(() -> service.uploadShipmentPhotos(shipment, List.of(valid, invalid)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(photoRepository, never()).saveAll(anyList());
+        verify(photoStorage, never()).store(any(), any(), any());
+    }
+
     @Test
     void uploadShipmentPhotos_shouldRejectInvalidType() {
         Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
@@ -95,6 +197,30 @@ class PhotoServiceTest {
                 .hasMessageContaining("Invalid image type");
     }
 
+    @Test
+    void uploadShipmentPhotos_shouldRejectFileWhoseBytesAreNotAnImage() {
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile file = new MockMultipartFile("file", "fake.jpg", "image/jpeg", "<?php echo 1;".getBytes());
+
+        assertThatThrownBy(() -> service.uploadShipmentPhotos(shipment, List.of(file)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid image type");
+    }
+
+    @Test
+    void uploadShipmentPhotos_shouldStoreWithSniffedContentType() throws Exception {
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile file = new MockMultipartFile("file", "box.jpg", "image/jpeg", image("png"));
+        when(photoStorage.store(any(Path.class), eq("image/png"), any()))
+                .thenReturn(new StoredPhoto("https://img.test/box.png", "shipmate/test/box"));
+        when(photoRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Photo> photos = service.uploadShipmentPhotos(shipment, List.of(file));
+
+        assertThat(photos).hasSize(1);
+        verify(photoStorage).store(any(Path.class), eq("image/png"), any());
+    }
+
     @Test
     void uploadShipmentPhotos_shouldRejectOversizedFile() {
         Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
@@ -105,6 +231,18 @@ class PhotoServiceTest {
                 .hasMessageContaining("File size exceeds maximum limit");
     }
 
+    @Test
+    void uploadShipmentPhotos_shouldRejectTooManyPixelsBeforeUploading() throws Exception {
+        ReflectionTestUtils.setField(service, "imageInspector", new ImageInspector(100));
+        Shipment shipment = Shipment.builder().id(UUID.randomUUID()).build();
+        MockMultipartFile file = new MockMultipartFile("file", "huge.png", "image/png", image("png"));
+
+        assertThatThrownBy(() -> service.uploadShipmentPhotos(shipment, List.of(file)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Image dimensions exceed maximum limit");
+        verify(photoStorage, never()).store(any(), any(), any());
+    }
+
     @Test
     void deletePhoto_shouldDetachFromDriverProfileBeforeDelete() throws Exception {
         DriverProfile profile = DriverProfile.builder().id(UUID.randomUUID()).build();
@@ -114,13 +252,30 @@ class PhotoServiceTest {
                 .driverProfile(profile)
                 .build();
         profile.setLicensePhotos(new java.util.ArrayList<>(List.of(photo)));
-        when(cloudinary.uploader()).thenReturn(uploader);
-        when(uploader.destroy(any(String.class), any(Map.class))).thenReturn(Map.of("result", "ok"));
 
         service.deletePhoto(photo);
 
         assertThat(profile.getLicensePhotos()).isEmpty();
         assertThat(photo.getDriverProfile()).isNull();
         verify(photoRepository).delete(photo);
+        verify(photoStorage).delete("shipmate/test/license");
+    }
+
+    @Test
+    void deletePhoto_shouldKeepSharedFileOnDeduplicatingStorage() throws Exception {
+        Photo photo = Photo.builder().id(UUID.randomUUID()).publicId("abc.jpg").build();
+        when(photoStorage.deduplicates()).thenReturn(true);
+        when(photoRepository.isReferenced("abc.jpg")).thenReturn(true);
+
+        service.deletePhoto(photo);
+
+        verify(photoRepository).delete(photo);
+        verify(photoStorage, never()).delete(any());
+    }
+
+    private static byte[] image(String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
     }
 }
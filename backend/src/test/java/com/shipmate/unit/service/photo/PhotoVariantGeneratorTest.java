@@ -0,0 +1,76 @@
+package com.shipmate.unit.service.photo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.shipmate.service.photo.PhotoVariantGenerator;
+import com.shipmate.service.photo.PhotoVariantGenerator.Variant;
+import com.shipmate.service.photo.PhotoVariantGenerator.Variants;
+
+class PhotoVariantGeneratorTest {
+
+    private final PhotoVariantGenerator generator = new PhotoVariantGenerator(200, 800, 0.8f);
+
+    @Test
+    void generate_shouldRenderThumbnailAndMediumKeepingAspectRatio() throws Exception {
+        Variants variants = generator.generate(png(3200, 2400, BufferedImage.TYPE_INT_RGB));
+
+        try {
+            assertThat(variants.medium().contentType()).isEqualTo("image/jpeg");
+            assertDimensions(variants.medium(), 800, 600);
+            assertThat(variants.thumbnail().contentType()).isEqualTo("image/jpeg");
+            assertDimensions(variants.thumbnail(), 200, 150);
+        } finally {
+            Files.deleteIfExists(variants.medium().file());
+            Files.deleteIfExists(variants.thumbnail().file());
+        }
+    }
+
+    @Test
+    void generate_shouldKeepTransparencyAsPng() throws Exception {
+        Variants variants = generator.generate(png(600, 300, BufferedImage.TYPE_INT_ARGB));
+
+        try {
+            assertThat(variants.medium()).isNull();
+            assertThat(variants.thumbnail().contentType()).isEqualTo("image/png");
+            assertDimensions(variants.thumbnail(), 200, 100);
+        } finally {
+            Files.deleteIfExists(variants.thumbnail().file());
+        }
+    }
+
+    @Test
+    void generate_shouldSkipImagesAlreadySmallerThanThumbnail() throws Exception {
+        Variants variants = generator.generate(png(120, 90, BufferedImage.TYPE_INT_RGB));
+
+        assertThat(variants.thumbnail()).isNull();
+        assertThat(variants.medium()).isNull();
+    }
+
+    @Test
+    void generate_shouldRejectUnreadableFormat() {
+        assertThatThrownBy(() -> generator.generate(new ByteArrayInputStream("not an image".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream png(int width, int height, int type) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static void assertDimensions(Variant variant, int width, int height) throws Exception {
+        BufferedImage image = ImageIO.read(variant.file().toFile());
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+    }
+}
@@ -17,12 +17,16 @@ import com.shipmate.model.user.VehicleType;
 import com.shipmate.model.vehicle.Vehicle;
 import com.shipmate.repository.vehicle.VehicleRepository;
 import com.shipmate.service.mail.MailService;
+import com.shipmate.security.UserDetailsCache;
 import com.shipmate.service.photo.PhotoService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.shipmate.dto.response.driver.DriverProfileResponse;
@@ -45,6 +49,8 @@ class DriverProfileServiceTest {
     @Mock private MailService mailService;
     @Mock private AdminActionLogger adminActionLogger;
     @Mock private PhotoService photoService;
+    @Mock private UserDetailsCache userDetailsCache;
+    @Spy private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private DriverProfileService driverProfileService;
@@ -123,7 +129,6 @@ class DriverProfileServiceTest {
         Photo existingPending = Photo.builder().publicId("old").url("old-url").build();
 
         when(driverProfileRepository.findByUser_Id(userId)).thenReturn(Optional.of(profile));
-        when(driverProfileRepository.save(profile)).thenReturn(profile);
         when(photoService.getPendingDriverLicensePhotos(profile.getId())).thenReturn(List.of(existingPending));
         when(photoService.uploadPendingDriverLicensePhotos(profile, files)).thenReturn(uploaded);
         when(mapper.toResponse(profile)).thenReturn(new DriverProfileResponse());
@@ -134,6 +139,26 @@ class DriverProfileServiceTest {
         verify(photoService).uploadPendingDriverLicensePhotos(profile, files);
     }
 
+    @Test
+    void uploadLicensePhotos_shouldKeepExistingPhotosWhenUploadFails() {
+        UUID userId = UUID.randomUUID();
+        DriverProfile profile = DriverProfile.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .licensePhotos(new ArrayList<>())
+                .build();
+        List<MultipartFile> files = List.of(mock(MultipartFile.class));
+
+        when(driverProfileRepository.findByUser_Id(userId)).thenReturn(Optional.of(profile));
+        when(photoService.uploadPendingDriverLicensePhotos(profile, files))
+                .thenThrow(new RuntimeException("Image upload failed"));
+
+        assertThatThrownBy(() -> driverProfileService.uploadLicensePhotos(userId, files))
+                .hasMessage("Image upload failed");
+
+        verify(photoService, never()).deletePhoto(any());
+    }
+
     @Test
     void uploadLicensePhotos_shouldRejectEmptyFileList() {
         UUID userId = UUID.randomUUID();
@@ -183,7 +208,7 @@ class DriverProfileServiceTest {
     void approve_shouldApproveProfileAndFirstVehicle() {
         DriverProfile profile = DriverProfile.builder()
                 .id(UUID.randomUUID())
-                .user(User.builder().email("test@test.com").build())
+                .user(User.builder().id(UUID.randomUUID()).email("test@test.com").build())
                 .status(DriverStatus.PENDING)
                 .build();
         Vehicle vehicle = Vehicle.builder().active(false).build();
@@ -197,6 +222,7 @@ class DriverProfileServiceTest {
         assertThat(profile.getStatus()).isEqualTo(DriverStatus.APPROVED);
         assertThat(vehicle.isActive()).isTrue();
         verify(vehicleRepository).save(vehicle);
+        verify(userDetailsCache).evict(profile.getUser().getId());
     }
 
     @Test
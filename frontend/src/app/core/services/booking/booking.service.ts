@@ -3,6 +3,7 @@ import { HttpClient } from '@angular/common/http';
 import { environment } from '../../../../environments/environment';
 import { Observable, tap } from 'rxjs';
 import { BookingResponse, CreateBookingRequest } from './booking.models';
+import { LiveStateResponse } from '../ws/ws.models';
 
 
 @Injectable({ providedIn: 'root' })
@@ -61,4 +62,10 @@ export class BookingService {
     );
   }
 
+  getState(id: string): Observable<LiveStateResponse> {
+    return this.http.get<LiveStateResponse>(
+      `${this.api}/bookings/${id}/state`
+    );
+  }
+
 }
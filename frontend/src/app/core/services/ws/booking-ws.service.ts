@@ -1,23 +1,99 @@
 import { Injectable, inject } from '@angular/core';
-import { Observable } from 'rxjs';
+import { Observable, Subscription } from 'rxjs';
 
 import { WsService } from './ws.service';
-import { BookingStatusUpdateWsDto, ShipmentUpdateWsDto } from './ws.models';
+import { BookingStateDeltaWsDto, LiveStateResponse } from './ws.models';
+import { BookingService } from '../booking/booking.service';
+import { BookingResponse } from '../booking/booking.models';
 
+/**
+ * Keeps a booking's live state in step with the server. The topic only carries
+ * the fields that changed plus a version; a missed version (dropped frame,
+ * reconnect) triggers one fetch of the full state instead.
+ */
 @Injectable({ providedIn: 'root' })
 export class BookingWsService {
 
   private readonly ws = inject(WsService);
+  private readonly bookingService = inject(BookingService);
 
+  watchBookingState(bookingId: string): Observable<LiveStateResponse> {
+    return new Observable<LiveStateResponse>(subscriber => {
+      let current: LiveStateResponse | null = null;
+      let pending: BookingStateDeltaWsDto[] = [];
+      let resyncing = false;
+      let resyncSub: Subscription | undefined;
 
-  watchBooking(bookingId: string): Observable<BookingStatusUpdateWsDto> {
-    return this.ws.subscribe<BookingStatusUpdateWsDto>(
-      `/topic/bookings/${bookingId}`
-    );
-  }
-  watchShipment(shipmentId: string) {
-    return this.ws.subscribe<ShipmentUpdateWsDto>(
-      `/topic/shipments/${shipmentId}`
-    );
+      const resync = () => {
+        if (resyncing) return;
+        resyncing = true;
+
+        resyncSub = this.bookingService.getState(bookingId).subscribe({
+          next: snapshot => {
+            resyncing = false;
+            current = snapshot;
+            subscriber.next(current);
+
+            const buffered = pending.sort((a, b) => a.version - b.version);
+            pending = [];
+            buffered.forEach(apply);
+          },
+          error: () => {
+            resyncing = false;
+          }
+        });
+      };
+
+      const apply = (delta: BookingStateDeltaWsDto) => {
+        if (!current || resyncing) {
+          pending.push(delta);
+          return;
+        }
+        if (delta.version <= current.version) return;
+        if (delta.version > current.version + 1) {
+          pending.push(delta);
+          resync();
+          return;
+        }
+
+        current = {
+          ...current,
+          version: delta.version,
+          state: { ...current.state, ...delta.changes }
+        };
+        subscriber.next(current);
+      };
+
+      const deltaSub = this.ws
+        .subscribe<BookingStateDeltaWsDto>(`/topic/bookings/${bookingId}`)
+        .subscribe(apply);
+      resync();
+
+      return () => {
+        deltaSub.unsubscribe();
+        resyncSub?.unsubscribe();
+      };
+    });
   }
 }
+
+/**
+ * Folds a live-state snapshot into a loaded booking. Shipment fields are keyed
+ * as "shipments.<id>.<field>".
+ */
+export function applyBookingState(
+  booking: BookingResponse,
+  state: Record<string, unknown>
+): BookingResponse {
+  const status = (state['status'] as BookingResponse['status'] | undefined) ?? booking.status;
+
+  return {
+    ...booking,
+    status,
+    shipments: (booking.shipments ?? []).map(s => ({
+      ...s,
+      status: (state[`shipments.${s.id}.status`] as typeof s.status | undefined) ?? s.status,
+      deliveryLocked: (state[`shipments.${s.id}.deliveryLocked`] as boolean | undefined) ?? s.deliveryLocked
+    }))
+  };
+}
@@ -1,10 +1,12 @@
-export interface BookingStatusUpdateWsDto {
+export interface BookingStateDeltaWsDto {
   bookingId: string;
   status: 'PENDING'
         | 'CONFIRMED'
         | 'IN_PROGRESS'
         | 'COMPLETED'
         | 'CANCELLED';
+  version: number;
+  changes: Record<string, unknown>;
 }
 
 export interface UnreadCountWsDto {
@@ -33,7 +35,7 @@ export interface NotificationWsDto {
   createdAt: string;
 }
 
-export interface ShipmentUpdateWsDto {
+export interface ShipmentStateDeltaWsDto {
   shipmentId: string;
   status: 'CREATED'
       | 'ASSIGNED'
@@ -41,7 +43,14 @@ export interface ShipmentUpdateWsDto {
       | 'DELIVERED'
       | 'CANCELLED';
   deliveryLocked: boolean;
-  deliveryCodeAttempts: number;
+  version: number;
+  changes: Record<string, unknown>;
+}
+
+export interface LiveStateResponse {
+  id: string;
+  version: number;
+  state: Record<string, unknown>;
 }
 
 export interface MessageWsDto {
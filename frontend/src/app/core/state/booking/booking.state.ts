@@ -1,7 +1,7 @@
 import { Injectable, signal, computed, inject, effect } from '@angular/core';
 import { catchError, of, Observable, Subscription, tap, finalize } from 'rxjs';
 import { BookingService } from '../../services/booking/booking.service';
-import { BookingWsService } from '../../services/ws/booking-ws.service';
+import { BookingWsService, applyBookingState } from '../../services/ws/booking-ws.service';
 import { BookingResponse } from '../../services/booking/booking.models';
 
 type BookingAction = 'confirm' | 'start' | 'complete' | 'cancel';
@@ -92,12 +92,9 @@ export class BookingState {
     this.bookingUpdatesSub?.unsubscribe();
     
     this.bookingUpdatesSub =
-      this.bookingWs.watchBooking(bookingId)
-        .subscribe(update => {
-          this.booking.update(b => {
-            if (!b || b.status === update.status) return b;
-            return { ...b, status: update.status };
-          });
+      this.bookingWs.watchBookingState(bookingId)
+        .subscribe(live => {
+          this.booking.update(b => b ? applyBookingState(b, live.state) : b);
         });
   }
 }
\ No newline at end of file
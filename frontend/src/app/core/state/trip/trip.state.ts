@@ -2,7 +2,7 @@ import { Injectable, signal, computed, inject, effect } from '@angular/core';
 import { catchError, finalize, of, Subscription, tap } from 'rxjs';
 
 import { BookingService } from '../../services/booking/booking.service';
-import { BookingWsService } from '../../services/ws/booking-ws.service';
+import { BookingWsService, applyBookingState } from '../../services/ws/booking-ws.service';
 import { ShipmentService } from '../../services/shipment/shipment.service';
 
 import { BookingResponse } from '../../services/booking/booking.models';
@@ -20,8 +20,6 @@ export class TripState {
   private bookingUpdatesSub?: Subscription;
   private currentBookingId?: string;
 
-  private shipmentSubs: Subscription[] = [];
-
   readonly booking = signal<BookingResponse | null>(null);
   readonly loading = signal(false);
   readonly errorMessage = signal<string | null>(null);
@@ -65,7 +63,6 @@ export class TripState {
       }
 
       this.listenToBookingUpdates(bookingId);
-      this.listenToShipmentUpdates()
     });
   }
 
@@ -146,7 +143,6 @@ export class TripState {
           return { ...b, shipments: nextShipments };
         });
       }),
-      tap(() => this.refresh()),
       catchError(err => {
         this.errorMessage.set(err.error?.message || 'Action failed');
         return of(null);
@@ -164,9 +160,7 @@ export class TripState {
 
   private clearUpdates(): void {
     this.bookingUpdatesSub?.unsubscribe();
-    this.shipmentSubs?.forEach(s => s.unsubscribe());
     this.bookingUpdatesSub = undefined;
-    this.shipmentSubs = [];
     this.currentBookingId = undefined;
   }
 
@@ -177,48 +171,9 @@ export class TripState {
 
     this.bookingUpdatesSub?.unsubscribe();
     this.bookingUpdatesSub =
-      this.bookingWs.watchBooking(bookingId).subscribe(update => {
-        console.log('Shipment WS update:', update);
-        this.booking.update(b => {
-          if (!b) return b;
-          if (b.status === update.status) return b;
-          return { ...b, status: update.status };
-        });
+      this.bookingWs.watchBookingState(bookingId).subscribe(live => {
+        this.booking.update(b => b ? applyBookingState(b, live.state) : b);
       });
   }
 
-
-  private listenToShipmentUpdates() {
-    this.shipmentSubs.forEach(s => s.unsubscribe());
-    this.shipmentSubs = [];
-
-    for (const shipment of this.shipments()) {
-      const sub = this.bookingWs
-        .watchShipment(shipment.id)
-        .subscribe(update => {
-          this.booking.update(b => {
-            if (!b) return b;
-
-            return {
-              ...b,
-             shipments: b.shipments.map(s =>
-              s.id === update.shipmentId
-                ? {
-                    ...s,
-                    ...(update.status !== undefined && { status: update.status }),
-                    ...(update.deliveryLocked !== undefined && { deliveryLocked: update.deliveryLocked }),
-                    ...(update.deliveryCodeAttempts !== undefined && {
-                      deliveryCodeAttempts: update.deliveryCodeAttempts
-                    })
-                  }
-                : s
-            )
-            };
-          });
-        });
-
-      this.shipmentSubs.push(sub);
-    }
-  }
-
 }